@@ -3,6 +3,9 @@ package com.thatmoment.auth.api;
 import com.thatmoment.auth.dto.request.LoginRequest;
 import com.thatmoment.auth.dto.request.LoginVerifyRequest;
 import com.thatmoment.auth.dto.request.LogoutRequest;
+import com.thatmoment.auth.dto.request.OAuthLoginRequest;
+import com.thatmoment.auth.dto.request.PasswordLoginRequest;
+import com.thatmoment.auth.dto.request.PasswordRegisterRequest;
 import com.thatmoment.auth.dto.request.RefreshTokenRequest;
 import com.thatmoment.auth.dto.request.RegisterRequest;
 import com.thatmoment.auth.dto.request.ResendCodeRequest;
@@ -13,9 +16,12 @@ import com.thatmoment.auth.dto.response.SessionResponse;
 import com.thatmoment.auth.domain.Session;
 import com.thatmoment.auth.security.UserPrincipal;
 import com.thatmoment.auth.service.AuthService;
+import com.thatmoment.auth.service.OAuthLoginService;
+import com.thatmoment.auth.service.PasswordAuthService;
 import com.thatmoment.common.constants.ApiDescriptions;
 import com.thatmoment.common.constants.AuthMessages;
 import com.thatmoment.common.dto.MessageResponse;
+import com.thatmoment.common.ratelimit.RateLimitService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.servlet.http.HttpServletRequest;
@@ -38,18 +44,46 @@ import java.util.List;
 @Tag(name = ApiDescriptions.TAG_AUTH, description = ApiDescriptions.TAG_AUTH_DESC)
 public class AuthController {
 
+    private static final String RATE_LIMIT_REGISTER = "register";
+    private static final String RATE_LIMIT_RESEND_CODE = "resend-code";
+    private static final String RATE_LIMIT_LOGIN = "login";
+    private static final String RATE_LIMIT_LOGIN_VERIFY = "login-verify";
+    private static final String RATE_LIMIT_LOGIN_PASSWORD = "login-password";
+    private static final String RATE_LIMIT_LOGIN_OAUTH = "login-oauth";
+
     private final AuthService authService;
+    private final PasswordAuthService passwordAuthService;
+    private final OAuthLoginService oAuthLoginService;
+    private final RateLimitService rateLimitService;
 
     @PostMapping("/register")
     @Operation(
             summary = ApiDescriptions.REGISTER_SUMMARY,
             description = ApiDescriptions.REGISTER_DESCRIPTION
     )
-    public ResponseEntity<RegisterResponse> register(@Valid @RequestBody RegisterRequest request) {
+    public ResponseEntity<RegisterResponse> register(
+            @Valid @RequestBody RegisterRequest request,
+            HttpServletRequest httpRequest
+    ) {
+        rateLimitService.check(RATE_LIMIT_REGISTER, request.getEmail(), getClientIp(httpRequest));
         RegisterResponse response = authService.register(request);
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
 
+    @PostMapping("/register/password")
+    @Operation(
+            summary = ApiDescriptions.REGISTER_PASSWORD_SUMMARY,
+            description = ApiDescriptions.REGISTER_PASSWORD_DESCRIPTION
+    )
+    public ResponseEntity<RegisterResponse> registerWithPassword(
+            @Valid @RequestBody PasswordRegisterRequest request,
+            HttpServletRequest httpRequest
+    ) {
+        rateLimitService.check(RATE_LIMIT_REGISTER, request.getEmail(), getClientIp(httpRequest));
+        RegisterResponse response = passwordAuthService.register(request);
+        return ResponseEntity.status(HttpStatus.CREATED).body(response);
+    }
+
     @PostMapping("/verify-email")
     @Operation(
             summary = ApiDescriptions.VERIFY_EMAIL_SUMMARY,
@@ -65,7 +99,11 @@ public class AuthController {
             summary = ApiDescriptions.RESEND_CODE_SUMMARY,
             description = ApiDescriptions.RESEND_CODE_DESCRIPTION
     )
-    public ResponseEntity<MessageResponse> resendCode(@Valid @RequestBody ResendCodeRequest request) {
+    public ResponseEntity<MessageResponse> resendCode(
+            @Valid @RequestBody ResendCodeRequest request,
+            HttpServletRequest httpRequest
+    ) {
+        rateLimitService.check(RATE_LIMIT_RESEND_CODE, request.getEmail(), getClientIp(httpRequest));
         MessageResponse response = authService.resendVerificationCode(request);
         return ResponseEntity.ok(response);
     }
@@ -75,7 +113,11 @@ public class AuthController {
             summary = ApiDescriptions.LOGIN_SUMMARY,
             description = ApiDescriptions.LOGIN_DESCRIPTION
     )
-    public ResponseEntity<MessageResponse> login(@Valid @RequestBody LoginRequest request) {
+    public ResponseEntity<MessageResponse> login(
+            @Valid @RequestBody LoginRequest request,
+            HttpServletRequest httpRequest
+    ) {
+        rateLimitService.check(RATE_LIMIT_LOGIN, request.getEmail(), getClientIp(httpRequest));
         MessageResponse response = authService.sendLoginCode(request);
         return ResponseEntity.ok(response);
     }
@@ -92,10 +134,48 @@ public class AuthController {
         String ipAddress = getClientIp(httpRequest);
         String userAgent = httpRequest.getHeader("User-Agent");
 
+        rateLimitService.check(RATE_LIMIT_LOGIN_VERIFY, request.getEmail(), ipAddress);
+
         AuthTokenResponse response = authService.verifyLoginCode(request, ipAddress, userAgent);
         return ResponseEntity.ok(response);
     }
 
+    @PostMapping("/login/password")
+    @Operation(
+            summary = ApiDescriptions.LOGIN_PASSWORD_SUMMARY,
+            description = ApiDescriptions.LOGIN_PASSWORD_DESCRIPTION
+    )
+    public ResponseEntity<AuthTokenResponse> loginWithPassword(
+            @Valid @RequestBody PasswordLoginRequest request,
+            HttpServletRequest httpRequest
+    ) {
+        String ipAddress = getClientIp(httpRequest);
+        String userAgent = httpRequest.getHeader("User-Agent");
+
+        rateLimitService.check(RATE_LIMIT_LOGIN_PASSWORD, request.getEmail(), ipAddress);
+
+        AuthTokenResponse response = passwordAuthService.login(request, ipAddress, userAgent);
+        return ResponseEntity.ok(response);
+    }
+
+    @PostMapping("/login/oauth")
+    @Operation(
+            summary = ApiDescriptions.LOGIN_OAUTH_SUMMARY,
+            description = ApiDescriptions.LOGIN_OAUTH_DESCRIPTION
+    )
+    public ResponseEntity<AuthTokenResponse> loginWithOAuth(
+            @Valid @RequestBody OAuthLoginRequest request,
+            HttpServletRequest httpRequest
+    ) {
+        String ipAddress = getClientIp(httpRequest);
+        String userAgent = httpRequest.getHeader("User-Agent");
+
+        rateLimitService.check(RATE_LIMIT_LOGIN_OAUTH, null, ipAddress);
+
+        AuthTokenResponse response = oAuthLoginService.login(request, ipAddress, userAgent);
+        return ResponseEntity.ok(response);
+    }
+
     @PostMapping("/refresh")
     @Operation(
             summary = ApiDescriptions.REFRESH_SUMMARY,
@@ -154,11 +234,9 @@ public class AuthController {
         return ResponseEntity.ok(response);
     }
 
+    // Rate-limit buckets are keyed on this, so it must not come from a client-supplied header;
+    // the servlet container resolves X-Forwarded-For from trusted proxies into the remote address
     private String getClientIp(HttpServletRequest request) {
-        String xForwardedFor = request.getHeader("X-Forwarded-For");
-        if (xForwardedFor != null && !xForwardedFor.isEmpty()) {
-            return xForwardedFor.split(",")[0].trim();
-        }
         return request.getRemoteAddr();
     }
 }
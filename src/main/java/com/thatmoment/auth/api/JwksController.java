@@ -0,0 +1,38 @@
+package com.thatmoment.auth.api;
+
+import com.thatmoment.auth.config.JwtSigningProperties;
+import com.thatmoment.auth.service.JwtKeyRing;
+import com.thatmoment.common.constants.ApiDescriptions;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Map;
+
+@RestController
+@RequiredArgsConstructor
+@Tag(name = ApiDescriptions.TAG_AUTH, description = ApiDescriptions.TAG_AUTH_DESC)
+public class JwksController {
+
+    private final JwtKeyRing keyRing;
+    private final JwtSigningProperties signingProperties;
+
+    @GetMapping("/.well-known/jwks.json")
+    @Operation(
+            summary = ApiDescriptions.JWKS_SUMMARY,
+            description = ApiDescriptions.JWKS_DESCRIPTION
+    )
+    public ResponseEntity<Map<String, Object>> jwks() {
+        CacheControl cacheControl = CacheControl.maxAge(signingProperties.jwksMaxAge())
+                .cachePublic()
+                .staleWhileRevalidate(signingProperties.jwksMaxAge());
+
+        return ResponseEntity.ok()
+                .cacheControl(cacheControl)
+                .body(Map.of("keys", keyRing.publicJwks()));
+    }
+}
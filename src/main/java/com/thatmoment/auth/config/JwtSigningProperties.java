@@ -0,0 +1,42 @@
+package com.thatmoment.auth.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+@ConfigurationProperties(prefix = "jwt.signing")
+public record JwtSigningProperties(
+        @DefaultValue("HS256") String algorithm,
+        Instant legacyHmacUntil,
+        @DefaultValue("5m") Duration jwksMaxAge,
+        List<Key> keys
+) {
+
+    public JwtSigningProperties {
+        keys = keys != null ? List.copyOf(keys) : List.of();
+    }
+
+    public boolean isHmac() {
+        return "HS256".equalsIgnoreCase(algorithm);
+    }
+
+    /**
+     * HS256 tokens issued before the switch to an asymmetric algorithm verify only until
+     * {@code legacy-hmac-until}; without it they are rejected outright.
+     */
+    public boolean acceptsLegacyHmacAt(Instant instant) {
+        return legacyHmacUntil != null && instant.isBefore(legacyHmacUntil);
+    }
+
+    public record Key(
+            String kid,
+            String privateKey,
+            String publicKey,
+            Instant activateAt,
+            Instant retireAt
+    ) {
+    }
+}
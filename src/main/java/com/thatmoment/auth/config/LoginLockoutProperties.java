@@ -0,0 +1,16 @@
+package com.thatmoment.auth.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "app.login-lockout")
+public record LoginLockoutProperties(
+        @DefaultValue("5") int maxAttempts,
+        @DefaultValue("15m") Duration window,
+        @DefaultValue("30m") Duration lockDuration,
+        @DefaultValue("5s") Duration redisRetryDelay,
+        @DefaultValue("100000") int localMaxUsers
+) {
+}
@@ -0,0 +1,32 @@
+package com.thatmoment.auth.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+@ConfigurationProperties(prefix = "app.oauth")
+public record OAuthProperties(
+        @DefaultValue("1h") Duration defaultKeyTtl,
+        @DefaultValue("10m") Duration refreshAhead,
+        @DefaultValue("30s") Duration minForcedRefreshInterval,
+        @DefaultValue("5s") Duration fetchTimeout,
+        @DefaultValue("60s") Duration clockSkew,
+        Map<String, Provider> providers
+) {
+
+    public OAuthProperties {
+        providers = providers != null ? Map.copyOf(providers) : Map.of();
+    }
+
+    public record Provider(boolean enabled, URI jwksUri, List<String> issuers, List<String> audiences) {
+
+        public Provider {
+            issuers = issuers != null ? issuers.stream().filter(value -> !value.isBlank()).toList() : List.of();
+            audiences = audiences != null ? audiences.stream().filter(value -> !value.isBlank()).toList() : List.of();
+        }
+    }
+}
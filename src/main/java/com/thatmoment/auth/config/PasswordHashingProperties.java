@@ -0,0 +1,21 @@
+package com.thatmoment.auth.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "app.password-hashing")
+public record PasswordHashingProperties(
+        @DefaultValue("0") int workers,
+        @DefaultValue("64") int queueCapacity,
+        @DefaultValue("5s") Duration waitTimeout,
+        @DefaultValue("250ms") Duration targetLatency,
+        @DefaultValue("10") int minStrength,
+        @DefaultValue("15") int maxStrength
+) {
+
+    public int effectiveWorkers() {
+        return workers > 0 ? workers : Runtime.getRuntime().availableProcessors();
+    }
+}
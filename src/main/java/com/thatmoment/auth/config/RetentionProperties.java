@@ -0,0 +1,19 @@
+package com.thatmoment.auth.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "app.retention")
+public record RetentionProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("30d") Duration refreshTokens,
+        @DefaultValue("7d") Duration emailVerifications,
+        @DefaultValue("180d") Duration loginHistory,
+        @DefaultValue("30d") Duration sessions,
+        @DefaultValue("4") int premakePeriods,
+        @DefaultValue("5000") int sessionDeleteBatchSize,
+        @DefaultValue("5s") Duration lockTimeout
+) {
+}
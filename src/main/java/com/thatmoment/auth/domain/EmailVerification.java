@@ -2,6 +2,7 @@ package com.thatmoment.auth.domain;
 
 import com.thatmoment.auth.domain.enums.VerificationPurpose;
 import com.thatmoment.common.entity.BaseEntity;
+import com.thatmoment.common.entity.id.TimeOrderedId;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
@@ -12,6 +13,7 @@ import java.time.Instant;
 import java.util.UUID;
 
 @Entity
+@TimeOrderedId
 @Table(name = "email_verifications", schema = "auth")
 public class EmailVerification extends BaseEntity {
 
@@ -98,11 +100,6 @@ public class EmailVerification extends BaseEntity {
         return !isExpired() && !isAlreadyVerified() && !isMaxAttemptsExceeded();
     }
 
-    public void incrementAttempt() {
-        int attempts = attemptCount == null ? 0 : attemptCount;
-        this.attemptCount = attempts + 1;
-    }
-
     public void markAsVerified() {
         this.verifiedAt = Instant.now();
     }
@@ -0,0 +1,113 @@
+package com.thatmoment.auth.domain;
+
+import com.thatmoment.common.entity.BaseEntity;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Table;
+
+import java.time.Instant;
+import java.util.UUID;
+
+@Entity
+@Table(name = "oauth_providers", schema = "auth")
+public class OAuthProvider extends BaseEntity {
+
+    @Column(name = "user_id", nullable = false)
+    private UUID userId;
+
+    @Column(name = "provider_name", nullable = false, length = 50)
+    private String providerName;
+
+    @Column(name = "provider_user_id", nullable = false, length = 255)
+    private String providerUserId;
+
+    @Column(name = "email", length = 255)
+    private String email;
+
+    @Column(name = "first_login_at")
+    private Instant firstLoginAt;
+
+    @Column(name = "last_login_at")
+    private Instant lastLoginAt;
+
+    protected OAuthProvider() {
+    }
+
+    private OAuthProvider(Builder builder) {
+        this.userId = builder.userId;
+        this.providerName = builder.providerName;
+        this.providerUserId = builder.providerUserId;
+        this.email = builder.email;
+        this.firstLoginAt = Instant.now();
+        this.lastLoginAt = this.firstLoginAt;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public UUID getUserId() {
+        return userId;
+    }
+
+    public String getProviderName() {
+        return providerName;
+    }
+
+    public String getProviderUserId() {
+        return providerUserId;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public Instant getFirstLoginAt() {
+        return firstLoginAt;
+    }
+
+    public Instant getLastLoginAt() {
+        return lastLoginAt;
+    }
+
+    public void recordLogin(String email) {
+        this.lastLoginAt = Instant.now();
+        if (email != null) {
+            this.email = email;
+        }
+    }
+
+    public static final class Builder {
+        private UUID userId;
+        private String providerName;
+        private String providerUserId;
+        private String email;
+
+        private Builder() {
+        }
+
+        public Builder userId(UUID userId) {
+            this.userId = userId;
+            return this;
+        }
+
+        public Builder providerName(String providerName) {
+            this.providerName = providerName;
+            return this;
+        }
+
+        public Builder providerUserId(String providerUserId) {
+            this.providerUserId = providerUserId;
+            return this;
+        }
+
+        public Builder email(String email) {
+            this.email = email;
+            return this;
+        }
+
+        public OAuthProvider build() {
+            return new OAuthProvider(this);
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package com.thatmoment.auth.domain;
 
 import com.thatmoment.common.entity.BaseEntity;
+import com.thatmoment.common.entity.id.TimeOrderedId;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.Table;
@@ -9,6 +10,7 @@ import java.time.Instant;
 import java.util.UUID;
 
 @Entity
+@TimeOrderedId
 @Table(name = "sessions", schema = "auth")
 public class Session extends BaseEntity {
 
@@ -108,15 +108,8 @@ public class User extends SoftDeletableEntity {
         this.lockedUntil = null;
     }
 
-    public void recordFailedLogin(int maxAttempts, int lockMinutes) {
-        int attempts = failedLoginAttempts == null ? 0 : failedLoginAttempts;
-        attempts += 1;
-        this.failedLoginAttempts = attempts;
-
-        if (attempts >= maxAttempts) {
-            Instant now = Instant.now();
-            this.lockedUntil = now.plusSeconds(lockMinutes * 60L);
-        }
+    public void changePasswordHash(String passwordHash) {
+        this.passwordHash = passwordHash;
     }
 
     public boolean isLocked() {
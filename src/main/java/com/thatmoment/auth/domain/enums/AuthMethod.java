@@ -2,6 +2,7 @@ package com.thatmoment.auth.domain.enums;
 
 public enum AuthMethod {
     EMAIL,
+    PASSWORD,
     GOOGLE,
     APPLE
 }
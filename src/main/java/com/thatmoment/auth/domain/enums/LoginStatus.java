@@ -0,0 +1,7 @@
+package com.thatmoment.auth.domain.enums;
+
+public enum LoginStatus {
+    SUCCESS,
+    FAILED,
+    BLOCKED
+}
@@ -0,0 +1,16 @@
+package com.thatmoment.auth.dto.request;
+
+import jakarta.validation.constraints.NotBlank;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+public class OAuthLoginRequest {
+
+    @NotBlank(message = "Provider is required")
+    private String provider;
+
+    @NotBlank(message = "ID token is required")
+    private String idToken;
+}
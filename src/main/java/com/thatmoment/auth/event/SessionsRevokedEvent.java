@@ -0,0 +1,7 @@
+package com.thatmoment.auth.event;
+
+import java.util.List;
+import java.util.UUID;
+
+public record SessionsRevokedEvent(List<UUID> sessionIds) {
+}
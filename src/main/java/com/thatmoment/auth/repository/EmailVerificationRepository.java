@@ -8,6 +8,8 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Instant;
 import java.util.List;
@@ -43,4 +45,13 @@ public interface EmailVerificationRepository extends JpaRepository<EmailVerifica
             @Param("purpose") VerificationPurpose purpose,
             @Param("now") Instant now
     );
+
+    // Own transaction: the caller rejects the code by throwing, which must not undo the count
+    @Modifying
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    @Query("update EmailVerification ev " +
+            "set ev.attemptCount = ev.attemptCount + 1, ev.updatedAt = CURRENT_TIMESTAMP " +
+            "where ev.id = :id " +
+            "and ev.attemptCount < ev.maxAttempts")
+    int recordFailedAttempt(@Param("id") UUID id);
 }
@@ -0,0 +1,16 @@
+package com.thatmoment.auth.repository;
+
+import com.thatmoment.auth.domain.OAuthProvider;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface OAuthProviderRepository extends JpaRepository<OAuthProvider, UUID> {
+
+    Optional<OAuthProvider> findByProviderNameAndProviderUserId(String providerName, String providerUserId);
+
+    boolean existsByProviderNameAndUserId(String providerName, UUID userId);
+}
@@ -7,6 +7,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -32,4 +33,45 @@ public interface RefreshTokenRepository extends JpaRepository<RefreshToken, UUID
             "where rt.sessionId in (select s.id from Session s where s.userId = :userId) " +
             "and rt.isActive = true")
     int revokeAllByUserId(@Param("userId") UUID userId);
+
+    @Query(value = """
+            WITH consumed AS (
+                UPDATE auth.refresh_tokens rt
+                   SET used_at = :now, is_active = false, updated_at = :now
+                  FROM auth.sessions s
+                  JOIN auth.users u ON u.id = s.user_id
+                 WHERE rt.token_hash = :tokenHash
+                   AND rt.is_active = true
+                   AND rt.used_at IS NULL
+                   AND rt.expires_at > :now
+                   AND s.id = rt.session_id
+                   AND (CAST(:userId AS uuid) IS NULL OR s.user_id = CAST(:userId AS uuid))
+                   AND s.is_active = true
+                   AND u.is_active = true
+                   AND u.deleted_at IS NULL
+             RETURNING rt.session_id, s.user_id, u.email
+            ), touched AS (
+                UPDATE auth.sessions s
+                   SET last_activity_at = :now, updated_at = :now
+                  FROM consumed c
+                 WHERE s.id = c.session_id
+             RETURNING s.id
+            ), inserted AS (
+                INSERT INTO auth.refresh_tokens (id, user_id, session_id, token_hash, expires_at, is_active, created_at, updated_at)
+                SELECT :newId, c.user_id, c.session_id, :newTokenHash, :newExpiresAt, true, :now, :now
+                  FROM consumed c
+             RETURNING session_id
+            )
+            SELECT c.session_id AS sessionId, c.user_id AS userId, c.email AS email
+              FROM consumed c
+              JOIN inserted i ON i.session_id = c.session_id
+            """, nativeQuery = true)
+    Optional<RefreshTokenRotation> rotate(
+            @Param("tokenHash") String tokenHash,
+            @Param("userId") UUID userId,
+            @Param("newId") UUID newId,
+            @Param("newTokenHash") String newTokenHash,
+            @Param("newExpiresAt") Instant newExpiresAt,
+            @Param("now") Instant now
+    );
 }
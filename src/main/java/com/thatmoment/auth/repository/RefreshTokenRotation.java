@@ -0,0 +1,12 @@
+package com.thatmoment.auth.repository;
+
+import java.util.UUID;
+
+public interface RefreshTokenRotation {
+
+    UUID getSessionId();
+
+    UUID getUserId();
+
+    String getEmail();
+}
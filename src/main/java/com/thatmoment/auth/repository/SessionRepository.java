@@ -19,6 +19,9 @@ public interface SessionRepository extends JpaRepository<Session, UUID> {
 
     List<Session> findByUserIdAndIsActiveTrueOrderByLastActivityAtDesc(UUID userId);
 
+    @Query("select s.id from Session s where s.userId = :userId and s.isActive = true")
+    List<UUID> findActiveSessionIdsByUserId(@Param("userId") UUID userId);
+
     @Modifying
     @Query("update Session s " +
             "set s.isActive = false, s.revokedAt = :now, s.revokedReason = :reason " +
@@ -2,10 +2,14 @@ package com.thatmoment.auth.repository;
 
 import com.thatmoment.auth.domain.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -18,4 +22,9 @@ public interface UserRepository extends JpaRepository<User, UUID> {
 
     @Query("select u from User u where u.email = :email and u.isActive = true and u.isVerified = true and u.deletedAt is null")
     Optional<User> findActiveVerifiedUserByEmail(@Param("email") String email);
+
+    @Modifying
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    @Query("update User u set u.failedLoginAttempts = :attempts, u.lockedUntil = :lockedUntil, u.updatedAt = CURRENT_TIMESTAMP where u.id = :id")
+    int lockUser(@Param("id") UUID id, @Param("attempts") int attempts, @Param("lockedUntil") Instant lockedUntil);
 }
@@ -0,0 +1,103 @@
+package com.thatmoment.auth.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.thatmoment.auth.service.JwtService;
+import com.thatmoment.auth.service.TokenHashUtil;
+import com.thatmoment.auth.service.VerifiedToken;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+
+@Component
+public class AccessTokenCache {
+
+    private static final Logger log = LoggerFactory.getLogger(AccessTokenCache.class);
+
+    // Rough per-entry footprint: digest key, record, two UUIDs, type string and node overhead
+    private static final int BASE_ENTRY_BYTES = 256;
+
+    private final JwtService jwtService;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${jwt.access-token-cache.enabled:false}")
+    private boolean enabled;
+
+    @Value("${jwt.access-token-cache.max-memory-mb:256}")
+    private long maxMemoryMb;
+
+    private Cache<ByteBuffer, VerifiedToken> cache;
+
+    public AccessTokenCache(JwtService jwtService, MeterRegistry meterRegistry) {
+        this.jwtService = jwtService;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @PostConstruct
+    public void init() {
+        if (!enabled) {
+            return;
+        }
+
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maxMemoryMb * 1024L * 1024L)
+                .weigher((ByteBuffer key, VerifiedToken token) -> estimateSize(token))
+                .expireAfter(new TokenExpiry())
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "jwt.access-tokens");
+        log.info("Access token cache enabled with {} MB ceiling", maxMemoryMb);
+    }
+
+    public VerifiedToken verify(String token) {
+        if (cache == null) {
+            return jwtService.verify(token);
+        }
+
+        ByteBuffer key = ByteBuffer.wrap(TokenHashUtil.digest(token));
+        VerifiedToken cached = cache.getIfPresent(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        VerifiedToken verified = jwtService.verify(token);
+        if (verified.isAccessToken() && verified.expiresAt() != null) {
+            cache.put(key, verified);
+        }
+        return verified;
+    }
+
+    private static int estimateSize(VerifiedToken token) {
+        int emailLength = token.email() != null ? token.email().length() : 0;
+        return BASE_ENTRY_BYTES + emailLength * 2;
+    }
+
+    private static final class TokenExpiry implements Expiry<ByteBuffer, VerifiedToken> {
+
+        @Override
+        public long expireAfterCreate(ByteBuffer key, VerifiedToken token, long currentTime) {
+            long remainingMillis = token.expiresAt().toEpochMilli() - Instant.now().toEpochMilli();
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(0, remainingMillis));
+        }
+
+        @Override
+        public long expireAfterUpdate(ByteBuffer key, VerifiedToken token, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, token, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(ByteBuffer key, VerifiedToken token, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
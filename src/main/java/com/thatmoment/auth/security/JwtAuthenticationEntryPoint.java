@@ -33,6 +33,9 @@ public class JwtAuthenticationEntryPoint implements AuthenticationEntryPoint {
         if ("TOKEN_EXPIRED".equals(jwtError)) {
             errorCode = "TOKEN_EXPIRED";
             detail = AuthMessages.ACCESS_TOKEN_EXPIRED;
+        } else if ("SESSION_REVOKED".equals(jwtError)) {
+            errorCode = "SESSION_REVOKED";
+            detail = AuthMessages.SESSION_REVOKED;
         } else if ("INVALID_TOKEN".equals(jwtError) || "INVALID_TOKEN_TYPE".equals(jwtError)) {
             errorCode = "INVALID_TOKEN";
             detail = AuthMessages.INVALID_ACCESS_TOKEN;
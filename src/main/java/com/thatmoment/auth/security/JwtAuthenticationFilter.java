@@ -1,6 +1,7 @@
 package com.thatmoment.auth.security;
 
-import com.thatmoment.auth.service.JwtService;
+import com.thatmoment.auth.service.SessionActivityTracker;
+import com.thatmoment.auth.service.VerifiedToken;
 import io.jsonwebtoken.ExpiredJwtException;
 import io.jsonwebtoken.JwtException;
 import jakarta.servlet.FilterChain;
@@ -9,6 +10,7 @@ import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
@@ -17,7 +19,6 @@ import org.springframework.util.StringUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
-import java.util.UUID;
 
 @Component
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
@@ -26,10 +27,22 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     private static final String AUTHORIZATION_HEADER = "Authorization";
     private static final String BEARER_PREFIX = "Bearer ";
 
-    private final JwtService jwtService;
-
-    public JwtAuthenticationFilter(JwtService jwtService) {
-        this.jwtService = jwtService;
+    private final AccessTokenCache accessTokenCache;
+    private final RevokedSessionRegistry revokedSessionRegistry;
+    private final SessionActivityTracker sessionActivityTracker;
+    private final WebAuthenticationDetailsSource authenticationDetailsSource = new WebAuthenticationDetailsSource();
+
+    @Value("${app.session-activity.track-requests:false}")
+    private boolean trackRequestActivity;
+
+    public JwtAuthenticationFilter(
+            AccessTokenCache accessTokenCache,
+            RevokedSessionRegistry revokedSessionRegistry,
+            SessionActivityTracker sessionActivityTracker
+    ) {
+        this.accessTokenCache = accessTokenCache;
+        this.revokedSessionRegistry = revokedSessionRegistry;
+        this.sessionActivityTracker = sessionActivityTracker;
     }
 
     @Override
@@ -42,31 +55,32 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             String jwt = extractJwtFromRequest(request);
 
             if (jwt != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                if (jwtService.isTokenValid(jwt)) {
-                    String tokenType = jwtService.extractTokenType(jwt);
-
-                    if (!"access".equals(tokenType)) {
-                        log.debug("Invalid token type: {}", tokenType);
-                        request.setAttribute("jwt_error", "INVALID_TOKEN_TYPE");
-                    } else {
-                        UUID userId = jwtService.extractUserId(jwt);
-                        String email = jwtService.extractEmail(jwt);
-                        UUID sessionId = jwtService.extractSessionId(jwt);
-
-                        UserPrincipal principal = UserPrincipal.of(userId, sessionId, email, true);
-
-                        UsernamePasswordAuthenticationToken authentication =
-                                new UsernamePasswordAuthenticationToken(
-                                        principal,
-                                        null,
-                                        principal.getAuthorities()
-                                );
-
-                        authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-                        SecurityContextHolder.getContext().setAuthentication(authentication);
-
-                        log.debug("User authenticated: {} session: {}", userId, sessionId);
+                VerifiedToken token = accessTokenCache.verify(jwt);
+
+                if (!token.isAccessToken()) {
+                    log.debug("Invalid token type: {}", token.type());
+                    request.setAttribute("jwt_error", "INVALID_TOKEN_TYPE");
+                } else if (revokedSessionRegistry.isRevoked(token.sessionId())) {
+                    log.debug("Revoked session: {}", token.sessionId());
+                    request.setAttribute("jwt_error", "SESSION_REVOKED");
+                } else {
+                    UserPrincipal principal = UserPrincipal.from(token);
+
+                    UsernamePasswordAuthenticationToken authentication =
+                            new UsernamePasswordAuthenticationToken(
+                                    principal,
+                                    null,
+                                    principal.getAuthorities()
+                            );
+
+                    authentication.setDetails(authenticationDetailsSource.buildDetails(request));
+                    SecurityContextHolder.getContext().setAuthentication(authentication);
+
+                    if (trackRequestActivity) {
+                        sessionActivityTracker.touch(token.sessionId());
                     }
+
+                    log.debug("User authenticated: {} session: {}", token.userId(), token.sessionId());
                 }
             }
         } catch (ExpiredJwtException e) {
@@ -100,6 +114,7 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                 || path.startsWith("/api/v1/auth/login")
                 || path.startsWith("/api/v1/auth/refresh")
                 || path.startsWith("/api/v1/health")
+                || path.startsWith("/.well-known/jwks.json")
                 || path.startsWith("/swagger")
                 || path.startsWith("/v3/api-docs");
     }
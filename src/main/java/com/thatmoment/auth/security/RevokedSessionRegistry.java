@@ -0,0 +1,207 @@
+package com.thatmoment.auth.security;
+
+import com.thatmoment.auth.event.SessionsRevokedEvent;
+import com.thatmoment.auth.service.JwtService;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.ReentrantLock;
+
+@Component
+public class RevokedSessionRegistry implements MessageListener {
+
+    private static final Logger log = LoggerFactory.getLogger(RevokedSessionRegistry.class);
+
+    static final String CHANNEL = "auth:session-revocations";
+    static final String REVOKED_SET_KEY = "auth:revoked-sessions";
+
+    private static final int HASH_FUNCTIONS = 4;
+
+    private final JwtService jwtService;
+    private final StringRedisTemplate redisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+
+    @Value("${app.session-revocation.bloom-filter-bits:1048576}")
+    private int bloomFilterBits;
+
+    // Exact set: sessionId -> epoch millis after which no access token of the session can still be valid
+    private final Map<UUID, Long> revoked = new ConcurrentHashMap<>();
+    // ReentrantLock rather than synchronized so request threads do not pin their carrier when virtual
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private volatile BloomFilter bloomFilter;
+
+    public RevokedSessionRegistry(
+            JwtService jwtService,
+            StringRedisTemplate redisTemplate,
+            RedisMessageListenerContainer listenerContainer
+    ) {
+        this.jwtService = jwtService;
+        this.redisTemplate = redisTemplate;
+        this.listenerContainer = listenerContainer;
+    }
+
+    @PostConstruct
+    public void init() {
+        this.bloomFilter = new BloomFilter(bloomFilterBits);
+        listenerContainer.addMessageListener(this, new ChannelTopic(CHANNEL));
+        loadFromRedis();
+    }
+
+    public boolean isRevoked(UUID sessionId) {
+        if (sessionId == null || !bloomFilter.mightContain(sessionId)) {
+            return false;
+        }
+        Long expiresAt = revoked.get(sessionId);
+        return expiresAt != null && expiresAt > System.currentTimeMillis();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSessionsRevoked(SessionsRevokedEvent event) {
+        long expiresAt = System.currentTimeMillis() + jwtService.getAccessTokenExpirationSeconds() * 1000L;
+        for (UUID sessionId : event.sessionIds()) {
+            add(sessionId, expiresAt);
+            publish(sessionId, expiresAt);
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        int separator = body.indexOf(':');
+        if (separator < 0) {
+            log.warn("Ignoring malformed session revocation message: {}", body);
+            return;
+        }
+        try {
+            add(UUID.fromString(body.substring(0, separator)), Long.parseLong(body.substring(separator + 1)));
+        } catch (IllegalArgumentException e) {
+            log.warn("Ignoring malformed session revocation message: {}", body);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.session-revocation.purge-interval-ms:60000}")
+    public void purgeExpired() {
+        long now = System.currentTimeMillis();
+        writeLock.lock();
+        try {
+            revoked.values().removeIf(expiresAt -> expiresAt <= now);
+            BloomFilter rebuilt = new BloomFilter(bloomFilterBits);
+            revoked.keySet().forEach(rebuilt::add);
+            this.bloomFilter = rebuilt;
+        } finally {
+            writeLock.unlock();
+        }
+
+        try {
+            redisTemplate.opsForZSet().removeRangeByScore(REVOKED_SET_KEY, Double.NEGATIVE_INFINITY, now);
+        } catch (RuntimeException e) {
+            log.debug("Could not purge revoked sessions in Redis: {}", e.getMessage());
+        }
+    }
+
+    private void add(UUID sessionId, long expiresAt) {
+        if (expiresAt <= System.currentTimeMillis()) {
+            return;
+        }
+        writeLock.lock();
+        try {
+            revoked.merge(sessionId, expiresAt, Math::max);
+            bloomFilter.add(sessionId);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private void publish(UUID sessionId, long expiresAt) {
+        try {
+            redisTemplate.opsForZSet().add(REVOKED_SET_KEY, sessionId.toString(), expiresAt);
+            redisTemplate.convertAndSend(CHANNEL, sessionId + ":" + expiresAt);
+        } catch (RuntimeException e) {
+            log.warn("Could not distribute session revocation {}: {}", sessionId, e.getMessage());
+        }
+    }
+
+    private void loadFromRedis() {
+        try {
+            long now = System.currentTimeMillis();
+            Set<ZSetOperations.TypedTuple<String>> entries = redisTemplate.opsForZSet()
+                    .rangeByScoreWithScores(REVOKED_SET_KEY, now, Double.POSITIVE_INFINITY);
+            if (entries == null) {
+                return;
+            }
+            for (ZSetOperations.TypedTuple<String> entry : entries) {
+                if (entry.getValue() != null && entry.getScore() != null) {
+                    add(UUID.fromString(entry.getValue()), entry.getScore().longValue());
+                }
+            }
+            log.info("Loaded {} revoked sessions at {}", revoked.size(), Instant.ofEpochMilli(now));
+        } catch (RuntimeException e) {
+            log.warn("Could not load revoked sessions from Redis: {}", e.getMessage());
+        }
+    }
+
+    private static final class BloomFilter {
+
+        private final AtomicLongArray words;
+        private final int bitMask;
+
+        BloomFilter(int requestedBits) {
+            int bits = Integer.highestOneBit(Math.max(64, requestedBits));
+            this.words = new AtomicLongArray(bits >>> 6);
+            this.bitMask = bits - 1;
+        }
+
+        void add(UUID id) {
+            long h1 = mix(id.getMostSignificantBits());
+            long h2 = mix(id.getLeastSignificantBits()) | 1;
+            for (int i = 0; i < HASH_FUNCTIONS; i++) {
+                int bit = (int) (h1 + i * h2) & bitMask;
+                int word = bit >>> 6;
+                long mask = 1L << bit;
+                long current;
+                do {
+                    current = words.get(word);
+                } while ((current & mask) == 0 && !words.compareAndSet(word, current, current | mask));
+            }
+        }
+
+        boolean mightContain(UUID id) {
+            long h1 = mix(id.getMostSignificantBits());
+            long h2 = mix(id.getLeastSignificantBits()) | 1;
+            for (int i = 0; i < HASH_FUNCTIONS; i++) {
+                int bit = (int) (h1 + i * h2) & bitMask;
+                if ((words.get(bit >>> 6) & (1L << bit)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private static long mix(long value) {
+            value ^= value >>> 33;
+            value *= 0xff51afd7ed558ccdL;
+            value ^= value >>> 33;
+            value *= 0xc4ceb9fe1a85ec53L;
+            value ^= value >>> 33;
+            return value;
+        }
+    }
+}
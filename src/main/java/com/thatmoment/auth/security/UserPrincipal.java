@@ -1,5 +1,6 @@
 package com.thatmoment.auth.security;
 
+import com.thatmoment.auth.service.VerifiedToken;
 import lombok.Builder;
 import lombok.Getter;
 import org.springframework.security.core.GrantedAuthority;
@@ -14,6 +15,8 @@ import java.util.UUID;
 @Builder
 public class UserPrincipal implements UserDetails {
 
+    private static final List<GrantedAuthority> USER_AUTHORITIES = List.of(new SimpleGrantedAuthority("ROLE_USER"));
+
     private final UUID userId;
     private final UUID sessionId;
     private final String email;
@@ -21,7 +24,7 @@ public class UserPrincipal implements UserDetails {
 
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
-        return List.of(new SimpleGrantedAuthority("ROLE_USER"));
+        return USER_AUTHORITIES;
     }
 
     @Override
@@ -62,4 +65,8 @@ public class UserPrincipal implements UserDetails {
                 .active(active)
                 .build();
     }
+
+    public static UserPrincipal from(VerifiedToken token) {
+        return of(token.userId(), token.sessionId(), token.email(), true);
+    }
 }
@@ -1,7 +1,6 @@
 package com.thatmoment.auth.service;
 
-import com.thatmoment.auth.domain.EmailVerification;
-import com.thatmoment.auth.domain.RefreshToken;
+import com.thatmoment.auth.domain.OAuthProvider;
 import com.thatmoment.auth.domain.Session;
 import com.thatmoment.auth.domain.User;
 import com.thatmoment.auth.domain.enums.AuthMethod;
@@ -14,8 +13,14 @@ import com.thatmoment.auth.dto.request.ResendCodeRequest;
 import com.thatmoment.auth.dto.request.VerifyEmailRequest;
 import com.thatmoment.auth.dto.response.AuthTokenResponse;
 import com.thatmoment.auth.dto.response.RegisterResponse;
-import com.thatmoment.auth.repository.EmailVerificationRepository;
+import com.thatmoment.auth.repository.OAuthProviderRepository;
 import com.thatmoment.auth.repository.UserRepository;
+import com.thatmoment.auth.service.audit.LoginAuditService;
+import com.thatmoment.auth.service.lockout.FailedLoginResult;
+import com.thatmoment.auth.service.lockout.LoginLockoutService;
+import com.thatmoment.auth.service.oauth.OAuthIdentity;
+import com.thatmoment.auth.service.otp.OtpStore;
+import com.thatmoment.auth.service.otp.OtpVerificationResult;
 import com.thatmoment.common.constants.AuthMessages;
 import com.thatmoment.common.dto.MessageResponse;
 import com.thatmoment.common.exception.exceptions.ConflictException;
@@ -23,19 +28,17 @@ import com.thatmoment.common.exception.exceptions.BadRequestException;
 import com.thatmoment.common.exception.exceptions.ForbiddenException;
 import com.thatmoment.common.exception.exceptions.NotFoundException;
 import com.thatmoment.common.exception.exceptions.UnauthorizedException;
-import com.thatmoment.common.service.EmailService;
+import com.thatmoment.notification.service.EmailOutboxService;
+import io.jsonwebtoken.JwtException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.security.SecureRandom;
-import java.time.Instant;
-import java.time.temporal.ChronoUnit;
-import java.util.Optional;
-import java.util.UUID;
+import java.time.Duration;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 @Service
@@ -43,42 +46,54 @@ import java.util.UUID;
 @Slf4j
 public class AuthService {
 
-    private static final int CODE_EXPIRY_MINUTES = 15;
+    private static final Duration CODE_EXPIRY = Duration.ofMinutes(15);
     private static final int MAX_ATTEMPTS = 3;
-    private static final int LOGIN_CODE_EXPIRY_MINUTES = 5;
+    private static final Duration LOGIN_CODE_EXPIRY = Duration.ofMinutes(5);
 
     private final UserRepository userRepository;
-    private final EmailVerificationRepository emailVerificationRepository;
-    private final EmailService emailService;
+    private final OAuthProviderRepository oAuthProviderRepository;
+    private final UserLookupService userLookupService;
+    private final OtpStore otpStore;
+    private final EmailOutboxService emailOutboxService;
     private final JwtService jwtService;
     private final SessionService sessionService;
+    private final RefreshCoalescer refreshCoalescer;
+    private final RefreshTokenIssuer refreshTokenIssuer;
+    private final LoginAuditService loginAuditService;
+    private final LoginLockoutService loginLockoutService;
     private final SecureRandom secureRandom = new SecureRandom();
 
+    @Transactional
     public RegisterResponse register(RegisterRequest request) {
-        String email = request.getEmail().trim().toLowerCase();
+        return createUser(request.getEmail().trim().toLowerCase(), AuthMethod.EMAIL, null);
+    }
 
+    /**
+     * Creates a password account. The hash is computed by the caller before the transaction
+     * starts so no connection is held while BCrypt runs.
+     */
+    @Transactional
+    public RegisterResponse registerWithPasswordHash(String email, String passwordHash) {
+        return createUser(email, AuthMethod.PASSWORD, passwordHash);
+    }
+
+    private RegisterResponse createUser(String email, AuthMethod authMethod, String passwordHash) {
         if (userRepository.existsByEmailAndDeletedAtIsNull(email)) {
             throw new ConflictException(AuthMessages.EMAIL_ALREADY_REGISTERED);
         }
 
         User user = User.builder()
                 .email(email)
-                .authMethod(AuthMethod.EMAIL)
+                .authMethod(authMethod)
+                .passwordHash(passwordHash)
                 .build();
         User savedUser = userRepository.save(user);
+        userLookupService.evict(email);
 
         String code = generateVerificationCode();
+        otpStore.issue(savedUser.getId(), VerificationPurpose.EMAIL_VERIFY, code, MAX_ATTEMPTS, CODE_EXPIRY);
 
-        EmailVerification verification = EmailVerification.builder()
-                .userId(savedUser.getId())
-                .code(code)
-                .purpose(VerificationPurpose.EMAIL_VERIFY)
-                .maxAttempts(MAX_ATTEMPTS)
-                .expiresAt(Instant.now().plusSeconds(CODE_EXPIRY_MINUTES * 60L))
-                .build();
-        emailVerificationRepository.save(verification);
-
-        emailService.sendVerificationCode(email, code, "EMAIL_VERIFY");
+        emailOutboxService.enqueueVerificationCode(email, code, "EMAIL_VERIFY", CODE_EXPIRY);
 
         return RegisterResponse.builder()
                 .userId(savedUser.getId())
@@ -97,28 +112,16 @@ public class AuthService {
             throw new BadRequestException(AuthMessages.EMAIL_ALREADY_VERIFIED);
         }
 
-        EmailVerification verification = findActiveVerification(
+        OtpVerificationResult result = otpStore.verify(
                 user.getId(),
                 VerificationPurpose.EMAIL_VERIFY,
-                AuthMessages.NO_ACTIVE_VERIFICATION_CODE
+                request.getCode()
         );
-
-        if (!verification.matches(request.getCode())) {
-            verification.incrementAttempt();
-            emailVerificationRepository.save(verification);
-
-            int remaining = verification.getMaxAttempts() - verification.getAttemptCount();
-            if (remaining <= 0) {
-                throw new BadRequestException(AuthMessages.TOO_MANY_FAILED_ATTEMPTS);
-            }
-            throw new BadRequestException(String.format(AuthMessages.INVALID_CODE_REMAINING_FORMAT, remaining));
-        }
-
-        verification.markAsVerified();
-        emailVerificationRepository.save(verification);
+        ensureVerified(result, AuthMessages.NO_ACTIVE_VERIFICATION_CODE);
 
         user.markAsVerified();
         userRepository.save(user);
+        userLookupService.evict(email);
 
         log.info("Email verified for user: {}", user.getId());
         return MessageResponse.of(AuthMessages.EMAIL_VERIFIED_SUCCESS);
@@ -128,29 +131,17 @@ public class AuthService {
     public MessageResponse resendVerificationCode(ResendCodeRequest request) {
         String email = request.getEmail().toLowerCase().trim();
 
-        User user = userRepository.findByEmailAndDeletedAtIsNull(email)
+        CachedUser user = userLookupService.findByEmail(email)
                 .orElseThrow(() -> new NotFoundException(AuthMessages.USER_NOT_FOUND));
 
-        if (Boolean.TRUE.equals(user.getIsVerified())) {
+        if (user.verified()) {
             throw new BadRequestException(AuthMessages.EMAIL_ALREADY_VERIFIED);
         }
 
-        emailVerificationRepository.invalidatePendingVerifications(
-                user.getId(), VerificationPurpose.EMAIL_VERIFY, Instant.now()
-        );
-
         String code = generateVerificationCode();
-        EmailVerification verification = EmailVerification.builder()
-                .userId(user.getId())
-                .code(code)
-                .purpose(VerificationPurpose.EMAIL_VERIFY)
-                .maxAttempts(MAX_ATTEMPTS)
-                .expiresAt(Instant.now().plus(CODE_EXPIRY_MINUTES, ChronoUnit.MINUTES))
-                .build();
-
-        emailVerificationRepository.save(verification);
+        otpStore.issue(user.id(), VerificationPurpose.EMAIL_VERIFY, code, MAX_ATTEMPTS, CODE_EXPIRY);
 
-        emailService.sendVerificationCode(email, code, "EMAIL_VERIFY");
+        emailOutboxService.enqueueVerificationCode(email, code, "EMAIL_VERIFY", CODE_EXPIRY);
 
         log.info("Verification code resent to: {}", email);
         return MessageResponse.of(AuthMessages.VERIFICATION_CODE_SENT);
@@ -160,14 +151,14 @@ public class AuthService {
     public MessageResponse sendLoginCode(LoginRequest request) {
         String email = request.getEmail().toLowerCase().trim();
 
-        User user = userRepository.findByEmailAndDeletedAtIsNull(email)
+        CachedUser user = userLookupService.findByEmail(email)
                 .orElseThrow(() -> new NotFoundException(AuthMessages.USER_NOT_FOUND));
 
-        if (!Boolean.TRUE.equals(user.getIsVerified())) {
+        if (!user.verified()) {
             throw new BadRequestException(AuthMessages.EMAIL_NOT_VERIFIED);
         }
 
-        if (!Boolean.TRUE.equals(user.getIsActive())) {
+        if (!user.active()) {
             throw new ForbiddenException(AuthMessages.ACCOUNT_SUSPENDED);
         }
 
@@ -175,22 +166,10 @@ public class AuthService {
             throw new ForbiddenException(AuthMessages.ACCOUNT_LOCKED);
         }
 
-        emailVerificationRepository.invalidatePendingVerifications(
-                user.getId(), VerificationPurpose.LOGIN_OTP, Instant.now()
-        );
-
         String code = generateVerificationCode();
-        EmailVerification verification = EmailVerification.builder()
-                .userId(user.getId())
-                .code(code)
-                .purpose(VerificationPurpose.LOGIN_OTP)
-                .maxAttempts(MAX_ATTEMPTS)
-                .expiresAt(Instant.now().plus(LOGIN_CODE_EXPIRY_MINUTES, ChronoUnit.MINUTES))
-                .build();
+        otpStore.issue(user.id(), VerificationPurpose.LOGIN_OTP, code, MAX_ATTEMPTS, LOGIN_CODE_EXPIRY);
 
-        emailVerificationRepository.save(verification);
-
-        emailService.sendVerificationCode(email, code, "LOGIN_OTP");
+        emailOutboxService.enqueueVerificationCode(email, code, "LOGIN_OTP", LOGIN_CODE_EXPIRY);
 
         log.info("Login code sent to: {}", email);
         return MessageResponse.of(AuthMessages.LOGIN_CODE_SENT);
@@ -203,31 +182,124 @@ public class AuthService {
         User user = userRepository.findByEmailAndDeletedAtIsNull(email)
                 .orElseThrow(() -> new NotFoundException(AuthMessages.USER_NOT_FOUND));
 
-        EmailVerification verification = findActiveVerification(
+        if (user.isLocked()) {
+            loginAuditService.recordBlocked(user.getId(), user.getAuthMethod(), ipAddress, userAgent, "ACCOUNT_LOCKED");
+            throw new ForbiddenException(AuthMessages.ACCOUNT_LOCKED);
+        }
+
+        OtpVerificationResult result = otpStore.verify(
                 user.getId(),
                 VerificationPurpose.LOGIN_OTP,
-                AuthMessages.NO_ACTIVE_LOGIN_CODE
+                request.getCode()
         );
 
-        if (!verification.matches(request.getCode())) {
-            verification.incrementAttempt();
-            emailVerificationRepository.save(verification);
+        if (result.isMismatch()) {
+            FailedLoginResult failure = loginLockoutService.recordFailure(user.getId());
+            if (failure.lockTriggered()) {
+                userLookupService.evict(email);
+            }
+        }
+        if (!result.isVerified()) {
+            loginAuditService.recordFailure(
+                    user.getId(),
+                    user.getAuthMethod(),
+                    ipAddress,
+                    userAgent,
+                    result.isMismatch() ? "INVALID_CODE" : "NO_ACTIVE_CODE"
+            );
+        }
+        ensureVerified(result, AuthMessages.NO_ACTIVE_LOGIN_CODE);
+
+        return signIn(user, email, ipAddress, userAgent);
+    }
 
-            user.recordFailedLogin(5, 30);
-            userRepository.save(user);
+    /**
+     * Signs in a user whose password was already checked, storing the upgraded hash when
+     * the check rehashed it at the current cost.
+     */
+    @Transactional
+    public AuthTokenResponse completePasswordLogin(UUID userId, String upgradedHash, String ipAddress, String userAgent) {
+        User user = userRepository.findById(userId)
+                .filter(found -> found.getDeletedAt() == null)
+                .orElseThrow(() -> new UnauthorizedException(AuthMessages.INVALID_CREDENTIALS));
 
-            int remaining = verification.getMaxAttempts() - verification.getAttemptCount();
-            if (remaining <= 0) {
-                throw new BadRequestException(AuthMessages.TOO_MANY_FAILED_ATTEMPTS);
+        // The password was checked outside this transaction; a lock may have landed meanwhile
+        if (user.isLocked()) {
+            throw new ForbiddenException(AuthMessages.ACCOUNT_LOCKED);
+        }
+        if (upgradedHash != null) {
+            user.changePasswordHash(upgradedHash);
+        }
+        return signIn(user, user.getEmail(), ipAddress, userAgent);
+    }
+
+    /**
+     * Signs in a verified provider identity. A known provider subject maps straight to its user;
+     * otherwise the identity is linked to the account with the same email, or a new account is
+     * created, but only when the provider has verified that email.
+     */
+    @Transactional
+    public AuthTokenResponse completeOAuthLogin(OAuthIdentity identity, String ipAddress, String userAgent) {
+        OAuthProvider link = oAuthProviderRepository
+                .findByProviderNameAndProviderUserId(identity.provider(), identity.subject())
+                .orElse(null);
+
+        User user;
+        if (link != null) {
+            user = userRepository.findById(link.getUserId())
+                    .filter(found -> found.getDeletedAt() == null)
+                    .orElseThrow(() -> new UnauthorizedException(AuthMessages.INVALID_ID_TOKEN));
+            link.recordLogin(identity.email());
+        } else {
+            if (identity.email() == null || !identity.emailVerified()) {
+                throw new UnauthorizedException(AuthMessages.OAUTH_EMAIL_NOT_VERIFIED);
             }
-            throw new BadRequestException(String.format(AuthMessages.INVALID_CODE_REMAINING_FORMAT, remaining));
+            Optional<User> existing = userRepository.findByEmailAndDeletedAtIsNull(identity.email());
+            // One link per provider and account: a second subject for the same email is someone else's
+            if (existing.isPresent()
+                    && oAuthProviderRepository.existsByProviderNameAndUserId(identity.provider(), existing.get().getId())) {
+                throw new ConflictException(AuthMessages.OAUTH_PROVIDER_ALREADY_LINKED);
+            }
+            user = existing
+                    .orElseGet(() -> userRepository.save(User.builder()
+                            .email(identity.email())
+                            .authMethod(identity.authMethod())
+                            .build()));
+            oAuthProviderRepository.save(OAuthProvider.builder()
+                    .userId(user.getId())
+                    .providerName(identity.provider())
+                    .providerUserId(identity.subject())
+                    .email(identity.email())
+                    .build());
         }
 
-        verification.markAsVerified();
-        emailVerificationRepository.save(verification);
+        if (!Boolean.TRUE.equals(user.getIsActive())) {
+            throw new ForbiddenException(AuthMessages.ACCOUNT_SUSPENDED);
+        }
+        if (user.isLocked()) {
+            loginAuditService.recordBlocked(user.getId(), identity.authMethod(), ipAddress, userAgent, "ACCOUNT_LOCKED");
+            throw new ForbiddenException(AuthMessages.ACCOUNT_LOCKED);
+        }
+        if (!Boolean.TRUE.equals(user.getIsVerified())) {
+            // Whoever registered this unverified row never proved they own the email; drop the
+            // credentials they set so they cannot sign in to the account the provider just verified
+            user.changePasswordHash(null);
+            otpStore.invalidate(user.getId(), VerificationPurpose.EMAIL_VERIFY);
+            otpStore.invalidate(user.getId(), VerificationPurpose.LOGIN_OTP);
+            user.markAsVerified();
+            userLookupService.evict(user.getEmail());
+        }
+        return signIn(user, user.getEmail(), ipAddress, userAgent);
+    }
 
+    private AuthTokenResponse signIn(User user, String email, String ipAddress, String userAgent) {
+        boolean lockStateChanged = user.getLockedUntil() != null;
         user.recordSuccessfulLogin();
         userRepository.save(user);
+        loginLockoutService.reset(user.getId());
+        if (lockStateChanged) {
+            userLookupService.evict(email);
+        }
 
         String deviceName = parseDeviceName(userAgent);
         String platform = parsePlatform(userAgent);
@@ -236,6 +308,7 @@ public class AuthService {
         String accessToken = jwtService.generateAccessToken(user.getId(), session.getId(), user.getEmail());
         String refreshToken = sessionService.createRefreshToken(user.getId(), session.getId());
 
+        loginAuditService.recordSuccess(user.getId(), user.getAuthMethod(), ipAddress, userAgent);
         log.info("User logged in: {} session: {}", user.getId(), session.getId());
 
         return AuthTokenResponse.of(
@@ -253,46 +326,55 @@ public class AuthService {
         return String.valueOf(codeInt);
     }
 
-    @Transactional
     public AuthTokenResponse refreshToken(RefreshTokenRequest request) {
         String refreshTokenStr = request.getRefreshToken();
 
-        if (!jwtService.isTokenValid(refreshTokenStr)) {
-            throw new UnauthorizedException(AuthMessages.INVALID_REFRESH_TOKEN);
+        if (refreshTokenIssuer.isOpaque(refreshTokenStr)) {
+            return refreshCoalescer.refresh(
+                    refreshTokenStr,
+                    () -> rotateRefreshToken(refreshTokenStr, null, null)
+            );
         }
 
-        String tokenType = jwtService.extractTokenType(refreshTokenStr);
-        if (!"refresh".equals(tokenType)) {
-            throw new UnauthorizedException(AuthMessages.INVALID_TOKEN_TYPE);
+        if (!refreshTokenIssuer.acceptsLegacyJwt()) {
+            throw new UnauthorizedException(AuthMessages.INVALID_REFRESH_TOKEN);
         }
 
-        RefreshToken tokenEntity = sessionService.validateRefreshToken(refreshTokenStr);
-
-        UUID userId = jwtService.extractUserId(refreshTokenStr);
-        UUID sessionId = tokenEntity.getSessionId();
-        Session session = sessionService.getValidSession(sessionId, userId);
+        VerifiedToken verifiedToken;
+        try {
+            verifiedToken = jwtService.verify(refreshTokenStr);
+        } catch (JwtException e) {
+            throw new UnauthorizedException(AuthMessages.INVALID_REFRESH_TOKEN);
+        }
 
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new UnauthorizedException(AuthMessages.USER_NOT_FOUND));
+        if (!verifiedToken.isRefreshToken()) {
+            throw new UnauthorizedException(AuthMessages.INVALID_TOKEN_TYPE);
+        }
 
-        if (!Boolean.TRUE.equals(user.getIsActive())) {
-            throw new UnauthorizedException(AuthMessages.ACCOUNT_SUSPENDED);
+        if (verifiedToken.sessionId() == null) {
+            throw new UnauthorizedException(AuthMessages.INVALID_REFRESH_TOKEN);
         }
 
-        String newAccessToken = jwtService.generateAccessToken(userId, sessionId, user.getEmail());
-        String newRefreshToken = sessionService.rotateRefreshToken(tokenEntity, userId);
+        return refreshCoalescer.refresh(
+                refreshTokenStr,
+                () -> rotateRefreshToken(refreshTokenStr, verifiedToken.userId(), verifiedToken.sessionId())
+        );
+    }
 
-        sessionService.updateSessionActivity(sessionId);
+    private AuthTokenResponse rotateRefreshToken(String refreshToken, UUID userId, UUID sessionId) {
+        RotatedRefreshToken rotated = sessionService.rotateRefreshToken(refreshToken, userId, sessionId);
 
-        log.info("Token refreshed for user: {} session: {}", userId, sessionId);
+        String newAccessToken = jwtService.generateAccessToken(rotated.userId(), rotated.sessionId(), rotated.email());
+
+        log.info("Token refreshed for user: {} session: {}", rotated.userId(), rotated.sessionId());
 
         return AuthTokenResponse.of(
                 newAccessToken,
-                newRefreshToken,
+                rotated.refreshToken(),
                 jwtService.getAccessTokenExpirationSeconds(),
-                userId,
-                user.getEmail(),
-                sessionId
+                rotated.userId(),
+                rotated.email(),
+                rotated.sessionId()
         );
     }
 
@@ -350,12 +432,19 @@ public class AuthService {
         return "Web";
     }
 
-    private EmailVerification findActiveVerification(UUID userId, VerificationPurpose purpose, String errorMessage) {
-        Optional<EmailVerification> verification = emailVerificationRepository
-            .findActiveVerification(userId, purpose, Instant.now(), PageRequest.of(0, 1))
-            .stream()
-            .findFirst();
-
-        return verification.orElseThrow(() -> new BadRequestException(errorMessage));
+    private void ensureVerified(OtpVerificationResult result, String notFoundMessage) {
+        switch (result.status()) {
+            case VERIFIED -> {
+            }
+            case NOT_FOUND -> throw new BadRequestException(notFoundMessage);
+            case MISMATCH -> {
+                if (result.remainingAttempts() <= 0) {
+                    throw new BadRequestException(AuthMessages.TOO_MANY_FAILED_ATTEMPTS);
+                }
+                throw new BadRequestException(
+                        String.format(AuthMessages.INVALID_CODE_REMAINING_FORMAT, result.remainingAttempts())
+                );
+            }
+        }
     }
 }
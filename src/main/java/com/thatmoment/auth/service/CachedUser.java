@@ -0,0 +1,36 @@
+package com.thatmoment.auth.service;
+
+import com.thatmoment.auth.domain.User;
+import com.thatmoment.auth.domain.enums.AuthMethod;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Read-only view of a {@link User} for cached lookups. Paths that modify the user still load
+ * the entity.
+ */
+public record CachedUser(
+        UUID id,
+        String email,
+        AuthMethod authMethod,
+        boolean active,
+        boolean verified,
+        Instant lockedUntil
+) {
+
+    public static CachedUser from(User user) {
+        return new CachedUser(
+                user.getId(),
+                user.getEmail(),
+                user.getAuthMethod(),
+                Boolean.TRUE.equals(user.getIsActive()),
+                Boolean.TRUE.equals(user.getIsVerified()),
+                user.getLockedUntil()
+        );
+    }
+
+    public boolean isLocked() {
+        return lockedUntil != null && Instant.now().isBefore(lockedUntil);
+    }
+}
@@ -0,0 +1,194 @@
+package com.thatmoment.auth.service;
+
+import com.thatmoment.auth.config.JwtSigningProperties;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Jwks;
+import io.jsonwebtoken.security.PublicJwk;
+import io.jsonwebtoken.security.SignatureAlgorithm;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.KeyPair;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@Component
+public class JwtKeyRing {
+
+    private static final Logger log = LoggerFactory.getLogger(JwtKeyRing.class);
+
+    private final JwtSigningProperties properties;
+
+    private SignatureAlgorithm algorithm;
+    private List<SigningKey> keys = List.of();
+    private Map<String, SigningKey> keysById = Map.of();
+
+    public JwtKeyRing(JwtSigningProperties properties) {
+        this.properties = properties;
+    }
+
+    @PostConstruct
+    public void init() {
+        if (properties.isHmac()) {
+            return;
+        }
+
+        this.algorithm = resolveAlgorithm(properties.algorithm());
+
+        List<SigningKey> loaded = new ArrayList<>();
+        for (JwtSigningProperties.Key key : properties.keys()) {
+            loaded.add(load(key));
+        }
+
+        if (loaded.isEmpty()) {
+            log.warn("No JWT signing keys configured for {}; generating an ephemeral key. "
+                    + "Tokens will not survive a restart or verify on other nodes.", properties.algorithm());
+            loaded.add(generateEphemeral());
+        }
+
+        loaded.sort(Comparator.comparing(SigningKey::activateAt));
+        this.keys = List.copyOf(loaded);
+
+        Map<String, SigningKey> byId = new HashMap<>();
+        for (SigningKey key : keys) {
+            if (byId.put(key.kid(), key) != null) {
+                throw new IllegalStateException("Duplicate JWT key id: " + key.kid());
+            }
+        }
+        this.keysById = Map.copyOf(byId);
+
+        log.info("JWT key ring loaded with {} {} key(s)", keys.size(), properties.algorithm());
+    }
+
+    public boolean isAsymmetric() {
+        return algorithm != null;
+    }
+
+    public SignatureAlgorithm getAlgorithm() {
+        return algorithm;
+    }
+
+    public SigningKey currentSigningKey() {
+        Instant now = Instant.now();
+        SigningKey current = null;
+        for (SigningKey key : keys) {
+            if (key.privateKey() != null && key.isUsableAt(now) && !key.activateAt().isAfter(now)) {
+                current = key;
+            }
+        }
+        if (current == null) {
+            throw new IllegalStateException("No active JWT signing key");
+        }
+        return current;
+    }
+
+    public PublicKey findVerificationKey(String kid) {
+        if (kid == null) {
+            return null;
+        }
+        SigningKey key = keysById.get(kid);
+        if (key == null || !key.isUsableAt(Instant.now())) {
+            return null;
+        }
+        return key.publicKey();
+    }
+
+    public List<Map<String, ?>> publicJwks() {
+        Instant now = Instant.now();
+        List<Map<String, ?>> jwks = new ArrayList<>();
+        for (SigningKey key : keys) {
+            // Upcoming keys are published too so verifiers have them cached before the switch
+            if (key.isUsableAt(now)) {
+                PublicJwk<PublicKey> jwk = Jwks.builder()
+                        .key(key.publicKey())
+                        .id(key.kid())
+                        .algorithm(algorithm.getId())
+                        .publicKeyUse("sig")
+                        .build();
+                jwks.add(jwk);
+            }
+        }
+        return jwks;
+    }
+
+    private SigningKey load(JwtSigningProperties.Key key) {
+        if (key.kid() == null || key.kid().isBlank()) {
+            throw new IllegalStateException("JWT signing key is missing a kid");
+        }
+        if (key.publicKey() == null) {
+            throw new IllegalStateException("JWT signing key " + key.kid() + " is missing a public key");
+        }
+
+        try {
+            KeyFactory keyFactory = KeyFactory.getInstance(keyFactoryAlgorithm());
+            PublicKey publicKey = keyFactory.generatePublic(new X509EncodedKeySpec(decodePem(key.publicKey())));
+            PrivateKey privateKey = key.privateKey() != null
+                    ? keyFactory.generatePrivate(new PKCS8EncodedKeySpec(decodePem(key.privateKey())))
+                    : null;
+
+            return new SigningKey(
+                    key.kid(),
+                    privateKey,
+                    publicKey,
+                    key.activateAt() != null ? key.activateAt() : Instant.EPOCH,
+                    key.retireAt()
+            );
+        } catch (GeneralSecurityException | IllegalArgumentException e) {
+            throw new IllegalStateException("Invalid JWT signing key: " + key.kid(), e);
+        }
+    }
+
+    private SigningKey generateEphemeral() {
+        KeyPair keyPair = algorithm == Jwts.SIG.EdDSA
+                ? Jwks.CRV.Ed25519.keyPair().build()
+                : algorithm.keyPair().build();
+        String kid = Jwks.builder().key(keyPair.getPublic()).idFromThumbprint().build().getId();
+        return new SigningKey(kid, keyPair.getPrivate(), keyPair.getPublic(), Instant.EPOCH, null);
+    }
+
+    private String keyFactoryAlgorithm() {
+        return algorithm == Jwts.SIG.ES256 ? "EC" : "EdDSA";
+    }
+
+    private static SignatureAlgorithm resolveAlgorithm(String name) {
+        if ("ES256".equalsIgnoreCase(name)) {
+            return Jwts.SIG.ES256;
+        }
+        if ("EdDSA".equalsIgnoreCase(name)) {
+            return Jwts.SIG.EdDSA;
+        }
+        throw new IllegalStateException("Unsupported JWT signing algorithm: " + name);
+    }
+
+    private static byte[] decodePem(String pem) {
+        String base64 = pem.replaceAll("-----(BEGIN|END) [A-Z ]+-----", "")
+                .replaceAll("\\s", "");
+        return Base64.getDecoder().decode(base64);
+    }
+
+    public record SigningKey(
+            String kid,
+            PrivateKey privateKey,
+            PublicKey publicKey,
+            Instant activateAt,
+            Instant retireAt
+    ) {
+
+        boolean isUsableAt(Instant instant) {
+            return retireAt == null || instant.isBefore(retireAt);
+        }
+    }
+}
@@ -1,9 +1,15 @@
 package com.thatmoment.auth.service;
 
+import com.thatmoment.auth.config.JwtSigningProperties;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtBuilder;
 import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.LocatorAdapter;
+import io.jsonwebtoken.UnsupportedJwtException;
 import io.jsonwebtoken.security.Keys;
 import jakarta.annotation.PostConstruct;
 import org.slf4j.Logger;
@@ -13,6 +19,8 @@ import org.springframework.stereotype.Service;
 
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
+import java.security.Key;
+import java.security.PublicKey;
 import java.time.Instant;
 import java.util.Date;
 import java.util.UUID;
@@ -31,48 +39,109 @@ public class JwtService {
     @Value("${jwt.refresh-token-expiration-days}")
     private int refreshTokenExpirationDays;
 
+    private final JwtKeyRing keyRing;
+    private final JwtSigningProperties signingProperties;
+
     private SecretKey secretKey;
+    private JwtParser parser;
+
+    public JwtService(JwtKeyRing keyRing, JwtSigningProperties signingProperties) {
+        this.keyRing = keyRing;
+        this.signingProperties = signingProperties;
+    }
 
     @PostConstruct
     public void init() {
         this.secretKey = Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
+        // JwtParser is immutable and thread-safe; build it once instead of per call
+        this.parser = Jwts.parser()
+                .keyLocator(new LocatorAdapter<Key>() {
+                    @Override
+                    protected Key locate(JwsHeader header) {
+                        return resolveVerificationKey(header);
+                    }
+                })
+                .build();
     }
 
     public String generateAccessToken(UUID userId, UUID sessionId, String email) {
         Instant now = Instant.now();
         Instant expiry = now.plusSeconds(accessTokenExpirationMinutes * 60L);
 
-        return Jwts.builder()
+        JwtBuilder builder = Jwts.builder()
                 .subject(userId.toString())
                 .claim("sessionId", sessionId.toString())
                 .claim("email", email)
-                .claim("type", "access")
+                .claim("type", VerifiedToken.TYPE_ACCESS)
                 .issuedAt(Date.from(now))
-                .expiration(Date.from(expiry))
-                .signWith(secretKey)
-                .compact();
+                .expiration(Date.from(expiry));
+
+        return sign(builder);
     }
 
     public String generateRefreshToken(UUID userId, UUID sessionId) {
         Instant now = Instant.now();
         Instant expiry = now.plusSeconds(refreshTokenExpirationDays * 24L * 60L * 60L);
 
-        return Jwts.builder()
+        JwtBuilder builder = Jwts.builder()
                 .subject(userId.toString())
                 .claim("sessionId", sessionId.toString())
-                .claim("type", "refresh")
+                .claim("type", VerifiedToken.TYPE_REFRESH)
                 .issuedAt(Date.from(now))
-                .expiration(Date.from(expiry))
-                .signWith(secretKey)
+                .expiration(Date.from(expiry));
+
+        return sign(builder);
+    }
+
+    private String sign(JwtBuilder builder) {
+        if (!keyRing.isAsymmetric()) {
+            return builder.signWith(secretKey).compact();
+        }
+
+        JwtKeyRing.SigningKey signingKey = keyRing.currentSigningKey();
+        return builder
+                .header().keyId(signingKey.kid()).and()
+                .signWith(signingKey.privateKey(), keyRing.getAlgorithm())
                 .compact();
     }
 
+    private Key resolveVerificationKey(JwsHeader header) {
+        String algorithm = header.getAlgorithm();
+
+        if (algorithm != null && algorithm.startsWith("HS")) {
+            if (!keyRing.isAsymmetric() || signingProperties.acceptsLegacyHmacAt(Instant.now())) {
+                return secretKey;
+            }
+            throw new UnsupportedJwtException("HMAC-signed tokens are no longer accepted");
+        }
+
+        if (!keyRing.isAsymmetric()) {
+            throw new UnsupportedJwtException("Unsupported token algorithm: " + algorithm);
+        }
+
+        PublicKey publicKey = keyRing.findVerificationKey(header.getKeyId());
+        if (publicKey == null) {
+            throw new UnsupportedJwtException("Unknown signing key: " + header.getKeyId());
+        }
+        return publicKey;
+    }
+
     public Claims validateToken(String token) {
-        return Jwts.parser()
-                .verifyWith(secretKey)
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+        return parser.parseSignedClaims(token).getPayload();
+    }
+
+    public VerifiedToken verify(String token) {
+        Claims claims = validateToken(token);
+        String sessionId = claims.get("sessionId", String.class);
+        Date expiration = claims.getExpiration();
+
+        return new VerifiedToken(
+                UUID.fromString(claims.getSubject()),
+                sessionId != null ? UUID.fromString(sessionId) : null,
+                claims.get("email", String.class),
+                claims.get("type", String.class),
+                expiration != null ? expiration.toInstant() : null
+        );
     }
 
     public UUID extractUserId(String token) {
@@ -0,0 +1,25 @@
+package com.thatmoment.auth.service;
+
+import com.thatmoment.auth.dto.request.OAuthLoginRequest;
+import com.thatmoment.auth.dto.response.AuthTokenResponse;
+import com.thatmoment.auth.service.oauth.OAuthIdTokenVerifier;
+import com.thatmoment.auth.service.oauth.OAuthIdentity;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+/**
+ * Google and Apple sign-in. The ID token is verified against cached provider keys before any
+ * transaction is opened.
+ */
+@Service
+@RequiredArgsConstructor
+public class OAuthLoginService {
+
+    private final OAuthIdTokenVerifier idTokenVerifier;
+    private final AuthService authService;
+
+    public AuthTokenResponse login(OAuthLoginRequest request, String ipAddress, String userAgent) {
+        OAuthIdentity identity = idTokenVerifier.verify(request.getProvider(), request.getIdToken());
+        return authService.completeOAuthLogin(identity, ipAddress, userAgent);
+    }
+}
@@ -0,0 +1,91 @@
+package com.thatmoment.auth.service;
+
+import com.thatmoment.auth.domain.User;
+import com.thatmoment.auth.domain.enums.AuthMethod;
+import com.thatmoment.auth.dto.request.PasswordLoginRequest;
+import com.thatmoment.auth.dto.request.PasswordRegisterRequest;
+import com.thatmoment.auth.dto.response.AuthTokenResponse;
+import com.thatmoment.auth.dto.response.RegisterResponse;
+import com.thatmoment.auth.repository.UserRepository;
+import com.thatmoment.auth.service.audit.LoginAuditService;
+import com.thatmoment.auth.service.lockout.FailedLoginResult;
+import com.thatmoment.auth.service.lockout.LoginLockoutService;
+import com.thatmoment.auth.service.password.PasswordCheck;
+import com.thatmoment.auth.service.password.PasswordHasher;
+import com.thatmoment.common.constants.AuthMessages;
+import com.thatmoment.common.exception.exceptions.BadRequestException;
+import com.thatmoment.common.exception.exceptions.ConflictException;
+import com.thatmoment.common.exception.exceptions.ForbiddenException;
+import com.thatmoment.common.exception.exceptions.UnauthorizedException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.Optional;
+
+/**
+ * Password registration and login. Hashing runs on the {@link PasswordHasher} pool before
+ * any transaction is opened; only the short writes afterwards go through {@link AuthService}.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PasswordAuthService {
+
+    private final AuthService authService;
+    private final PasswordHasher passwordHasher;
+    private final UserRepository userRepository;
+    private final UserLookupService userLookupService;
+    private final LoginLockoutService loginLockoutService;
+    private final LoginAuditService loginAuditService;
+
+    public RegisterResponse register(PasswordRegisterRequest request) {
+        String email = request.getEmail().trim().toLowerCase();
+
+        // Cheap pre-check so taken emails do not cost a hash; the insert re-checks
+        if (userLookupService.findByEmail(email).isPresent()) {
+            throw new ConflictException(AuthMessages.EMAIL_ALREADY_REGISTERED);
+        }
+
+        String passwordHash = passwordHasher.hash(request.getPassword());
+        return authService.registerWithPasswordHash(email, passwordHash);
+    }
+
+    public AuthTokenResponse login(PasswordLoginRequest request, String ipAddress, String userAgent) {
+        String email = request.getEmail().trim().toLowerCase();
+
+        Optional<User> found = userRepository.findByEmailAndDeletedAtIsNull(email);
+        if (found.isEmpty() || found.get().getPasswordHash() == null) {
+            passwordHasher.verify(request.getPassword(), null);
+            throw new UnauthorizedException(AuthMessages.INVALID_CREDENTIALS);
+        }
+        User user = found.get();
+
+        if (user.isLocked()) {
+            loginAuditService.recordBlocked(user.getId(), AuthMethod.PASSWORD, ipAddress, userAgent, "ACCOUNT_LOCKED");
+            throw new ForbiddenException(AuthMessages.ACCOUNT_LOCKED);
+        }
+
+        PasswordCheck check = passwordHasher.verify(request.getPassword(), user.getPasswordHash());
+        if (!check.matches()) {
+            FailedLoginResult failure = loginLockoutService.recordFailure(user.getId());
+            if (failure.lockTriggered()) {
+                userLookupService.evict(email);
+            }
+            loginAuditService.recordFailure(user.getId(), AuthMethod.PASSWORD, ipAddress, userAgent, "INVALID_PASSWORD");
+            throw new UnauthorizedException(AuthMessages.INVALID_CREDENTIALS);
+        }
+
+        if (!Boolean.TRUE.equals(user.getIsVerified())) {
+            throw new BadRequestException(AuthMessages.EMAIL_NOT_VERIFIED);
+        }
+        if (!Boolean.TRUE.equals(user.getIsActive())) {
+            throw new ForbiddenException(AuthMessages.ACCOUNT_SUSPENDED);
+        }
+
+        if (check.needsRehash()) {
+            log.info("Upgrading password hash cost for user: {}", user.getId());
+        }
+        return authService.completePasswordLogin(user.getId(), check.upgradedHash(), ipAddress, userAgent);
+    }
+}
@@ -0,0 +1,215 @@
+package com.thatmoment.auth.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.thatmoment.auth.dto.response.AuthTokenResponse;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Cipher;
+import javax.crypto.Mac;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Makes concurrent refreshes of one token return the same rotation. Within a node callers share
+ * an in-flight future; across nodes the winner publishes its result to Redis for the grace window.
+ * The published result is sealed with AES-GCM under a key derived from the presented refresh
+ * token, so reading Redis alone does not yield usable tokens.
+ */
+@Component
+public class RefreshCoalescer {
+
+    private static final Logger log = LoggerFactory.getLogger(RefreshCoalescer.class);
+
+    private static final String RESULT_KEY_PREFIX = "refresh:result:";
+    private static final long POLL_INTERVAL_MS = 25;
+    private static final byte[] HKDF_SALT = "thatmoment:refresh-result:v1".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] HKDF_INFO = "aes-256-gcm".getBytes(StandardCharsets.UTF_8);
+    private static final int GCM_IV_BYTES = 12;
+    private static final int GCM_TAG_BITS = 128;
+
+    private final StringRedisTemplate redisTemplate;
+    private final Map<String, CompletableFuture<AuthTokenResponse>> inFlight = new ConcurrentHashMap<>();
+    private final SecureRandom secureRandom = new SecureRandom();
+
+    @Value("${app.refresh.grace-window:10s}")
+    private Duration graceWindow;
+
+    @Value("${app.refresh.shared-result-wait:2s}")
+    private Duration sharedResultWait;
+
+    private Cache<String, AuthTokenResponse> recentResults;
+
+    public RefreshCoalescer(StringRedisTemplate redisTemplate) {
+        this.redisTemplate = redisTemplate;
+    }
+
+    @PostConstruct
+    public void init() {
+        this.recentResults = Caffeine.newBuilder()
+                .expireAfterWrite(graceWindow)
+                .maximumSize(100_000)
+                .build();
+    }
+
+    public AuthTokenResponse refresh(String refreshToken, Supplier<AuthTokenResponse> rotation) {
+        String tokenHash = TokenHashUtil.hash(refreshToken);
+        AuthTokenResponse recent = recentResults.getIfPresent(tokenHash);
+        if (recent != null) {
+            return recent;
+        }
+
+        CompletableFuture<AuthTokenResponse> flight = new CompletableFuture<>();
+        CompletableFuture<AuthTokenResponse> existing = inFlight.putIfAbsent(tokenHash, flight);
+        if (existing != null) {
+            return await(existing);
+        }
+
+        try {
+            AuthTokenResponse result = findSharedResult(refreshToken, tokenHash);
+            if (result == null) {
+                try {
+                    result = rotation.get();
+                    shareResult(refreshToken, tokenHash, result);
+                } catch (RefreshTokenRecentlyRotatedException e) {
+                    // Another node rotated this token moments ago; wait for the result it publishes
+                    result = awaitSharedResult(refreshToken, tokenHash, e);
+                }
+            }
+            recentResults.put(tokenHash, result);
+            flight.complete(result);
+            return result;
+        } catch (RuntimeException e) {
+            flight.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(tokenHash, flight);
+        }
+    }
+
+    private AuthTokenResponse await(CompletableFuture<AuthTokenResponse> flight) {
+        try {
+            return flight.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private AuthTokenResponse awaitSharedResult(String refreshToken, String tokenHash, RefreshTokenRecentlyRotatedException notFound) {
+        long deadline = System.currentTimeMillis() + sharedResultWait.toMillis();
+        while (System.currentTimeMillis() < deadline) {
+            try {
+                Thread.sleep(POLL_INTERVAL_MS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+            AuthTokenResponse result = findSharedResult(refreshToken, tokenHash);
+            if (result != null) {
+                return result;
+            }
+        }
+        throw notFound;
+    }
+
+    private AuthTokenResponse findSharedResult(String refreshToken, String tokenHash) {
+        try {
+            String value = redisTemplate.opsForValue().get(RESULT_KEY_PREFIX + tokenHash);
+            return value != null ? decode(open(refreshToken, tokenHash, value)) : null;
+        } catch (RuntimeException | GeneralSecurityException e) {
+            log.debug("Could not read shared refresh result: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private void shareResult(String refreshToken, String tokenHash, AuthTokenResponse result) {
+        try {
+            redisTemplate.opsForValue().set(RESULT_KEY_PREFIX + tokenHash, seal(refreshToken, tokenHash, encode(result)), graceWindow);
+        } catch (RuntimeException | GeneralSecurityException e) {
+            log.warn("Could not share refresh result: {}", e.getMessage());
+        }
+    }
+
+    // The Redis key is bound in as associated data so a sealed result cannot be replayed under another key
+    private String seal(String refreshToken, String tokenHash, String plaintext) throws GeneralSecurityException {
+        byte[] iv = new byte[GCM_IV_BYTES];
+        secureRandom.nextBytes(iv);
+        Cipher cipher = Cipher.getInstance("AES/GCM/NoPadding");
+        cipher.init(Cipher.ENCRYPT_MODE, resultKey(refreshToken), new GCMParameterSpec(GCM_TAG_BITS, iv));
+        cipher.updateAAD(tokenHash.getBytes(StandardCharsets.UTF_8));
+        byte[] ciphertext = cipher.doFinal(plaintext.getBytes(StandardCharsets.UTF_8));
+        return Base64.getEncoder().encodeToString(ByteBuffer.allocate(iv.length + ciphertext.length)
+                .put(iv)
+                .put(ciphertext)
+                .array());
+    }
+
+    private static String open(String refreshToken, String tokenHash, String sealed) throws GeneralSecurityException {
+        byte[] bytes = Base64.getDecoder().decode(sealed);
+        if (bytes.length <= GCM_IV_BYTES) {
+            throw new GeneralSecurityException("Sealed refresh result is truncated");
+        }
+        Cipher cipher = Cipher.getInstance("AES/GCM/NoPadding");
+        cipher.init(Cipher.DECRYPT_MODE, resultKey(refreshToken), new GCMParameterSpec(GCM_TAG_BITS, bytes, 0, GCM_IV_BYTES));
+        cipher.updateAAD(tokenHash.getBytes(StandardCharsets.UTF_8));
+        return new String(cipher.doFinal(bytes, GCM_IV_BYTES, bytes.length - GCM_IV_BYTES), StandardCharsets.UTF_8);
+    }
+
+    // HKDF-SHA256 (RFC 5869) with a single expand block, which is exactly the 32 bytes AES-256 needs
+    private static SecretKeySpec resultKey(String refreshToken) throws GeneralSecurityException {
+        Mac mac = Mac.getInstance("HmacSHA256");
+        mac.init(new SecretKeySpec(HKDF_SALT, "HmacSHA256"));
+        byte[] pseudoRandomKey = mac.doFinal(refreshToken.getBytes(StandardCharsets.UTF_8));
+
+        mac.init(new SecretKeySpec(pseudoRandomKey, "HmacSHA256"));
+        mac.update(HKDF_INFO);
+        mac.update((byte) 1);
+        return new SecretKeySpec(mac.doFinal(), "AES");
+    }
+
+    private static String encode(AuthTokenResponse response) {
+        return String.join("\n",
+                response.getAccessToken(),
+                response.getRefreshToken(),
+                String.valueOf(response.getExpiresIn()),
+                response.getUserId().toString(),
+                response.getEmail(),
+                response.getSessionId().toString()
+        );
+    }
+
+    private static AuthTokenResponse decode(String value) {
+        String[] parts = value.split("\n", -1);
+        if (parts.length != 6) {
+            return null;
+        }
+        return AuthTokenResponse.of(
+                parts[0],
+                parts[1],
+                Long.parseLong(parts[2]),
+                UUID.fromString(parts[3]),
+                parts[4],
+                UUID.fromString(parts[5])
+        );
+    }
+}
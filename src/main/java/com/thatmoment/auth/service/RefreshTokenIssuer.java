@@ -0,0 +1,60 @@
+package com.thatmoment.auth.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Issues refresh tokens in the configured format. Opaque tokens are 256 random bits behind a
+ * {@value #OPAQUE_PREFIX} prefix; they carry no claims and are only ever looked up by hash, so
+ * issuing and redeeming them skips signing and signature verification entirely.
+ */
+@Component
+public class RefreshTokenIssuer {
+
+    public static final String OPAQUE_PREFIX = "tmrt_";
+
+    private static final int OPAQUE_BYTES = 32;
+    private static final int OPAQUE_LENGTH = OPAQUE_PREFIX.length() + 43;
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+
+    private final JwtService jwtService;
+    private final SecureRandom secureRandom = new SecureRandom();
+
+    @Value("${jwt.refresh-tokens.format:opaque}")
+    private String format;
+
+    @Value("${jwt.refresh-tokens.accept-legacy-jwt:true}")
+    private boolean acceptLegacyJwt;
+
+    public RefreshTokenIssuer(JwtService jwtService) {
+        this.jwtService = jwtService;
+    }
+
+    /**
+     * @param userId    owner of the session, may be null when rotating an opaque token
+     * @param sessionId session the token belongs to, may be null when rotating an opaque token
+     */
+    public String issue(UUID userId, UUID sessionId) {
+        if ("jwt".equalsIgnoreCase(format) && userId != null && sessionId != null) {
+            return jwtService.generateRefreshToken(userId, sessionId);
+        }
+        byte[] bytes = new byte[OPAQUE_BYTES];
+        secureRandom.nextBytes(bytes);
+        return OPAQUE_PREFIX + ENCODER.encodeToString(bytes);
+    }
+
+    public boolean isOpaque(String token) {
+        return token.length() == OPAQUE_LENGTH && token.startsWith(OPAQUE_PREFIX);
+    }
+
+    /**
+     * Whether JWT refresh tokens issued before the switch to opaque tokens are still redeemed.
+     */
+    public boolean acceptsLegacyJwt() {
+        return acceptLegacyJwt || "jwt".equalsIgnoreCase(format);
+    }
+}
@@ -0,0 +1,11 @@
+package com.thatmoment.auth.service;
+
+import com.thatmoment.common.constants.AuthMessages;
+import com.thatmoment.common.exception.exceptions.UnauthorizedException;
+
+public class RefreshTokenRecentlyRotatedException extends UnauthorizedException {
+
+    public RefreshTokenRecentlyRotatedException() {
+        super(AuthMessages.INVALID_REFRESH_TOKEN);
+    }
+}
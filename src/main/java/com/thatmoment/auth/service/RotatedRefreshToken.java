@@ -0,0 +1,11 @@
+package com.thatmoment.auth.service;
+
+import java.util.UUID;
+
+public record RotatedRefreshToken(
+        String refreshToken,
+        UUID userId,
+        UUID sessionId,
+        String email
+) {
+}
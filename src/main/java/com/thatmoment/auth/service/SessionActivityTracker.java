@@ -0,0 +1,126 @@
+package com.thatmoment.auth.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Component
+public class SessionActivityTracker {
+
+    private static final Logger log = LoggerFactory.getLogger(SessionActivityTracker.class);
+
+    private static final String UPDATE_PREFIX = "UPDATE auth.sessions s "
+            + "SET last_activity_at = v.ts "
+            + "FROM (VALUES ";
+    private static final String UPDATE_SUFFIX = ") AS v(id, ts) "
+            + "WHERE s.id = v.id "
+            + "AND (s.last_activity_at IS NULL OR s.last_activity_at < v.ts)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final MeterRegistry meterRegistry;
+    private final Map<UUID, Long> pending = new ConcurrentHashMap<>();
+
+    private final Counter touches;
+    private final Counter flushedRows;
+    private final Timer flushTimer;
+
+    @Value("${app.session-activity.batch-size:1000}")
+    private int batchSize;
+
+    public SessionActivityTracker(JdbcTemplate jdbcTemplate, MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.meterRegistry = meterRegistry;
+        this.touches = meterRegistry.counter("session.activity.touches");
+        this.flushedRows = meterRegistry.counter("session.activity.flushed");
+        this.flushTimer = meterRegistry.timer("session.activity.flush");
+    }
+
+    @PostConstruct
+    void registerGauges() {
+        Gauge.builder("session.activity.pending", pending, Map::size)
+                .register(meterRegistry);
+        Gauge.builder("session.activity.coalescing.ratio", this, SessionActivityTracker::coalescingRatio)
+                .register(meterRegistry);
+    }
+
+    public void touch(UUID sessionId) {
+        if (sessionId == null) {
+            return;
+        }
+        pending.merge(sessionId, System.currentTimeMillis(), Math::max);
+        touches.increment();
+    }
+
+    @Scheduled(fixedDelayString = "${app.session-activity.flush-interval-ms:5000}")
+    public void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        List<Object[]> batch = new ArrayList<>(Math.min(pending.size(), batchSize));
+        Iterator<Map.Entry<UUID, Long>> iterator = pending.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<UUID, Long> entry = iterator.next();
+            // Only drain the value we read; a newer touch racing with us stays for the next flush
+            if (pending.remove(entry.getKey(), entry.getValue())) {
+                batch.add(new Object[]{entry.getKey(), new Timestamp(entry.getValue())});
+            }
+            if (batch.size() >= batchSize) {
+                write(batch);
+                batch = new ArrayList<>(batchSize);
+            }
+        }
+        if (!batch.isEmpty()) {
+            write(batch);
+        }
+    }
+
+    @PreDestroy
+    public void drain() {
+        flush();
+    }
+
+    private void write(List<Object[]> batch) {
+        StringBuilder sql = new StringBuilder(UPDATE_PREFIX.length() + UPDATE_SUFFIX.length() + batch.size() * 24)
+                .append(UPDATE_PREFIX);
+        Object[] args = new Object[batch.size() * 2];
+        for (int i = 0; i < batch.size(); i++) {
+            sql.append(i == 0 ? "" : ", ").append("(CAST(? AS uuid), CAST(? AS timestamp))");
+            args[i * 2] = batch.get(i)[0];
+            args[i * 2 + 1] = batch.get(i)[1];
+        }
+        sql.append(UPDATE_SUFFIX);
+
+        try {
+            flushTimer.record(() -> jdbcTemplate.update(sql.toString(), args));
+            flushedRows.increment(batch.size());
+        } catch (RuntimeException e) {
+            log.warn("Failed to flush {} session activity updates: {}", batch.size(), e.getMessage());
+            for (Object[] row : batch) {
+                pending.merge((UUID) row[0], ((Timestamp) row[1]).getTime(), Math::max);
+            }
+        }
+    }
+
+    private double coalescingRatio() {
+        double flushed = flushedRows.count();
+        return flushed == 0 ? 0 : touches.count() / flushed;
+    }
+}
@@ -2,16 +2,23 @@ package com.thatmoment.auth.service;
 
 import com.thatmoment.auth.domain.RefreshToken;
 import com.thatmoment.auth.domain.Session;
+import com.thatmoment.auth.event.SessionsRevokedEvent;
 import com.thatmoment.auth.repository.RefreshTokenRepository;
+import com.thatmoment.auth.repository.RefreshTokenRotation;
 import com.thatmoment.auth.repository.SessionRepository;
+import com.thatmoment.auth.repository.UserRepository;
 import com.thatmoment.common.constants.AuthMessages;
+import com.thatmoment.common.entity.id.UuidV7;
 import com.thatmoment.common.exception.exceptions.NotFoundException;
 import com.thatmoment.common.exception.exceptions.UnauthorizedException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
 import java.time.Instant;
 import java.util.List;
 import java.util.UUID;
@@ -23,16 +30,28 @@ public class SessionService {
 
     private final SessionRepository sessionRepository;
     private final RefreshTokenRepository refreshTokenRepository;
+    private final UserRepository userRepository;
     private final JwtService jwtService;
+    private final RefreshTokenIssuer refreshTokenIssuer;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${app.refresh.grace-window:10s}")
+    private Duration refreshGraceWindow;
 
     public SessionService(
             SessionRepository sessionRepository,
             RefreshTokenRepository refreshTokenRepository,
-            JwtService jwtService
+            UserRepository userRepository,
+            JwtService jwtService,
+            RefreshTokenIssuer refreshTokenIssuer,
+            ApplicationEventPublisher eventPublisher
     ) {
         this.sessionRepository = sessionRepository;
         this.refreshTokenRepository = refreshTokenRepository;
+        this.userRepository = userRepository;
         this.jwtService = jwtService;
+        this.refreshTokenIssuer = refreshTokenIssuer;
+        this.eventPublisher = eventPublisher;
     }
 
     @Transactional
@@ -54,7 +73,7 @@ public class SessionService {
 
     @Transactional
     public String createRefreshToken(UUID userId, UUID sessionId) {
-        String refreshToken = jwtService.generateRefreshToken(userId, sessionId);
+        String refreshToken = refreshTokenIssuer.issue(userId, sessionId);
         String tokenHash = TokenHashUtil.hash(refreshToken);
 
         RefreshToken tokenEntity = RefreshToken.builder()
@@ -70,47 +89,68 @@ public class SessionService {
         return refreshToken;
     }
 
-    @Transactional
-    public RefreshToken validateRefreshToken(String refreshToken) {
+    /**
+     * Consumes {@code refreshToken} and issues its successor. {@code userId} and {@code sessionId}
+     * come from the claims of a JWT refresh token and are null for opaque tokens, which are
+     * resolved by hash alone.
+     */
+    @Transactional(noRollbackFor = UnauthorizedException.class)
+    public RotatedRefreshToken rotateRefreshToken(String refreshToken, UUID userId, UUID sessionId) {
         String tokenHash = TokenHashUtil.hash(refreshToken);
+        String newRefreshToken = refreshTokenIssuer.issue(userId, sessionId);
+        Instant now = Instant.now();
+
+        RefreshTokenRotation rotation = refreshTokenRepository.rotate(
+                tokenHash,
+                userId,
+                UuidV7.generate(),
+                TokenHashUtil.hash(newRefreshToken),
+                now.plusSeconds(jwtService.getRefreshTokenExpirationSeconds()),
+                now
+        ).orElseThrow(() -> rotationFailure(tokenHash, userId));
+
+        log.debug("Refresh token rotated for session: {}", rotation.getSessionId());
+        return new RotatedRefreshToken(newRefreshToken, rotation.getUserId(), rotation.getSessionId(), rotation.getEmail());
+    }
 
-        RefreshToken tokenEntity = refreshTokenRepository.findByTokenHashAndIsActiveTrue(tokenHash)
-                .orElseThrow(() -> new UnauthorizedException(AuthMessages.INVALID_REFRESH_TOKEN));
+    private UnauthorizedException rotationFailure(String tokenHash, UUID userId) {
+        RefreshToken tokenEntity = refreshTokenRepository.findByTokenHash(tokenHash).orElse(null);
 
-        if (tokenEntity.isExpired()) {
-            throw new UnauthorizedException(AuthMessages.REFRESH_TOKEN_EXPIRED);
+        if (tokenEntity == null) {
+            return new UnauthorizedException(AuthMessages.INVALID_REFRESH_TOKEN);
+        }
+
+        if (tokenEntity.getUsedAt() != null
+                && tokenEntity.getUsedAt().isAfter(Instant.now().minus(refreshGraceWindow))) {
+            // Concurrent refresh from the same device, not a replay
+            return new RefreshTokenRecentlyRotatedException();
         }
 
         if (tokenEntity.getUsedAt() != null) {
             log.warn("Refresh token reuse detected for session: {}", tokenEntity.getSessionId());
             revokeAllSessionsBySessionId(tokenEntity.getSessionId(), AuthMessages.TOKEN_REUSE_DETECTED);
-            throw new UnauthorizedException(AuthMessages.TOKEN_REUSE_DETECTED);
+            return new UnauthorizedException(AuthMessages.TOKEN_REUSE_DETECTED);
         }
 
-        return tokenEntity;
-    }
-
-    @Transactional
-    public String rotateRefreshToken(RefreshToken oldToken, UUID userId) {
-        oldToken.markAsUsed();
-        refreshTokenRepository.save(oldToken);
+        if (!Boolean.TRUE.equals(tokenEntity.getIsActive())) {
+            return new UnauthorizedException(AuthMessages.INVALID_REFRESH_TOKEN);
+        }
 
-        return createRefreshToken(userId, oldToken.getSessionId());
-    }
+        if (tokenEntity.isExpired()) {
+            return new UnauthorizedException(AuthMessages.REFRESH_TOKEN_EXPIRED);
+        }
 
-    @Transactional(readOnly = true)
-    public Session getValidSession(UUID sessionId, UUID userId) {
-        return sessionRepository.findByIdAndUserIdAndIsActiveTrue(sessionId, userId)
-                .orElseThrow(() -> new UnauthorizedException(AuthMessages.SESSION_NOT_FOUND_OR_EXPIRED));
-    }
+        UUID ownerId = userId != null
+                ? userId
+                : sessionRepository.findById(tokenEntity.getSessionId()).map(Session::getUserId).orElse(null);
+        boolean userActive = ownerId != null && userRepository.findById(ownerId)
+                .map(user -> Boolean.TRUE.equals(user.getIsActive()) && !user.isDeleted())
+                .orElse(false);
+        if (!userActive) {
+            return new UnauthorizedException(AuthMessages.ACCOUNT_SUSPENDED);
+        }
 
-    @Transactional
-    public void updateSessionActivity(UUID sessionId) {
-        sessionRepository.findById(sessionId)
-                .ifPresent(session -> {
-                    session.updateActivity();
-                    sessionRepository.save(session);
-                });
+        return new UnauthorizedException(AuthMessages.SESSION_NOT_FOUND_OR_EXPIRED);
     }
 
     @Transactional
@@ -122,6 +162,7 @@ public class SessionService {
         sessionRepository.save(session);
 
         refreshTokenRepository.revokeAllBySessionId(sessionId);
+        eventPublisher.publishEvent(new SessionsRevokedEvent(List.of(sessionId)));
 
         log.info("Session revoked: {} reason: {}", sessionId, reason);
     }
@@ -136,8 +177,10 @@ public class SessionService {
 
     @Transactional
     public void revokeAllUserSessions(UUID userId, String reason) {
+        List<UUID> sessionIds = sessionRepository.findActiveSessionIdsByUserId(userId);
         sessionRepository.revokeAllByUserId(userId, reason, Instant.now());
         refreshTokenRepository.revokeAllByUserId(userId);
+        eventPublisher.publishEvent(new SessionsRevokedEvent(sessionIds));
         log.info("All sessions revoked for user: {} reason: {}", userId, reason);
     }
 
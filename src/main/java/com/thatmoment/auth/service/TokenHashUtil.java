@@ -11,10 +11,13 @@ public final class TokenHashUtil {
     }
 
     public static String hash(String token) {
+        return HexFormat.of().formatHex(digest(token));
+    }
+
+    public static byte[] digest(String token) {
         try {
             MessageDigest digest = MessageDigest.getInstance("SHA-256");
-            byte[] hashBytes = digest.digest(token.getBytes(StandardCharsets.UTF_8));
-            return HexFormat.of().formatHex(hashBytes);
+            return digest.digest(token.getBytes(StandardCharsets.UTF_8));
         } catch (NoSuchAlgorithmException e) {
             throw new RuntimeException("SHA-256 not available", e);
         }
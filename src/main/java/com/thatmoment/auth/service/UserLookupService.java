@@ -0,0 +1,34 @@
+package com.thatmoment.auth.service;
+
+import com.thatmoment.auth.repository.UserRepository;
+import com.thatmoment.common.cache.TwoTierCache;
+import com.thatmoment.common.cache.TwoTierCacheManager;
+import org.springframework.stereotype.Service;
+
+import java.util.Optional;
+
+/**
+ * Cached email lookups for the read-only auth paths. Anything that changes a user's
+ * verification, activation or lock state must call {@link #evict(String)}.
+ */
+@Service
+public class UserLookupService {
+
+    static final String CACHE_NAME = "users-by-email";
+
+    private final UserRepository userRepository;
+    private final TwoTierCache<CachedUser> cache;
+
+    public UserLookupService(UserRepository userRepository, TwoTierCacheManager cacheManager) {
+        this.userRepository = userRepository;
+        this.cache = cacheManager.create(CACHE_NAME, CachedUser.class);
+    }
+
+    public Optional<CachedUser> findByEmail(String email) {
+        return cache.get(email, () -> userRepository.findByEmailAndDeletedAtIsNull(email).map(CachedUser::from));
+    }
+
+    public void evict(String email) {
+        cache.evictAfterCommit(email);
+    }
+}
@@ -0,0 +1,24 @@
+package com.thatmoment.auth.service;
+
+import java.time.Instant;
+import java.util.UUID;
+
+public record VerifiedToken(
+        UUID userId,
+        UUID sessionId,
+        String email,
+        String type,
+        Instant expiresAt
+) {
+
+    public static final String TYPE_ACCESS = "access";
+    public static final String TYPE_REFRESH = "refresh";
+
+    public boolean isAccessToken() {
+        return TYPE_ACCESS.equals(type);
+    }
+
+    public boolean isRefreshToken() {
+        return TYPE_REFRESH.equals(type);
+    }
+}
@@ -0,0 +1,18 @@
+package com.thatmoment.auth.service.audit;
+
+import com.thatmoment.auth.domain.enums.AuthMethod;
+import com.thatmoment.auth.domain.enums.LoginStatus;
+
+import java.time.Instant;
+import java.util.UUID;
+
+public record LoginAuditEvent(
+        UUID userId,
+        Instant loginAt,
+        AuthMethod authMethod,
+        String ipAddress,
+        String userAgent,
+        LoginStatus status,
+        String failureReason
+) {
+}
@@ -0,0 +1,66 @@
+package com.thatmoment.auth.service.audit;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Bounded multi-producer / single-consumer ring buffer. Producers claim a slot with a CAS on
+ * the tail sequence and never block; when the buffer is full {@link #offer} returns false.
+ */
+class LoginAuditRingBuffer {
+
+    private final AtomicReferenceArray<LoginAuditEvent> slots;
+    private final int mask;
+    private final AtomicLong head = new AtomicLong();
+    private final AtomicLong tail = new AtomicLong();
+
+    LoginAuditRingBuffer(int requestedCapacity) {
+        int capacity = Integer.highestOneBit(Math.max(2, requestedCapacity - 1)) << 1;
+        this.slots = new AtomicReferenceArray<>(capacity);
+        this.mask = capacity - 1;
+    }
+
+    boolean offer(LoginAuditEvent event) {
+        while (true) {
+            long t = tail.get();
+            if (t - head.get() > mask) {
+                return false;
+            }
+            if (tail.compareAndSet(t, t + 1)) {
+                slots.lazySet((int) (t & mask), event);
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Moves up to {@code max} events into {@code target}. Must only be called from the consumer thread.
+     */
+    int drainTo(List<LoginAuditEvent> target, int max) {
+        long h = head.get();
+        int drained = 0;
+        while (drained < max) {
+            int index = (int) (h & mask);
+            LoginAuditEvent event = slots.get(index);
+            if (event == null) {
+                // Either empty or a producer has claimed the slot but not published yet
+                break;
+            }
+            slots.lazySet(index, null);
+            target.add(event);
+            h++;
+            drained++;
+        }
+        head.lazySet(h);
+        return drained;
+    }
+
+    int size() {
+        return (int) Math.max(0, tail.get() - head.get());
+    }
+
+    int capacity() {
+        return mask + 1;
+    }
+}
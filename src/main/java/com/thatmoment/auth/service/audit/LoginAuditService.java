@@ -0,0 +1,192 @@
+package com.thatmoment.auth.service.audit;
+
+import com.thatmoment.auth.domain.enums.AuthMethod;
+import com.thatmoment.auth.domain.enums.LoginStatus;
+import com.thatmoment.common.entity.id.UuidV7;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.regex.Pattern;
+
+/**
+ * Write-behind audit trail for {@code auth.login_history}. The login path only enqueues an event;
+ * a single background writer drains the buffer and persists it with JDBC batch inserts.
+ */
+@Service
+public class LoginAuditService {
+
+    private static final Logger log = LoggerFactory.getLogger(LoginAuditService.class);
+
+    private static final String INSERT_SQL = "INSERT INTO auth.login_history "
+            + "(id, user_id, login_at, auth_method, ip_address, user_agent, status, failure_reason) "
+            + "VALUES (?, ?, ?, ?, CAST(? AS inet), ?, ?, ?)";
+
+    private static final Pattern IP_LITERAL = Pattern.compile("[0-9A-Fa-f:.]{2,45}");
+    private static final int MAX_USER_AGENT_LENGTH = 1024;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.login-audit.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.login-audit.buffer-size:8192}")
+    private int bufferSize;
+
+    @Value("${app.login-audit.batch-size:500}")
+    private int batchSize;
+
+    @Value("${app.login-audit.flush-interval-ms:1000}")
+    private long flushIntervalMs;
+
+    private LoginAuditRingBuffer buffer;
+    private Thread writer;
+    private volatile boolean running;
+
+    private Counter recorded;
+    private Counter dropped;
+    private Counter writeFailures;
+    private Timer flushTimer;
+
+    public LoginAuditService(JdbcTemplate jdbcTemplate, MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @PostConstruct
+    void start() {
+        if (!enabled) {
+            return;
+        }
+        buffer = new LoginAuditRingBuffer(bufferSize);
+        recorded = meterRegistry.counter("login.audit.recorded");
+        dropped = meterRegistry.counter("login.audit.dropped");
+        writeFailures = meterRegistry.counter("login.audit.write.failed");
+        flushTimer = meterRegistry.timer("login.audit.flush");
+        Gauge.builder("login.audit.buffer.size", buffer, LoginAuditRingBuffer::size)
+                .register(meterRegistry);
+
+        running = true;
+        writer = Thread.ofPlatform()
+                .name("login-audit-writer")
+                .daemon(true)
+                .start(this::runWriter);
+    }
+
+    @PreDestroy
+    void stop() {
+        if (writer == null) {
+            return;
+        }
+        running = false;
+        LockSupport.unpark(writer);
+        try {
+            writer.join(TimeUnit.SECONDS.toMillis(10));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    public void recordSuccess(UUID userId, AuthMethod authMethod, String ipAddress, String userAgent) {
+        record(userId, authMethod, ipAddress, userAgent, LoginStatus.SUCCESS, null);
+    }
+
+    public void recordFailure(UUID userId, AuthMethod authMethod, String ipAddress, String userAgent, String reason) {
+        record(userId, authMethod, ipAddress, userAgent, LoginStatus.FAILED, reason);
+    }
+
+    public void recordBlocked(UUID userId, AuthMethod authMethod, String ipAddress, String userAgent, String reason) {
+        record(userId, authMethod, ipAddress, userAgent, LoginStatus.BLOCKED, reason);
+    }
+
+    private void record(
+            UUID userId,
+            AuthMethod authMethod,
+            String ipAddress,
+            String userAgent,
+            LoginStatus status,
+            String failureReason
+    ) {
+        if (!enabled || userId == null) {
+            return;
+        }
+        LoginAuditEvent event = new LoginAuditEvent(
+                userId, Instant.now(), authMethod, ipAddress, userAgent, status, failureReason
+        );
+        if (!buffer.offer(event)) {
+            // Never block a login on the audit trail; shed the event and count it instead
+            dropped.increment();
+            return;
+        }
+        recorded.increment();
+        if (buffer.size() >= batchSize) {
+            LockSupport.unpark(writer);
+        }
+    }
+
+    private void runWriter() {
+        List<LoginAuditEvent> batch = new ArrayList<>(batchSize);
+        while (running) {
+            if (buffer.drainTo(batch, batchSize) == 0) {
+                LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(flushIntervalMs));
+                continue;
+            }
+            write(batch);
+            batch.clear();
+        }
+        while (buffer.drainTo(batch, batchSize) > 0) {
+            write(batch);
+            batch.clear();
+        }
+    }
+
+    private void write(List<LoginAuditEvent> batch) {
+        List<Object[]> rows = new ArrayList<>(batch.size());
+        for (LoginAuditEvent event : batch) {
+            rows.add(new Object[]{
+                    UuidV7.generate(),
+                    event.userId(),
+                    Timestamp.from(event.loginAt()),
+                    event.authMethod() == null ? null : event.authMethod().name(),
+                    sanitizeIp(event.ipAddress()),
+                    truncate(event.userAgent()),
+                    event.status().name().toLowerCase(),
+                    event.failureReason()
+            });
+        }
+        try {
+            flushTimer.record(() -> jdbcTemplate.batchUpdate(INSERT_SQL, rows));
+        } catch (RuntimeException e) {
+            writeFailures.increment(batch.size());
+            log.warn("Failed to write {} login audit events: {}", batch.size(), e.getMessage());
+        }
+    }
+
+    private static String sanitizeIp(String ipAddress) {
+        // A single unparsable address would fail the CAST and with it the whole batch
+        return ipAddress != null && IP_LITERAL.matcher(ipAddress).matches() ? ipAddress : null;
+    }
+
+    private static String truncate(String userAgent) {
+        if (userAgent == null || userAgent.length() <= MAX_USER_AGENT_LENGTH) {
+            return userAgent;
+        }
+        return userAgent.substring(0, MAX_USER_AGENT_LENGTH);
+    }
+}
@@ -0,0 +1,18 @@
+package com.thatmoment.auth.service.lockout;
+
+import java.time.Instant;
+
+public record FailedLoginResult(int attempts, Instant lockedUntil, boolean lockTriggered) {
+
+    static FailedLoginResult of(long attempts, long lockedUntilMillis, boolean lockTriggered) {
+        return new FailedLoginResult(
+                (int) attempts,
+                lockedUntilMillis > 0 ? Instant.ofEpochMilli(lockedUntilMillis) : null,
+                lockTriggered
+        );
+    }
+
+    public boolean isLocked() {
+        return lockedUntil != null && Instant.now().isBefore(lockedUntil);
+    }
+}
@@ -0,0 +1,60 @@
+package com.thatmoment.auth.service.lockout;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.thatmoment.auth.config.LoginLockoutProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.UUID;
+
+@Component
+class LocalFailedLoginStore {
+
+    private final Cache<UUID, Window> windows;
+
+    LocalFailedLoginStore(LoginLockoutProperties properties) {
+        this.windows = Caffeine.newBuilder()
+                .maximumSize(properties.localMaxUsers())
+                .expireAfterAccess(properties.window().plus(properties.lockDuration()))
+                .build();
+    }
+
+    FailedLoginResult recordFailure(UUID userId, int maxAttempts, long windowMillis, long lockMillis) {
+        FailedLoginResult[] result = new FailedLoginResult[1];
+        // compute runs under the map's per-key lock, so concurrent failures for one user are serialized
+        windows.asMap().compute(userId, (id, window) -> {
+            Window current = window != null ? window : new Window();
+            result[0] = current.recordFailure(System.currentTimeMillis(), maxAttempts, windowMillis, lockMillis);
+            return current;
+        });
+        return result[0];
+    }
+
+    void reset(UUID userId) {
+        windows.invalidate(userId);
+    }
+
+    private static final class Window {
+
+        private final ArrayDeque<Long> failures = new ArrayDeque<>();
+        private long lockedUntil;
+
+        FailedLoginResult recordFailure(long now, int maxAttempts, long windowMillis, long lockMillis) {
+            if (lockedUntil > now) {
+                return FailedLoginResult.of(maxAttempts, lockedUntil, false);
+            }
+            while (!failures.isEmpty() && failures.peekFirst() <= now - windowMillis) {
+                failures.pollFirst();
+            }
+            failures.addLast(now);
+            int attempts = failures.size();
+            if (attempts >= maxAttempts) {
+                lockedUntil = now + lockMillis;
+                failures.clear();
+                return FailedLoginResult.of(attempts, lockedUntil, true);
+            }
+            return FailedLoginResult.of(attempts, 0, false);
+        }
+    }
+}
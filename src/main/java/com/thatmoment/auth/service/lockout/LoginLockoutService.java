@@ -0,0 +1,90 @@
+package com.thatmoment.auth.service.lockout;
+
+import com.thatmoment.auth.config.LoginLockoutProperties;
+import com.thatmoment.auth.repository.UserRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+
+import java.util.UUID;
+
+/**
+ * Tracks failed login attempts in a sliding window outside the users table.
+ * The row is only written when a failure actually locks the account, so bursts of
+ * wrong codes no longer serialize on the user row.
+ */
+@Service
+public class LoginLockoutService {
+
+    private static final Logger log = LoggerFactory.getLogger(LoginLockoutService.class);
+
+    private final LoginLockoutProperties properties;
+    private final RedisFailedLoginStore redisStore;
+    private final LocalFailedLoginStore localStore;
+    private final UserRepository userRepository;
+    private final Counter failures;
+    private final Counter locks;
+    private final Counter fallbacks;
+
+    private volatile long redisRetryAt;
+
+    public LoginLockoutService(
+            LoginLockoutProperties properties,
+            RedisFailedLoginStore redisStore,
+            LocalFailedLoginStore localStore,
+            UserRepository userRepository,
+            MeterRegistry meterRegistry
+    ) {
+        this.properties = properties;
+        this.redisStore = redisStore;
+        this.localStore = localStore;
+        this.userRepository = userRepository;
+        this.failures = Counter.builder("login.lockout.failures").register(meterRegistry);
+        this.locks = Counter.builder("login.lockout.locks").register(meterRegistry);
+        this.fallbacks = Counter.builder("login.lockout.fallback").register(meterRegistry);
+    }
+
+    public FailedLoginResult recordFailure(UUID userId) {
+        failures.increment();
+        FailedLoginResult result = record(userId);
+        if (result.lockTriggered()) {
+            locks.increment();
+            // Runs in its own transaction: the caller rolls back when it rejects the code
+            userRepository.lockUser(userId, result.attempts(), result.lockedUntil());
+            log.info("Account locked after {} failed logins: {} until {}", result.attempts(), userId, result.lockedUntil());
+        }
+        return result;
+    }
+
+    public void reset(UUID userId) {
+        localStore.reset(userId);
+        if (System.currentTimeMillis() >= redisRetryAt) {
+            try {
+                redisStore.reset(userId);
+            } catch (DataAccessException e) {
+                log.debug("Could not reset failed logins in Redis for {}: {}", userId, e.getMessage());
+            }
+        }
+    }
+
+    private FailedLoginResult record(UUID userId) {
+        int maxAttempts = properties.maxAttempts();
+        long windowMillis = Math.max(1, properties.window().toMillis());
+        long lockMillis = Math.max(1, properties.lockDuration().toMillis());
+
+        if (System.currentTimeMillis() >= redisRetryAt) {
+            try {
+                return redisStore.recordFailure(userId, maxAttempts, windowMillis, lockMillis);
+            } catch (DataAccessException | IllegalStateException e) {
+                // Skip Redis for a while instead of paying a connection timeout on every attempt
+                redisRetryAt = System.currentTimeMillis() + properties.redisRetryDelay().toMillis();
+                log.warn("Redis failed-login store unavailable, counting locally: {}", e.getMessage());
+            }
+        }
+        fallbacks.increment();
+        return localStore.recordFailure(userId, maxAttempts, windowMillis, lockMillis);
+    }
+}
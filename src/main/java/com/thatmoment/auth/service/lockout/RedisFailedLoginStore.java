@@ -0,0 +1,58 @@
+package com.thatmoment.auth.service.lockout;
+
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.scripting.support.ResourceScriptSource;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.UUID;
+
+@Component
+class RedisFailedLoginStore {
+
+    private static final String FAILURES_PREFIX = "lockout:failures:";
+    private static final String LOCK_PREFIX = "lockout:locked:";
+
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> SCRIPT = loadScript();
+
+    private final StringRedisTemplate redisTemplate;
+
+    RedisFailedLoginStore(StringRedisTemplate redisTemplate) {
+        this.redisTemplate = redisTemplate;
+    }
+
+    FailedLoginResult recordFailure(UUID userId, int maxAttempts, long windowMillis, long lockMillis) {
+        List<?> result = redisTemplate.execute(
+                SCRIPT,
+                List.of(FAILURES_PREFIX + userId, LOCK_PREFIX + userId),
+                String.valueOf(windowMillis),
+                String.valueOf(maxAttempts),
+                String.valueOf(lockMillis),
+                UUID.randomUUID().toString()
+        );
+        if (result == null || result.size() < 3) {
+            throw new IllegalStateException("Unexpected login failure script result: " + result);
+        }
+        return FailedLoginResult.of(
+                ((Number) result.get(0)).longValue(),
+                ((Number) result.get(1)).longValue(),
+                ((Number) result.get(2)).longValue() == 1
+        );
+    }
+
+    void reset(UUID userId) {
+        redisTemplate.delete(List.of(FAILURES_PREFIX + userId, LOCK_PREFIX + userId));
+    }
+
+    @SuppressWarnings("rawtypes")
+    private static RedisScript<List> loadScript() {
+        DefaultRedisScript<List> script = new DefaultRedisScript<>();
+        script.setScriptSource(new ResourceScriptSource(new ClassPathResource("scripts/login-failures.lua")));
+        script.setResultType(List.class);
+        return script;
+    }
+}
@@ -0,0 +1,179 @@
+package com.thatmoment.auth.service.oauth;
+
+import com.thatmoment.auth.config.OAuthProperties;
+import io.jsonwebtoken.io.Parser;
+import io.jsonwebtoken.security.Jwk;
+import io.jsonwebtoken.security.JwkSet;
+import io.jsonwebtoken.security.Jwks;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.security.Key;
+import java.security.PublicKey;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Local copy of each sign-in provider's signing keys. Keys are fetched in the background ahead
+ * of their Cache-Control expiry and kept as parsed {@link PublicKey}s, so verifying an ID token
+ * is a map lookup. An unknown {@code kid} triggers one rate-limited forced refresh, which covers
+ * a provider rotating in a new key before our scheduled refresh.
+ */
+@Component
+@Slf4j
+public class JwksCache {
+
+    private static final Pattern MAX_AGE = Pattern.compile("max-age=(\\d+)");
+
+    private final OAuthProperties properties;
+    private final HttpClient httpClient;
+    private final Parser<JwkSet> jwkSetParser = Jwks.setParser().ignoreUnsupported(true).build();
+    private final Map<String, ProviderKeys> providers = new ConcurrentHashMap<>();
+    private final Counter fetches;
+    private final Counter fetchFailures;
+    private final Counter forcedRefreshes;
+
+    public JwksCache(OAuthProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.httpClient = HttpClient.newBuilder()
+                .connectTimeout(properties.fetchTimeout())
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .build();
+        properties.providers().forEach((name, provider) -> {
+            if (provider.enabled() && provider.jwksUri() != null) {
+                providers.put(name, new ProviderKeys(name, provider.jwksUri()));
+            }
+        });
+
+        this.fetches = meterRegistry.counter("oauth.jwks.fetches");
+        this.fetchFailures = meterRegistry.counter("oauth.jwks.fetch.failures");
+        this.forcedRefreshes = meterRegistry.counter("oauth.jwks.forced.refreshes");
+        meterRegistry.gauge("oauth.jwks.keys", providers, map -> map.values().stream()
+                .mapToInt(keys -> keys.keys.size())
+                .sum());
+    }
+
+    /**
+     * Returns the provider's key for {@code kid}, or null when the provider does not publish it
+     * even after a forced refresh.
+     */
+    public PublicKey key(String provider, String kid) {
+        ProviderKeys entry = providers.get(provider);
+        if (entry == null || kid == null) {
+            return null;
+        }
+        PublicKey key = entry.keys.get(kid);
+        if (key != null) {
+            return key;
+        }
+        refresh(entry, true);
+        return entry.keys.get(kid);
+    }
+
+    /**
+     * Runs from startup onwards and refreshes each provider whose keys are about to expire,
+     * keeping the previous keys when a fetch fails.
+     */
+    @Scheduled(fixedDelayString = "${app.oauth.refresh-check-interval-ms:60000}")
+    public void refreshExpiring() {
+        long refreshAt = System.currentTimeMillis() + properties.refreshAhead().toMillis();
+        for (ProviderKeys entry : providers.values()) {
+            if (entry.expiresAt <= refreshAt) {
+                refresh(entry, false);
+            }
+        }
+    }
+
+    private void refresh(ProviderKeys entry, boolean forced) {
+        long fetchedBefore = entry.lastFetchAt;
+        entry.lock.lock();
+        try {
+            // Someone else refreshed while we waited for the lock; let the caller re-check
+            if (entry.lastFetchAt != fetchedBefore) {
+                return;
+            }
+            long now = System.currentTimeMillis();
+            if (forced) {
+                if (now - entry.lastFetchAt < properties.minForcedRefreshInterval().toMillis()) {
+                    return;
+                }
+                forcedRefreshes.increment();
+            }
+            entry.lastFetchAt = now;
+            fetch(entry, now);
+        } finally {
+            entry.lock.unlock();
+        }
+    }
+
+    private void fetch(ProviderKeys entry, long now) {
+        HttpRequest request = HttpRequest.newBuilder(entry.uri)
+                .timeout(properties.fetchTimeout())
+                .header("Accept", "application/json")
+                .GET()
+                .build();
+        try {
+            fetches.increment();
+            HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() != 200) {
+                throw new IOException("HTTP " + response.statusCode());
+            }
+
+            Map<String, PublicKey> keys = new HashMap<>();
+            for (Jwk<?> jwk : jwkSetParser.parse(response.body()).getKeys()) {
+                Key key = jwk.toKey();
+                if (jwk.getId() != null && key instanceof PublicKey publicKey) {
+                    keys.put(jwk.getId(), publicKey);
+                }
+            }
+            if (keys.isEmpty()) {
+                throw new IOException("no usable keys");
+            }
+
+            entry.keys = Map.copyOf(keys);
+            entry.expiresAt = now + maxAge(response).orElse(properties.defaultKeyTtl()).toMillis();
+            log.debug("Loaded {} signing keys for {}", keys.size(), entry.name);
+        } catch (IOException | RuntimeException e) {
+            fetchFailures.increment();
+            log.warn("Could not refresh signing keys for {} from {}: {}", entry.name, entry.uri, e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static Optional<Duration> maxAge(HttpResponse<?> response) {
+        return response.headers().firstValue("Cache-Control").flatMap(value -> {
+            Matcher matcher = MAX_AGE.matcher(value);
+            return matcher.find() ? Optional.of(Duration.ofSeconds(Long.parseLong(matcher.group(1)))) : Optional.empty();
+        });
+    }
+
+    private static final class ProviderKeys {
+
+        private final String name;
+        private final URI uri;
+        private final ReentrantLock lock = new ReentrantLock();
+        private volatile Map<String, PublicKey> keys = Map.of();
+        private volatile long expiresAt;
+        private volatile long lastFetchAt;
+
+        ProviderKeys(String name, URI uri) {
+            this.name = name;
+            this.uri = uri;
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.thatmoment.auth.service.oauth;
+
+import com.thatmoment.auth.config.OAuthProperties;
+import com.thatmoment.auth.domain.enums.AuthMethod;
+import com.thatmoment.common.constants.AuthMessages;
+import com.thatmoment.common.exception.exceptions.BadRequestException;
+import com.thatmoment.common.exception.exceptions.UnauthorizedException;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.LocatorAdapter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.security.Key;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Verifies Google and Apple ID tokens against the locally cached provider keys.
+ */
+@Component
+@Slf4j
+public class OAuthIdTokenVerifier {
+
+    private static final Map<String, AuthMethod> AUTH_METHODS = Map.of(
+            "google", AuthMethod.GOOGLE,
+            "apple", AuthMethod.APPLE
+    );
+
+    private final OAuthProperties properties;
+    // One immutable parser per provider, each resolving keys from that provider's JWKS only
+    private final Map<String, JwtParser> parsers = new HashMap<>();
+
+    public OAuthIdTokenVerifier(OAuthProperties properties, JwksCache jwksCache) {
+        this.properties = properties;
+        properties.providers().forEach((name, provider) -> {
+            if (!provider.enabled() || !AUTH_METHODS.containsKey(name)) {
+                return;
+            }
+            parsers.put(name, Jwts.parser()
+                    .keyLocator(new LocatorAdapter<Key>() {
+                        @Override
+                        protected Key locate(JwsHeader header) {
+                            Key key = jwksCache.key(name, header.getKeyId());
+                            if (key == null) {
+                                throw new JwtException("Unknown signing key: " + header.getKeyId());
+                            }
+                            return key;
+                        }
+                    })
+                    .clockSkewSeconds(properties.clockSkew().toSeconds())
+                    .build());
+        });
+    }
+
+    public OAuthIdentity verify(String providerName, String idToken) {
+        String provider = providerName.trim().toLowerCase(Locale.ROOT);
+        JwtParser parser = parsers.get(provider);
+        if (parser == null) {
+            throw new BadRequestException(AuthMessages.UNSUPPORTED_OAUTH_PROVIDER);
+        }
+
+        Claims claims;
+        try {
+            claims = parser.parseSignedClaims(idToken).getPayload();
+        } catch (JwtException | IllegalArgumentException e) {
+            log.debug("Rejected {} ID token: {}", provider, e.getMessage());
+            throw new UnauthorizedException(AuthMessages.INVALID_ID_TOKEN);
+        }
+
+        OAuthProperties.Provider config = properties.providers().get(provider);
+        Set<String> audience = claims.getAudience();
+        boolean audienceMatches = audience != null && config.audiences().stream().anyMatch(audience::contains);
+        if (!config.issuers().contains(claims.getIssuer()) || !audienceMatches || claims.getSubject() == null) {
+            log.debug("Rejected {} ID token: issuer {} audience {}", provider, claims.getIssuer(), audience);
+            throw new UnauthorizedException(AuthMessages.INVALID_ID_TOKEN);
+        }
+
+        String email = claims.get("email", String.class);
+        return new OAuthIdentity(
+                provider,
+                AUTH_METHODS.get(provider),
+                claims.getSubject(),
+                email != null ? email.trim().toLowerCase(Locale.ROOT) : null,
+                isTrue(claims.get("email_verified"))
+        );
+    }
+
+    // Google sends a boolean, Apple the string "true"
+    private static boolean isTrue(Object value) {
+        return Boolean.TRUE.equals(value) || "true".equals(value);
+    }
+}
@@ -0,0 +1,12 @@
+package com.thatmoment.auth.service.oauth;
+
+import com.thatmoment.auth.domain.enums.AuthMethod;
+
+public record OAuthIdentity(
+        String provider,
+        AuthMethod authMethod,
+        String subject,
+        String email,
+        boolean emailVerified
+) {
+}
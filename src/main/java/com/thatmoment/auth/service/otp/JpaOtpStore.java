@@ -0,0 +1,73 @@
+package com.thatmoment.auth.service.otp;
+
+import com.thatmoment.auth.domain.EmailVerification;
+import com.thatmoment.auth.domain.enums.VerificationPurpose;
+import com.thatmoment.auth.repository.EmailVerificationRepository;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+
+@Component
+@ConditionalOnProperty(name = "app.otp.store", havingValue = "jpa", matchIfMissing = true)
+public class JpaOtpStore implements OtpStore {
+
+    private final EmailVerificationRepository emailVerificationRepository;
+
+    public JpaOtpStore(EmailVerificationRepository emailVerificationRepository) {
+        this.emailVerificationRepository = emailVerificationRepository;
+    }
+
+    @Override
+    @Transactional
+    public void issue(UUID userId, VerificationPurpose purpose, String code, int maxAttempts, Duration ttl) {
+        Instant now = Instant.now();
+        emailVerificationRepository.invalidatePendingVerifications(userId, purpose, now);
+
+        EmailVerification verification = EmailVerification.builder()
+                .userId(userId)
+                .code(code)
+                .purpose(purpose)
+                .maxAttempts(maxAttempts)
+                .expiresAt(now.plus(ttl))
+                .build();
+        emailVerificationRepository.save(verification);
+    }
+
+    @Override
+    @Transactional
+    public OtpVerificationResult verify(UUID userId, VerificationPurpose purpose, String code) {
+        EmailVerification verification = emailVerificationRepository
+                .findActiveVerification(userId, purpose, Instant.now(), PageRequest.of(0, 1))
+                .stream()
+                .findFirst()
+                .orElse(null);
+
+        if (verification == null) {
+            return OtpVerificationResult.notFound();
+        }
+
+        if (!verification.matches(code)) {
+            if (emailVerificationRepository.recordFailedAttempt(verification.getId()) == 0) {
+                // A concurrent guess used up the last attempt
+                return OtpVerificationResult.mismatch(0);
+            }
+            int attempts = verification.getAttemptCount() == null ? 0 : verification.getAttemptCount();
+            return OtpVerificationResult.mismatch(verification.getMaxAttempts() - attempts - 1);
+        }
+
+        verification.markAsVerified();
+        emailVerificationRepository.save(verification);
+        return OtpVerificationResult.verified();
+    }
+
+    @Override
+    @Transactional
+    public void invalidate(UUID userId, VerificationPurpose purpose) {
+        emailVerificationRepository.invalidatePendingVerifications(userId, purpose, Instant.now());
+    }
+}
@@ -0,0 +1,15 @@
+package com.thatmoment.auth.service.otp;
+
+import com.thatmoment.auth.domain.enums.VerificationPurpose;
+
+import java.time.Duration;
+import java.util.UUID;
+
+public interface OtpStore {
+
+    void issue(UUID userId, VerificationPurpose purpose, String code, int maxAttempts, Duration ttl);
+
+    OtpVerificationResult verify(UUID userId, VerificationPurpose purpose, String code);
+
+    void invalidate(UUID userId, VerificationPurpose purpose);
+}
@@ -0,0 +1,30 @@
+package com.thatmoment.auth.service.otp;
+
+public record OtpVerificationResult(Status status, int remainingAttempts) {
+
+    public enum Status {
+        VERIFIED,
+        MISMATCH,
+        NOT_FOUND
+    }
+
+    public static OtpVerificationResult verified() {
+        return new OtpVerificationResult(Status.VERIFIED, 0);
+    }
+
+    public static OtpVerificationResult mismatch(int remainingAttempts) {
+        return new OtpVerificationResult(Status.MISMATCH, Math.max(0, remainingAttempts));
+    }
+
+    public static OtpVerificationResult notFound() {
+        return new OtpVerificationResult(Status.NOT_FOUND, 0);
+    }
+
+    public boolean isVerified() {
+        return status == Status.VERIFIED;
+    }
+
+    public boolean isMismatch() {
+        return status == Status.MISMATCH;
+    }
+}
@@ -0,0 +1,73 @@
+package com.thatmoment.auth.service.otp;
+
+import com.thatmoment.auth.domain.enums.VerificationPurpose;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.scripting.support.ResourceScriptSource;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+@Component
+@ConditionalOnProperty(name = "app.otp.store", havingValue = "redis")
+public class RedisOtpStore implements OtpStore {
+
+    private static final RedisScript<Long> ISSUE_SCRIPT = loadScript("scripts/otp-issue.lua", Long.class);
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> VERIFY_SCRIPT = loadScript("scripts/otp-verify.lua", List.class);
+
+    private final StringRedisTemplate redisTemplate;
+
+    public RedisOtpStore(StringRedisTemplate redisTemplate) {
+        this.redisTemplate = redisTemplate;
+    }
+
+    @Override
+    public void issue(UUID userId, VerificationPurpose purpose, String code, int maxAttempts, Duration ttl) {
+        redisTemplate.execute(
+                ISSUE_SCRIPT,
+                List.of(key(userId, purpose)),
+                code,
+                String.valueOf(maxAttempts),
+                String.valueOf(ttl.toMillis())
+        );
+    }
+
+    @Override
+    public OtpVerificationResult verify(UUID userId, VerificationPurpose purpose, String code) {
+        List<?> result = redisTemplate.execute(VERIFY_SCRIPT, List.of(key(userId, purpose)), code);
+        if (result == null || result.size() < 2) {
+            throw new IllegalStateException("Unexpected OTP script result: " + result);
+        }
+
+        long status = ((Number) result.get(0)).longValue();
+        if (status == 1) {
+            return OtpVerificationResult.verified();
+        }
+        if (status == 0) {
+            return OtpVerificationResult.mismatch(((Number) result.get(1)).intValue());
+        }
+        return OtpVerificationResult.notFound();
+    }
+
+    @Override
+    public void invalidate(UUID userId, VerificationPurpose purpose) {
+        redisTemplate.delete(key(userId, purpose));
+    }
+
+    private static String key(UUID userId, VerificationPurpose purpose) {
+        return "otp:" + purpose.name() + ":" + userId;
+    }
+
+    private static <T> RedisScript<T> loadScript(String path, Class<T> resultType) {
+        DefaultRedisScript<T> script = new DefaultRedisScript<>();
+        script.setScriptSource(new ResourceScriptSource(new ClassPathResource(path)));
+        script.setResultType(resultType);
+        return script;
+    }
+}
@@ -0,0 +1,14 @@
+package com.thatmoment.auth.service.password;
+
+/**
+ * Outcome of a password check. {@code upgradedHash} is set when the password matched a hash
+ * produced at a lower cost than the current one, and should replace the stored hash.
+ */
+public record PasswordCheck(boolean matches, String upgradedHash) {
+
+    static final PasswordCheck MISMATCH = new PasswordCheck(false, null);
+
+    public boolean needsRehash() {
+        return upgradedHash != null;
+    }
+}
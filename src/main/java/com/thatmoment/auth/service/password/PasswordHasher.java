@@ -0,0 +1,170 @@
+package com.thatmoment.auth.service.password;
+
+import com.thatmoment.auth.config.PasswordHashingProperties;
+import com.thatmoment.common.constants.AuthMessages;
+import com.thatmoment.common.exception.exceptions.BadRequestException;
+import com.thatmoment.common.exception.exceptions.TooManyRequestsException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs BCrypt on a core-sized pool of platform threads behind a bounded queue, so a burst of
+ * password requests saturates at most the CPUs it is given and is shed with 429s beyond that
+ * instead of piling up on request threads.
+ */
+@Component
+@Slf4j
+public class PasswordHasher {
+
+    // BCrypt only looks at the first 72 bytes; longer input would silently be truncated
+    private static final int MAX_PASSWORD_BYTES = 72;
+    private static final int CALIBRATION_ROUNDS = 3;
+
+    private final PasswordHashingProperties properties;
+    private final ThreadPoolExecutor executor;
+    private final ArrayBlockingQueue<Runnable> queue;
+    private final Counter rejected;
+    private final Counter rehashed;
+    private final Timer hashTimer;
+    // Held outside the instance so the gauge can be registered from the constructor
+    private final AtomicInteger strength = new AtomicInteger();
+
+    private volatile BCryptPasswordEncoder encoder;
+    // Compared against when the user does not exist so the response takes as long as a real check
+    private volatile String dummyHash;
+
+    public PasswordHasher(PasswordHashingProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        int workers = properties.effectiveWorkers();
+        this.queue = new ArrayBlockingQueue<>(properties.queueCapacity());
+        this.executor = new ThreadPoolExecutor(
+                workers,
+                workers,
+                0L,
+                TimeUnit.MILLISECONDS,
+                queue,
+                Thread.ofPlatform().name("password-hash-", 0).daemon(true).factory(),
+                new ThreadPoolExecutor.AbortPolicy()
+        );
+
+        this.rejected = meterRegistry.counter("password.hash.rejected");
+        this.rehashed = meterRegistry.counter("password.hash.rehashed");
+        this.hashTimer = meterRegistry.timer("password.hash");
+        Gauge.builder("password.hash.queue.size", queue, ArrayBlockingQueue::size)
+                .register(meterRegistry);
+        Gauge.builder("password.hash.strength", strength, AtomicInteger::get)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Picks the highest BCrypt cost whose hash time stays within the target latency on this
+     * machine. Each cost step doubles the work, so one measurement at the minimum is enough.
+     */
+    @PostConstruct
+    public void calibrate() {
+        int min = properties.minStrength();
+        BCryptPasswordEncoder probe = new BCryptPasswordEncoder(min);
+        String sample = UUID.randomUUID().toString();
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < CALIBRATION_ROUNDS; i++) {
+            long start = System.nanoTime();
+            probe.encode(sample);
+            best = Math.min(best, System.nanoTime() - start);
+        }
+
+        double headroom = (double) properties.targetLatency().toNanos() / Math.max(1, best);
+        int steps = headroom >= 1 ? (int) Math.floor(Math.log(headroom) / Math.log(2)) : 0;
+        int cost = Math.clamp(min + steps, min, Math.max(min, properties.maxStrength()));
+        this.encoder = new BCryptPasswordEncoder(cost);
+        this.dummyHash = encoder.encode(UUID.randomUUID().toString());
+        strength.set(cost);
+
+        log.info("Password hashing calibrated to BCrypt cost {} ({} ms at cost {}, target {} ms, {} workers)",
+                cost, TimeUnit.NANOSECONDS.toMillis(best), min,
+                properties.targetLatency().toMillis(), properties.effectiveWorkers());
+    }
+
+    public String hash(String rawPassword) {
+        ensureLength(rawPassword);
+        return run(() -> encoder.encode(rawPassword));
+    }
+
+    /**
+     * Checks the password and, when it matches a hash made at a lower cost, rehashes it in the
+     * same task. A missing hash is still checked against a dummy to keep timing uniform.
+     */
+    public PasswordCheck verify(String rawPassword, String storedHash) {
+        if (rawPassword == null || rawPassword.getBytes(StandardCharsets.UTF_8).length > MAX_PASSWORD_BYTES) {
+            return PasswordCheck.MISMATCH;
+        }
+        return run(() -> {
+            BCryptPasswordEncoder current = encoder;
+            if (storedHash == null) {
+                current.matches(rawPassword, dummyHash);
+                return PasswordCheck.MISMATCH;
+            }
+            if (!current.matches(rawPassword, storedHash)) {
+                return PasswordCheck.MISMATCH;
+            }
+            if (current.upgradeEncoding(storedHash)) {
+                rehashed.increment();
+                return new PasswordCheck(true, current.encode(rawPassword));
+            }
+            return new PasswordCheck(true, null);
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private <T> T run(Callable<T> task) {
+        Future<T> future;
+        try {
+            future = executor.submit(() -> hashTimer.recordCallable(task));
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw new TooManyRequestsException(AuthMessages.TOO_MANY_REQUESTS, 1);
+        }
+
+        try {
+            return future.get(properties.waitTimeout().toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            rejected.increment();
+            throw new TooManyRequestsException(AuthMessages.TOO_MANY_REQUESTS, 1);
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while hashing password", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        }
+    }
+
+    private static void ensureLength(String rawPassword) {
+        if (rawPassword.getBytes(StandardCharsets.UTF_8).length > MAX_PASSWORD_BYTES) {
+            throw new BadRequestException(AuthMessages.PASSWORD_TOO_LONG);
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.thatmoment.auth.service.retention;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+
+enum PartitionGranularity {
+
+    DAILY {
+        @Override
+        LocalDate floor(LocalDate date) {
+            return date;
+        }
+
+        @Override
+        LocalDate next(LocalDate start) {
+            return start.plusDays(1);
+        }
+    },
+    WEEKLY {
+        @Override
+        LocalDate floor(LocalDate date) {
+            // Matches date_trunc('week', ...) in Postgres, which starts weeks on Monday
+            return date.with(DayOfWeek.MONDAY);
+        }
+
+        @Override
+        LocalDate next(LocalDate start) {
+            return start.plusWeeks(1);
+        }
+    },
+    MONTHLY {
+        @Override
+        LocalDate floor(LocalDate date) {
+            return date.withDayOfMonth(1);
+        }
+
+        @Override
+        LocalDate next(LocalDate start) {
+            return start.plusMonths(1);
+        }
+    };
+
+    abstract LocalDate floor(LocalDate date);
+
+    abstract LocalDate next(LocalDate start);
+}
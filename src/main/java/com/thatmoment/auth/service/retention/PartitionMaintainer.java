@@ -0,0 +1,267 @@
+package com.thatmoment.auth.service.retention;
+
+import com.thatmoment.auth.config.RetentionProperties;
+import com.thatmoment.auth.service.JwtService;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Keeps the time-partitioned auth tables (see V3 migration) in shape: creates partitions a few
+ * periods ahead and drops whole partitions once they are past their retention window. Only one
+ * node does the work per run, guarded by a Postgres advisory lock.
+ * <p>
+ * Refresh-token partitions are cut by {@code created_at}, so a retention shorter than the token
+ * lifetime would drop tokens that can still be redeemed. Startup fails in that case.
+ */
+@Component
+@Slf4j
+public class PartitionMaintainer {
+
+    private static final String SCHEMA = "auth";
+    private static final long ADVISORY_LOCK_KEY = 0x7468_6d6f_7265_7401L;
+    private static final DateTimeFormatter SUFFIX = DateTimeFormatter.BASIC_ISO_DATE;
+
+    private static final String LIST_PARTITIONS_SQL = """
+            SELECT c.relname
+              FROM pg_inherits i
+              JOIN pg_class c ON c.oid = i.inhrelid
+              JOIN pg_class p ON p.oid = i.inhparent
+              JOIN pg_namespace n ON n.oid = p.relnamespace
+             WHERE n.nspname = ? AND p.relname = ?
+            """;
+
+    private static final String DELETE_SESSIONS_SQL = """
+            DELETE FROM auth.sessions
+             WHERE id IN (
+                SELECT id FROM auth.sessions
+                 WHERE (is_active = false AND revoked_at < ?)
+                    OR expires_at < ?
+                 LIMIT ?
+             )
+            """;
+
+    private static final List<PartitionedTable> TABLES = List.of(
+            new PartitionedTable("refresh_tokens", PartitionGranularity.WEEKLY, RetentionProperties::refreshTokens),
+            new PartitionedTable("email_verifications", PartitionGranularity.DAILY, RetentionProperties::emailVerifications),
+            new PartitionedTable("login_history", PartitionGranularity.MONTHLY, RetentionProperties::loginHistory)
+    );
+
+    private final JdbcTemplate jdbcTemplate;
+    private final RetentionProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final JwtService jwtService;
+
+    public PartitionMaintainer(
+            JdbcTemplate jdbcTemplate,
+            RetentionProperties properties,
+            MeterRegistry meterRegistry,
+            JwtService jwtService
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.jwtService = jwtService;
+    }
+
+    @PostConstruct
+    void validateRetention() {
+        if (!properties.enabled()) {
+            return;
+        }
+        Duration tokenLifetime = Duration.ofSeconds(jwtService.getRefreshTokenExpirationSeconds());
+        if (properties.refreshTokens().compareTo(tokenLifetime) < 0) {
+            throw new IllegalStateException("app.retention.refresh-tokens (" + properties.refreshTokens()
+                    + ") must be at least the refresh token lifetime (" + tokenLifetime + ")");
+        }
+    }
+
+    @Scheduled(
+            initialDelayString = "${app.retention.initial-delay-ms:30000}",
+            fixedDelayString = "${app.retention.interval-ms:3600000}"
+    )
+    public void maintain() {
+        if (!properties.enabled()) {
+            return;
+        }
+        try {
+            jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+                if (!tryLock(connection)) {
+                    log.debug("Partition maintenance already running on another node");
+                    return null;
+                }
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("SET lock_timeout = '" + properties.lockTimeout().toMillis() + "ms'");
+                }
+                try {
+                    LocalDateTime now = databaseNow(connection);
+                    for (PartitionedTable table : TABLES) {
+                        maintain(connection, table, now);
+                    }
+                    purgeSessions(connection, now.minus(properties.sessions()));
+                } finally {
+                    try (Statement statement = connection.createStatement()) {
+                        statement.execute("RESET lock_timeout");
+                    }
+                    unlock(connection);
+                }
+                return null;
+            });
+        } catch (RuntimeException e) {
+            log.warn("Partition maintenance failed: {}", e.getMessage());
+        }
+    }
+
+    private void maintain(Connection connection, PartitionedTable table, LocalDateTime now) throws SQLException {
+        Set<String> existing = listPartitions(connection, table.name());
+
+        LocalDate start = table.granularity().floor(now.toLocalDate());
+        for (int i = 0; i <= properties.premakePeriods(); i++) {
+            LocalDate end = table.granularity().next(start);
+            String partition = partitionName(table.name(), start);
+            if (!existing.contains(partition)) {
+                createPartition(connection, table.name(), partition, start, end);
+            }
+            start = end;
+        }
+
+        Duration retention = table.retention().apply(properties);
+        LocalDateTime cutoff = now.minus(retention);
+        Pattern pattern = Pattern.compile(Pattern.quote(table.name()) + "_p(\\d{8})");
+        for (String partition : existing) {
+            Matcher matcher = pattern.matcher(partition);
+            if (!matcher.matches()) {
+                continue;
+            }
+            LocalDate end = table.granularity().next(LocalDate.parse(matcher.group(1), SUFFIX));
+            if (!end.atStartOfDay().isAfter(cutoff)) {
+                dropPartition(connection, table.name(), partition);
+            }
+        }
+
+        // The default partition only holds migrated or out-of-range rows; trim it the slow way
+        try (PreparedStatement statement = connection.prepareStatement(
+                "DELETE FROM " + SCHEMA + "." + table.name() + "_default WHERE created_at < ?")) {
+            statement.setTimestamp(1, Timestamp.valueOf(cutoff));
+            int deleted = statement.executeUpdate();
+            if (deleted > 0) {
+                log.info("Deleted {} expired rows from {}_default", deleted, table.name());
+            }
+        }
+    }
+
+    private void createPartition(Connection connection, String table, String partition, LocalDate from, LocalDate to) {
+        String sql = "CREATE TABLE IF NOT EXISTS " + SCHEMA + "." + partition
+                + " PARTITION OF " + SCHEMA + "." + table
+                + " FOR VALUES FROM ('" + from + "') TO ('" + to + "')";
+        try (Statement statement = connection.createStatement()) {
+            statement.execute(sql);
+            meterRegistry.counter("retention.partitions.created", "table", table).increment();
+            log.info("Created partition {}.{} [{} - {})", SCHEMA, partition, from, to);
+        } catch (SQLException e) {
+            // Typically rows for this range already sit in the default partition
+            log.warn("Could not create partition {}.{}: {}", SCHEMA, partition, e.getMessage());
+        }
+    }
+
+    private void dropPartition(Connection connection, String table, String partition) {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE IF EXISTS " + SCHEMA + "." + partition);
+            meterRegistry.counter("retention.partitions.dropped", "table", table).increment();
+            log.info("Dropped expired partition {}.{}", SCHEMA, partition);
+        } catch (SQLException e) {
+            log.warn("Could not drop partition {}.{}: {}", SCHEMA, partition, e.getMessage());
+        }
+    }
+
+    private void purgeSessions(Connection connection, LocalDateTime cutoff) throws SQLException {
+        Timestamp threshold = Timestamp.valueOf(cutoff);
+        int batchSize = properties.sessionDeleteBatchSize();
+        long total = 0;
+        int deleted;
+        try (PreparedStatement statement = connection.prepareStatement(DELETE_SESSIONS_SQL)) {
+            do {
+                statement.setTimestamp(1, threshold);
+                statement.setTimestamp(2, threshold);
+                statement.setInt(3, batchSize);
+                deleted = statement.executeUpdate();
+                total += deleted;
+            } while (deleted == batchSize);
+        }
+        if (total > 0) {
+            meterRegistry.counter("retention.sessions.deleted").increment(total);
+            log.info("Deleted {} revoked or expired sessions older than {}", total, cutoff);
+        }
+    }
+
+    private static Set<String> listPartitions(Connection connection, String table) throws SQLException {
+        Set<String> partitions = new HashSet<>();
+        try (PreparedStatement statement = connection.prepareStatement(LIST_PARTITIONS_SQL)) {
+            statement.setString(1, SCHEMA);
+            statement.setString(2, table);
+            try (ResultSet rs = statement.executeQuery()) {
+                while (rs.next()) {
+                    partitions.add(rs.getString(1));
+                }
+            }
+        }
+        return partitions;
+    }
+
+    private static LocalDateTime databaseNow(Connection connection) throws SQLException {
+        // created_at is TIMESTAMP without time zone filled by now(), so compare in the database's clock
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("SELECT CAST(now() AS timestamp)")) {
+            rs.next();
+            return rs.getTimestamp(1).toLocalDateTime();
+        }
+    }
+
+    private static boolean tryLock(Connection connection) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement("SELECT pg_try_advisory_lock(?)")) {
+            statement.setLong(1, ADVISORY_LOCK_KEY);
+            try (ResultSet rs = statement.executeQuery()) {
+                return rs.next() && rs.getBoolean(1);
+            }
+        }
+    }
+
+    private static void unlock(Connection connection) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement("SELECT pg_advisory_unlock(?)")) {
+            statement.setLong(1, ADVISORY_LOCK_KEY);
+            statement.execute();
+        }
+    }
+
+    private static String partitionName(String table, LocalDate start) {
+        return table + "_p" + start.format(SUFFIX);
+    }
+
+    private record PartitionedTable(
+            String name,
+            PartitionGranularity granularity,
+            Function<RetentionProperties, Duration> retention
+    ) {
+    }
+}
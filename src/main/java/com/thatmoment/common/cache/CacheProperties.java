@@ -0,0 +1,36 @@
+package com.thatmoment.common.cache;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.Map;
+
+@ConfigurationProperties(prefix = "app.cache")
+public record CacheProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("5s") Duration loadLockTtl,
+        @DefaultValue("1s") Duration loadLockWait,
+        Map<String, Spec> caches
+) {
+
+    public CacheProperties {
+        caches = caches != null ? Map.copyOf(caches) : Map.of();
+    }
+
+    public Spec spec(String name) {
+        return caches.getOrDefault(name, Spec.DEFAULT);
+    }
+
+    public record Spec(Long maximumSize, Duration localTtl, Duration remoteTtl, Duration negativeTtl) {
+
+        static final Spec DEFAULT = new Spec(null, null, null, null);
+
+        public Spec {
+            maximumSize = maximumSize != null ? maximumSize : 10_000L;
+            localTtl = localTtl != null ? localTtl : Duration.ofSeconds(30);
+            remoteTtl = remoteTtl != null ? remoteTtl : Duration.ofMinutes(10);
+            negativeTtl = negativeTtl != null ? negativeTtl : Duration.ofSeconds(30);
+        }
+    }
+}
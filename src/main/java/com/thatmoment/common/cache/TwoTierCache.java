@@ -0,0 +1,289 @@
+package com.thatmoment.common.cache;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.scripting.support.ResourceScriptSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Read-through cache with an in-process Caffeine tier (L1) in front of Redis (L2).
+ * <p>
+ * Concurrent misses for the same key on one node share a single load; across nodes the first
+ * loader takes a short Redis lock and the others wait briefly for the value it writes. Absent
+ * values are cached too, for the shorter negative TTL. Evictions clear both tiers and are
+ * broadcast so the other nodes drop their L1 copy.
+ * <p>
+ * Each eviction also bumps a per-key generation in Redis, and a loader only writes its value to
+ * Redis if the generation is unchanged since it started. A load that read the database before
+ * another node's post-commit eviction therefore cannot put the stale value into L2; it can
+ * still keep it in its own L1, for at most the local TTL.
+ * <p>
+ * Values are serialized to JSON in Redis, so cache immutable snapshots rather than entities.
+ */
+public class TwoTierCache<V> {
+
+    private static final Logger log = LoggerFactory.getLogger(TwoTierCache.class);
+
+    private static final String ABSENT = "";
+    private static final long POLL_INTERVAL_MS = 20;
+    private static final RedisScript<Long> WRITE_SCRIPT = loadScript("scripts/cache-write.lua");
+    private static final RedisScript<Long> EVICT_SCRIPT = loadScript("scripts/cache-evict.lua");
+
+    private final String name;
+    private final Class<V> type;
+    private final CacheProperties.Spec spec;
+    private final CacheProperties properties;
+    private final StringRedisTemplate redisTemplate;
+    private final JsonMapper jsonMapper;
+    private final TwoTierCacheManager manager;
+    private final AsyncCache<String, Optional<V>> local;
+
+    private final Counter localHits;
+    private final Counter localMisses;
+    private final Counter remoteHits;
+    private final Counter remoteMisses;
+    private final Counter remoteErrors;
+    private final Timer loadTimer;
+
+    TwoTierCache(
+            String name,
+            Class<V> type,
+            CacheProperties properties,
+            StringRedisTemplate redisTemplate,
+            JsonMapper jsonMapper,
+            TwoTierCacheManager manager,
+            MeterRegistry meterRegistry
+    ) {
+        this.name = name;
+        this.type = type;
+        this.properties = properties;
+        this.spec = properties.spec(name);
+        this.redisTemplate = redisTemplate;
+        this.jsonMapper = jsonMapper;
+        this.manager = manager;
+        this.local = Caffeine.newBuilder()
+                .maximumSize(spec.maximumSize())
+                .expireAfterWrite(spec.localTtl())
+                .buildAsync();
+
+        this.localHits = meterRegistry.counter("cache.gets", "cache", name, "tier", "local", "result", "hit");
+        this.localMisses = meterRegistry.counter("cache.gets", "cache", name, "tier", "local", "result", "miss");
+        this.remoteHits = meterRegistry.counter("cache.gets", "cache", name, "tier", "remote", "result", "hit");
+        this.remoteMisses = meterRegistry.counter("cache.gets", "cache", name, "tier", "remote", "result", "miss");
+        this.remoteErrors = meterRegistry.counter("cache.remote.errors", "cache", name);
+        this.loadTimer = meterRegistry.timer("cache.load", "cache", name);
+        Gauge.builder("cache.size", local, cache -> cache.synchronous().estimatedSize())
+                .tag("cache", name)
+                .register(meterRegistry);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public Optional<V> get(String key, Supplier<Optional<V>> loader) {
+        if (!properties.enabled()) {
+            return loader.get();
+        }
+
+        CompletableFuture<Optional<V>> flight = new CompletableFuture<>();
+        CompletableFuture<Optional<V>> existing = local.asMap().putIfAbsent(key, flight);
+        if (existing != null) {
+            localHits.increment();
+            return join(existing);
+        }
+        localMisses.increment();
+
+        try {
+            Optional<V> value = loadRemote(key, loader);
+            flight.complete(value);
+            return value;
+        } catch (RuntimeException e) {
+            local.asMap().remove(key, flight);
+            flight.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    public void evict(String key) {
+        invalidateLocal(key);
+        String remoteKey = remoteKey(key);
+        try {
+            redisTemplate.execute(EVICT_SCRIPT, List.of(remoteKey, generationKey(remoteKey)),
+                    String.valueOf(spec.remoteTtl().toMillis()));
+        } catch (RuntimeException e) {
+            remoteErrors.increment();
+            log.debug("Could not evict {} from cache {} in Redis: {}", key, name, e.getMessage());
+        }
+        manager.publishInvalidation(name, key);
+    }
+
+    /**
+     * Evicts now and again once the surrounding transaction commits, so a concurrent read
+     * cannot re-cache the pre-commit row.
+     */
+    public void evictAfterCommit(String key) {
+        evict(key);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evict(key);
+                }
+            });
+        }
+    }
+
+    void invalidateLocal(String key) {
+        local.synchronous().invalidate(key);
+    }
+
+    private Optional<V> loadRemote(String key, Supplier<Optional<V>> loader) {
+        String remoteKey = remoteKey(key);
+        String generationKey = generationKey(remoteKey);
+        String cached;
+        String generation;
+        try {
+            List<String> values = redisTemplate.opsForValue().multiGet(List.of(remoteKey, generationKey));
+            cached = values != null ? values.get(0) : null;
+            generation = values != null && values.get(1) != null ? values.get(1) : "";
+        } catch (RuntimeException e) {
+            // Redis is an optimization; fall back to the source of truth
+            remoteErrors.increment();
+            log.debug("Cache {} could not read Redis: {}", name, e.getMessage());
+            return loadTimer.record(loader);
+        }
+        if (cached != null) {
+            remoteHits.increment();
+            return decode(cached);
+        }
+        remoteMisses.increment();
+
+        String lockKey = remoteKey + ":lock";
+        boolean leader = tryLock(lockKey);
+        if (!leader) {
+            Optional<V> shared = awaitRemote(remoteKey);
+            if (shared != null) {
+                return shared;
+            }
+        }
+
+        try {
+            Optional<V> value = loadTimer.record(loader);
+            writeRemote(remoteKey, generationKey, generation, value);
+            return value;
+        } finally {
+            if (leader) {
+                unlock(lockKey);
+            }
+        }
+    }
+
+    private Optional<V> awaitRemote(String remoteKey) {
+        long deadline = System.nanoTime() + properties.loadLockWait().toNanos();
+        try {
+            while (System.nanoTime() < deadline) {
+                TimeUnit.MILLISECONDS.sleep(POLL_INTERVAL_MS);
+                String cached = redisTemplate.opsForValue().get(remoteKey);
+                if (cached != null) {
+                    return decode(cached);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException e) {
+            remoteErrors.increment();
+        }
+        return null;
+    }
+
+    private void writeRemote(String remoteKey, String generationKey, String generation, Optional<V> value) {
+        Duration ttl = value.isPresent() ? spec.remoteTtl() : spec.negativeTtl();
+        try {
+            Long written = redisTemplate.execute(WRITE_SCRIPT, List.of(remoteKey, generationKey),
+                    generation, encode(value), String.valueOf(ttl.toMillis()));
+            if (written == null || written == 0L) {
+                log.debug("Cache {} skipped writing {}: evicted while loading", name, remoteKey);
+            }
+        } catch (RuntimeException e) {
+            remoteErrors.increment();
+            log.debug("Cache {} could not write Redis: {}", name, e.getMessage());
+        }
+    }
+
+    private boolean tryLock(String lockKey) {
+        try {
+            return Boolean.TRUE.equals(
+                    redisTemplate.opsForValue().setIfAbsent(lockKey, "1", properties.loadLockTtl())
+            );
+        } catch (RuntimeException e) {
+            remoteErrors.increment();
+            return true;
+        }
+    }
+
+    private void unlock(String lockKey) {
+        try {
+            redisTemplate.delete(lockKey);
+        } catch (RuntimeException e) {
+            remoteErrors.increment();
+        }
+    }
+
+    private String encode(Optional<V> value) {
+        return value.map(jsonMapper::writeValueAsString).orElse(ABSENT);
+    }
+
+    private Optional<V> decode(String cached) {
+        if (ABSENT.equals(cached)) {
+            return Optional.empty();
+        }
+        return Optional.of(jsonMapper.readValue(cached, type));
+    }
+
+    private String remoteKey(String key) {
+        return "cache:" + name + ":" + key;
+    }
+
+    private static String generationKey(String remoteKey) {
+        return remoteKey + ":gen";
+    }
+
+    private static RedisScript<Long> loadScript(String path) {
+        DefaultRedisScript<Long> script = new DefaultRedisScript<>();
+        script.setScriptSource(new ResourceScriptSource(new ClassPathResource(path)));
+        script.setResultType(Long.class);
+        return script;
+    }
+
+    private static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw e;
+        }
+    }
+}
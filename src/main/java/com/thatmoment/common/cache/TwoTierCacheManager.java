@@ -0,0 +1,87 @@
+package com.thatmoment.common.cache;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Creates {@link TwoTierCache} instances and relays evictions between nodes over Redis pub/sub.
+ */
+@Component
+public class TwoTierCacheManager implements MessageListener {
+
+    private static final Logger log = LoggerFactory.getLogger(TwoTierCacheManager.class);
+
+    static final String CHANNEL = "cache:invalidations";
+    private static final char SEPARATOR = '\n';
+
+    private final CacheProperties properties;
+    private final StringRedisTemplate redisTemplate;
+    private final JsonMapper jsonMapper;
+    private final RedisMessageListenerContainer listenerContainer;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, TwoTierCache<?>> caches = new ConcurrentHashMap<>();
+
+    public TwoTierCacheManager(
+            CacheProperties properties,
+            StringRedisTemplate redisTemplate,
+            JsonMapper jsonMapper,
+            RedisMessageListenerContainer listenerContainer,
+            MeterRegistry meterRegistry
+    ) {
+        this.properties = properties;
+        this.redisTemplate = redisTemplate;
+        this.jsonMapper = jsonMapper;
+        this.listenerContainer = listenerContainer;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @PostConstruct
+    public void init() {
+        listenerContainer.addMessageListener(this, new ChannelTopic(CHANNEL));
+    }
+
+    public <V> TwoTierCache<V> create(String name, Class<V> type) {
+        TwoTierCache<V> cache = new TwoTierCache<>(
+                name, type, properties, redisTemplate, jsonMapper, this, meterRegistry
+        );
+        if (caches.putIfAbsent(name, cache) != null) {
+            throw new IllegalStateException("Cache already registered: " + name);
+        }
+        return cache;
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        int separator = body.indexOf(SEPARATOR);
+        if (separator < 0) {
+            log.warn("Ignoring malformed cache invalidation message");
+            return;
+        }
+        TwoTierCache<?> cache = caches.get(body.substring(0, separator));
+        if (cache != null) {
+            cache.invalidateLocal(body.substring(separator + 1));
+        }
+    }
+
+    void publishInvalidation(String name, String key) {
+        try {
+            redisTemplate.convertAndSend(CHANNEL, name + SEPARATOR + key);
+        } catch (RuntimeException e) {
+            log.warn("Could not broadcast invalidation of {} in cache {}: {}", key, name, e.getMessage());
+        }
+    }
+}
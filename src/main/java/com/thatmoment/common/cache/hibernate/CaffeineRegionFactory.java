@@ -0,0 +1,85 @@
+package com.thatmoment.common.cache.hibernate;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.hibernate.boot.spi.SessionFactoryOptions;
+import org.hibernate.cache.cfg.spi.DomainDataRegionBuildingContext;
+import org.hibernate.cache.cfg.spi.DomainDataRegionConfig;
+import org.hibernate.cache.spi.support.DomainDataStorageAccess;
+import org.hibernate.cache.spi.support.RegionFactoryTemplate;
+import org.hibernate.cache.spi.support.StorageAccess;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Hibernate second-level cache regions backed by in-process Caffeine caches. Every region
+ * records statistics and is published to Micrometer as {@code hibernate.<region>}.
+ * <p>
+ * Regions are node-local; {@link CatalogCacheInvalidator} broadcasts changes so other nodes
+ * evict their copies, and the expiry is only a safety net for rows changed outside the app.
+ */
+public class CaffeineRegionFactory extends RegionFactoryTemplate {
+
+    private final MeterRegistry meterRegistry;
+    private final long maximumSize;
+    private final Duration expireAfterWrite;
+    private final Map<String, Cache<Object, Object>> regions = new ConcurrentHashMap<>();
+
+    public CaffeineRegionFactory(MeterRegistry meterRegistry, long maximumSize, Duration expireAfterWrite) {
+        this.meterRegistry = meterRegistry;
+        this.maximumSize = maximumSize;
+        this.expireAfterWrite = expireAfterWrite;
+    }
+
+    public Map<String, Cache<Object, Object>> regions() {
+        return Map.copyOf(regions);
+    }
+
+    @Override
+    protected DomainDataStorageAccess createDomainDataStorageAccess(
+            DomainDataRegionConfig regionConfig,
+            DomainDataRegionBuildingContext buildingContext
+    ) {
+        return new CaffeineStorageAccess(boundedRegion(regionConfig.getRegionName()));
+    }
+
+    @Override
+    protected StorageAccess createQueryResultsRegionStorageAccess(String regionName, SessionFactoryImplementor sessionFactory) {
+        return new CaffeineStorageAccess(boundedRegion(regionName));
+    }
+
+    @Override
+    protected StorageAccess createTimestampsRegionStorageAccess(String regionName, SessionFactoryImplementor sessionFactory) {
+        // Update timestamps must never be evicted, or cached query results could outlive a table change
+        return new CaffeineStorageAccess(register(regionName, Caffeine.newBuilder().recordStats().build()));
+    }
+
+    @Override
+    protected void prepareForUse(SessionFactoryOptions settings, Map<String, Object> configValues) {
+    }
+
+    @Override
+    protected void releaseFromUse() {
+        regions.values().forEach(Cache::invalidateAll);
+        regions.clear();
+    }
+
+    private Cache<Object, Object> boundedRegion(String regionName) {
+        return register(regionName, Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build());
+    }
+
+    private Cache<Object, Object> register(String regionName, Cache<Object, Object> cache) {
+        regions.put(regionName, cache);
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "hibernate." + regionName);
+        return cache;
+    }
+}
@@ -0,0 +1,51 @@
+package com.thatmoment.common.cache.hibernate;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * {@code /actuator/catalogcache}: per-region statistics of the second-level cache. A
+ * {@code DELETE} flushes the catalogs on every node, for edits made directly in the database.
+ */
+@Component
+@Endpoint(id = "catalogcache")
+public class CatalogCacheEndpoint {
+
+    private final CaffeineRegionFactory regionFactory;
+    private final CatalogCacheInvalidator invalidator;
+
+    public CatalogCacheEndpoint(CaffeineRegionFactory regionFactory, CatalogCacheInvalidator invalidator) {
+        this.regionFactory = regionFactory;
+        this.invalidator = invalidator;
+    }
+
+    @ReadOperation
+    public Map<String, RegionStats> regions() {
+        Map<String, RegionStats> result = new TreeMap<>();
+        regionFactory.regions().forEach((name, cache) -> {
+            CacheStats stats = cache.stats();
+            result.put(name, new RegionStats(
+                    cache.estimatedSize(),
+                    stats.hitCount(),
+                    stats.missCount(),
+                    stats.hitRate(),
+                    stats.evictionCount()
+            ));
+        });
+        return result;
+    }
+
+    @DeleteOperation
+    public void evict() {
+        invalidator.evictAll();
+    }
+
+    public record RegionStats(long size, long hits, long misses, double hitRate, long evictions) {
+    }
+}
@@ -0,0 +1,101 @@
+package com.thatmoment.common.cache.hibernate;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Keeps the node-local second-level cache of the admin-managed catalogs consistent across nodes.
+ * Hibernate already updates the local regions when a catalog entity is written through JPA; this
+ * tells the other nodes to evict that entity type and the catalog query results after commit.
+ */
+@Component
+public class CatalogCacheInvalidator implements MessageListener {
+
+    private static final Logger log = LoggerFactory.getLogger(CatalogCacheInvalidator.class);
+
+    public static final String QUERY_REGION = "catalog.queries";
+    static final String CHANNEL = "catalog:invalidations";
+    private static final String ALL = "*";
+
+    private final ObjectProvider<EntityManagerFactory> entityManagerFactory;
+    private final StringRedisTemplate redisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+
+    public CatalogCacheInvalidator(
+            ObjectProvider<EntityManagerFactory> entityManagerFactory,
+            StringRedisTemplate redisTemplate,
+            RedisMessageListenerContainer listenerContainer
+    ) {
+        this.entityManagerFactory = entityManagerFactory;
+        this.redisTemplate = redisTemplate;
+        this.listenerContainer = listenerContainer;
+    }
+
+    @PostConstruct
+    public void init() {
+        listenerContainer.addMessageListener(this, new ChannelTopic(CHANNEL));
+    }
+
+    /**
+     * Called for catalog rows changed through JPA on this node.
+     */
+    public void entityChanged(Class<?> entityType) {
+        String entityName = entityType.getName();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    publish(entityName);
+                }
+            });
+        } else {
+            publish(entityName);
+        }
+    }
+
+    /**
+     * Drops all catalog data on every node, e.g. after catalogs were edited directly in the database.
+     */
+    public void evictAll() {
+        evictLocal(ALL);
+        publish(ALL);
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        evictLocal(new String(message.getBody(), StandardCharsets.UTF_8));
+    }
+
+    private void evictLocal(String entityName) {
+        Cache cache = entityManagerFactory.getObject().unwrap(SessionFactory.class).getCache();
+        if (ALL.equals(entityName)) {
+            CatalogEntityListener.CATALOG_TYPES.forEach(cache::evictEntityData);
+        } else {
+            cache.evictEntityData(entityName);
+        }
+        cache.evictQueryRegion(QUERY_REGION);
+    }
+
+    private void publish(String entityName) {
+        try {
+            redisTemplate.convertAndSend(CHANNEL, entityName);
+        } catch (RuntimeException e) {
+            log.warn("Could not broadcast catalog cache invalidation for {}: {}", entityName, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.thatmoment.common.cache.hibernate;
+
+import com.thatmoment.gamification.domain.Achievement;
+import com.thatmoment.gamification.domain.StoreItem;
+import com.thatmoment.subscription.domain.Plan;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.hibernate.Hibernate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+@Component
+public class CatalogEntityListener {
+
+    static final List<Class<?>> CATALOG_TYPES = List.of(Plan.class, Achievement.class, StoreItem.class);
+
+    private final CatalogCacheInvalidator invalidator;
+
+    public CatalogEntityListener(CatalogCacheInvalidator invalidator) {
+        this.invalidator = invalidator;
+    }
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void onChange(Object entity) {
+        invalidator.entityChanged(Hibernate.getClass(entity));
+    }
+}
@@ -0,0 +1,33 @@
+package com.thatmoment.common.cache.hibernate;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.hibernate.autoconfigure.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+public class HibernateCacheConfig {
+
+    @Bean
+    public CaffeineRegionFactory caffeineRegionFactory(
+            MeterRegistry meterRegistry,
+            @Value("${app.cache.hibernate.maximum-size:10000}") long maximumSize,
+            @Value("${app.cache.hibernate.expire-after-write:1h}") Duration expireAfterWrite
+    ) {
+        return new CaffeineRegionFactory(meterRegistry, maximumSize, expireAfterWrite);
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheCustomizer(CaffeineRegionFactory regionFactory) {
+        return properties -> {
+            properties.put(AvailableSettings.CACHE_REGION_FACTORY, regionFactory);
+            properties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, true);
+            properties.put(AvailableSettings.USE_QUERY_CACHE, true);
+            properties.put(AvailableSettings.JAKARTA_SHARED_CACHE_MODE, "ENABLE_SELECTIVE");
+        };
+    }
+}
@@ -22,10 +22,27 @@ public final class ApiDescriptions {
     public static final String LOGIN_DESCRIPTION = "Sends a login OTP to the user's email.";
     public static final String LOGIN_VERIFY_SUMMARY = "Verify login code";
     public static final String LOGIN_VERIFY_DESCRIPTION = "Validates the login OTP and signs the user in.";
+    public static final String REGISTER_PASSWORD_SUMMARY = "Register user with password";
+    public static final String REGISTER_PASSWORD_DESCRIPTION = "Creates a password account and issues an email verification code.";
+    public static final String LOGIN_PASSWORD_SUMMARY = "Login with password";
+    public static final String LOGIN_PASSWORD_DESCRIPTION = "Checks the email and password and signs the user in.";
+    public static final String LOGIN_OAUTH_SUMMARY = "Login with Google or Apple";
+    public static final String LOGIN_OAUTH_DESCRIPTION = "Verifies the provider ID token and signs the user in, creating the account on first use.";
     public static final String REFRESH_SUMMARY = "Refresh tokens";
     public static final String REFRESH_DESCRIPTION = "Rotates refresh token and issues a new access token.";
     public static final String LOGOUT_SUMMARY = "Logout";
     public static final String LOGOUT_DESCRIPTION = "Revokes the current session or all sessions.";
     public static final String SESSIONS_SUMMARY = "Active sessions";
     public static final String SESSIONS_DESCRIPTION = "Returns active sessions for the current user.";
+    public static final String JWKS_SUMMARY = "Token signing keys";
+    public static final String JWKS_DESCRIPTION = "Publishes the public keys used to sign access tokens as a JWK set.";
+
+    public static final String TAG_SYNC = "Sync";
+    public static final String TAG_SYNC_DESC = "Offline-first delta sync";
+    public static final String SYNC_PULL_SUMMARY = "Pull changes";
+    public static final String SYNC_PULL_DESCRIPTION = "Returns journal entries, routine entries and time blocks changed after the given version, including deletions. Served as JSON, CBOR or Smile per Accept.";
+    public static final String SYNC_PUSH_SUMMARY = "Push changes";
+    public static final String SYNC_PUSH_DESCRIPTION = "Applies a batch of offline edits and reports applied, conflict or rejected per mutation. Accepts JSON, CBOR or Smile bodies.";
+    public static final String SYNC_BOOTSTRAP_SUMMARY = "Bootstrap a device";
+    public static final String SYNC_BOOTSTRAP_DESCRIPTION = "Streams the user's full state as NDJSON with resumable checkpoints, ending with the version to pull changes from.";
 }
@@ -25,6 +25,14 @@ public final class AuthMessages {
     public static final String AUTHENTICATION_REQUIRED = "Authentication required";
     public static final String ACCESS_TOKEN_EXPIRED = "Access token has expired. Please refresh your token.";
     public static final String INVALID_ACCESS_TOKEN = "Invalid access token.";
+    public static final String TOO_MANY_REQUESTS = "Too many requests. Please try again later.";
+    public static final String INVALID_CREDENTIALS = "Invalid email or password";
+    public static final String PASSWORD_TOO_LONG = "Password must not exceed 72 bytes";
+    public static final String INVALID_ID_TOKEN = "Invalid identity token";
+    public static final String UNSUPPORTED_OAUTH_PROVIDER = "Unsupported sign-in provider";
+    public static final String OAUTH_EMAIL_NOT_VERIFIED = "The sign-in provider has not verified this email address";
+    public static final String OAUTH_PROVIDER_ALREADY_LINKED = "This account is already linked to a different account at this sign-in provider";
+    public static final String SESSION_REVOKED = "Session has been revoked. Please sign in again.";
 
     public static final String REGISTRATION_SUCCESS = "Registration successful. Verification code sent.";
     public static final String EMAIL_VERIFIED_SUCCESS = "Email verified successfully";
@@ -0,0 +1,21 @@
+package com.thatmoment.common.constants;
+
+public final class SyncMessages {
+
+    private SyncMessages() {
+    }
+
+    public static final String INVALID_SINCE = "since must not be negative";
+    public static final String INVALID_DEVICE_ID = "X-Device-Id must be 1 to 255 characters";
+    public static final String INVALID_PAGE_SIZE = "limit must be positive";
+    public static final String INVALID_CHECKPOINT = "Invalid bootstrap checkpoint";
+    public static final String BOOTSTRAP_BUSY = "Too many bootstrap downloads in progress, retry shortly";
+    public static final String UNSUPPORTED_CONTENT_ENCODING = "Content-Encoding must be gzip, deflate or identity";
+    public static final String REQUEST_BODY_TOO_LARGE = "Decompressed request body is too large";
+    public static final String TOO_MANY_MUTATIONS_FORMAT = "At most %d mutations can be pushed at once";
+
+    public static final String UNKNOWN_ENTITY_TYPE = "Unknown entity type";
+    public static final String REFERENCE_NOT_FOUND_FORMAT = "%s not found";
+    public static final String CONSTRAINT_VIOLATION = "Row violates a data constraint";
+    public static final String SUPERSEDED = "Superseded by a later mutation of the same row";
+}
@@ -1,11 +1,11 @@
 package com.thatmoment.common.entity;
 
+import com.thatmoment.common.entity.id.EntityId;
 import jakarta.persistence.Column;
 import jakarta.persistence.EntityListeners;
 import jakarta.persistence.Id;
 import jakarta.persistence.MappedSuperclass;
 import org.hibernate.Hibernate;
-import org.hibernate.annotations.UuidGenerator;
 import org.springframework.data.annotation.CreatedBy;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedBy;
@@ -20,7 +20,7 @@ import java.util.UUID;
 public abstract class BaseEntity {
 
     @Id
-    @UuidGenerator
+    @EntityId
     @Column(name = "id", updatable = false, nullable = false)
     private UUID id;
 
@@ -0,0 +1,18 @@
+package com.thatmoment.common.entity.id;
+
+import org.hibernate.annotations.IdGeneratorType;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * UUID primary key whose version is chosen per entity: {@link UuidV7} for entities annotated
+ * with {@link TimeOrderedId}, random v4 otherwise.
+ */
+@IdGeneratorType(EntityIdGenerator.class)
+@Target({ElementType.FIELD, ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface EntityId {
+}
@@ -0,0 +1,36 @@
+package com.thatmoment.common.entity.id;
+
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.generator.BeforeExecutionGenerator;
+import org.hibernate.generator.EventType;
+import org.hibernate.generator.EventTypeSets;
+import org.hibernate.generator.GeneratorCreationContext;
+
+import java.lang.reflect.Member;
+import java.util.EnumSet;
+import java.util.UUID;
+
+public class EntityIdGenerator implements BeforeExecutionGenerator {
+
+    private final boolean timeOrdered;
+
+    public EntityIdGenerator(EntityId config, Member member, GeneratorCreationContext context) {
+        Class<?> entityClass = context.getPersistentClass().getMappedClass();
+        this.timeOrdered = entityClass != null && entityClass.isAnnotationPresent(TimeOrderedId.class);
+    }
+
+    @Override
+    public Object generate(
+            SharedSessionContractImplementor session,
+            Object owner,
+            Object currentValue,
+            EventType eventType
+    ) {
+        return timeOrdered ? UuidV7.generate() : UUID.randomUUID();
+    }
+
+    @Override
+    public EnumSet<EventType> getEventTypes() {
+        return EventTypeSets.INSERT_ONLY;
+    }
+}
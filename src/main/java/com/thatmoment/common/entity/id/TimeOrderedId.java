@@ -0,0 +1,16 @@
+package com.thatmoment.common.entity.id;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks an entity whose primary key should be a time-ordered {@link UuidV7} instead of a random
+ * v4 UUID. Meant for insert-heavy tables where sequential keys keep B-tree inserts on the
+ * right-most pages; avoid it where the id is shown to users, since v7 leaks the creation time.
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface TimeOrderedId {
+}
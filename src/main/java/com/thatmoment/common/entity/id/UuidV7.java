@@ -0,0 +1,43 @@
+package com.thatmoment.common.entity.id;
+
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * RFC 9562 version 7 UUIDs: 48-bit Unix millisecond timestamp, 12-bit sequence counter
+ * ({@code rand_a}, method 1 of section 6.2) and 62 random bits. Ids generated by one JVM are
+ * strictly increasing; when more than 4096 ids are drawn in the same millisecond the counter
+ * carries into the timestamp instead of going backwards.
+ */
+public final class UuidV7 {
+
+    private static final int COUNTER_BITS = 12;
+    private static final long VERSION = 0x7L << 12;
+    private static final long VARIANT = 0x2L << 62;
+    private static final long RAND_B_MASK = (1L << 62) - 1;
+
+    // (unix millis << 12) | counter of the last id handed out
+    private static final AtomicLong LAST = new AtomicLong();
+
+    private UuidV7() {
+    }
+
+    public static UUID generate() {
+        long nowState = System.currentTimeMillis() << COUNTER_BITS;
+        long state;
+        while (true) {
+            long last = LAST.get();
+            state = nowState > last ? nowState : last + 1;
+            if (LAST.compareAndSet(last, state)) {
+                break;
+            }
+        }
+
+        long millis = state >>> COUNTER_BITS;
+        long counter = state & ((1L << COUNTER_BITS) - 1);
+        long msb = (millis << 16) | VERSION | counter;
+        long lsb = VARIANT | (ThreadLocalRandom.current().nextLong() & RAND_B_MASK);
+        return new UUID(msb, lsb);
+    }
+}
@@ -7,6 +7,7 @@ import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ProblemDetail;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.HttpMessageNotReadableException;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -58,6 +59,24 @@ public class GlobalExceptionHandler {
         return ResponseEntity.badRequest().body(problemDetail);
     }
 
+    @ExceptionHandler(HttpMessageNotReadableException.class)
+    public ResponseEntity<ProblemDetail> handleNotReadableException(HttpMessageNotReadableException ex) {
+        // A limit enforced while the body was being read, e.g. the decompressed size cap
+        if (ex.getMostSpecificCause() instanceof ApiException apiException) {
+            return handleApiException(apiException);
+        }
+        log.debug("Unreadable request body: {}", ex.getMessage());
+
+        ProblemDetail problemDetail = ProblemDetail.forStatus(HttpStatus.BAD_REQUEST);
+        problemDetail.setType(URI.create("https://thatmoment.com/errors/malformed-request"));
+        problemDetail.setTitle(HttpStatus.BAD_REQUEST.getReasonPhrase());
+        problemDetail.setDetail("Malformed request body");
+        problemDetail.setProperty("errorCode", "MALFORMED_REQUEST");
+        problemDetail.setProperty("timestamp", Instant.now().toString());
+
+        return ResponseEntity.badRequest().body(problemDetail);
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ProblemDetail> handleUnexpectedException(Exception ex) {
         log.error("Unhandled exception", ex);
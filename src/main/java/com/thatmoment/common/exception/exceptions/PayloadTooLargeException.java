@@ -0,0 +1,11 @@
+package com.thatmoment.common.exception.exceptions;
+
+import com.thatmoment.common.exception.ApiException;
+import org.springframework.http.HttpStatus;
+
+public class PayloadTooLargeException extends ApiException {
+
+    public PayloadTooLargeException(String message) {
+        super(message, HttpStatus.CONTENT_TOO_LARGE, "PAYLOAD_TOO_LARGE");
+    }
+}
@@ -0,0 +1,256 @@
+package com.thatmoment.common.mail;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import jakarta.mail.MessagingException;
+import jakarta.mail.Transport;
+import jakarta.mail.internet.MimeMessage;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.thread.Threading;
+import org.springframework.core.env.Environment;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Dedicated delivery pipeline for outgoing mail: a bounded queue drained by a fixed set of
+ * workers that send over pooled SMTP connections, with a concurrency cap per recipient domain.
+ * A message deferred by a saturated domain goes back on the queue; if the queue is full it is
+ * offered again with a growing delay, and only fails back to the caller if it stays full.
+ */
+@Component
+@Slf4j
+public class MailDeliveryEngine {
+
+    // Far longer than a send can hold a permit, so a semaphore is never dropped while in use
+    private static final Duration DOMAIN_PERMIT_IDLE = Duration.ofMinutes(10);
+    private static final int MAX_REOFFERS = 5;
+
+    private final MailDeliveryProperties properties;
+    private final SmtpTransportPool transportPool;
+    private final ThreadPoolExecutor executor;
+    private final ArrayBlockingQueue<Runnable> queue;
+    // Recipient domains are user-supplied, so idle ones are forgotten
+    private final Cache<String, Semaphore> domainPermits = Caffeine.newBuilder()
+            .expireAfterAccess(DOMAIN_PERMIT_IDLE)
+            .build();
+
+    private final Counter accepted;
+    private final Counter rejected;
+    private final Counter sent;
+    private final Counter failed;
+    private final Counter domainDeferred;
+    private final Timer sendTimer;
+
+    public MailDeliveryEngine(
+            JavaMailSender mailSender,
+            MailDeliveryProperties properties,
+            MeterRegistry meterRegistry,
+            Environment environment
+    ) {
+        if (!(mailSender instanceof JavaMailSenderImpl senderImpl)) {
+            throw new IllegalStateException("Mail delivery requires a JavaMailSenderImpl");
+        }
+        this.properties = properties;
+        this.transportPool = new SmtpTransportPool(
+                senderImpl,
+                properties.transportPoolSize(),
+                properties.transportMaxIdle()
+        );
+        this.queue = new ArrayBlockingQueue<>(properties.queueCapacity());
+        this.executor = new ThreadPoolExecutor(
+                properties.workers(),
+                properties.workers(),
+                0L,
+                TimeUnit.MILLISECONDS,
+                queue,
+                Threading.VIRTUAL.isActive(environment)
+                        ? Thread.ofVirtual().name("mail-delivery-", 0).factory()
+                        : Thread.ofPlatform().name("mail-delivery-", 0).daemon(true).factory(),
+                new ThreadPoolExecutor.AbortPolicy()
+        );
+
+        this.accepted = meterRegistry.counter("mail.delivery.accepted");
+        this.rejected = meterRegistry.counter("mail.delivery.rejected");
+        this.sent = meterRegistry.counter("mail.delivery.sent");
+        this.failed = meterRegistry.counter("mail.delivery.failed");
+        this.domainDeferred = meterRegistry.counter("mail.delivery.domain.deferred");
+        this.sendTimer = meterRegistry.timer("mail.delivery.send");
+        Gauge.builder("mail.delivery.queue.size", queue, ArrayBlockingQueue::size)
+                .register(meterRegistry);
+        Gauge.builder("mail.delivery.queue.remaining", queue, ArrayBlockingQueue::remainingCapacity)
+                .register(meterRegistry);
+        Gauge.builder("mail.delivery.transports.idle", transportPool, SmtpTransportPool::idleCount)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Queues a message for delivery. The returned future completes once the message has been
+     * handed to the SMTP server, or exceptionally when it was rejected or could not be sent.
+     * Cancelling it withdraws the message only while it is still queued: {@code cancel} returns
+     * false once a worker has started sending it.
+     */
+    public CompletableFuture<Void> submit(MimeMessage message, String recipient) {
+        String domain = domainOf(recipient);
+        Delivery result = new Delivery();
+        try {
+            executor.execute(() -> deliver(message, recipient, domain, result));
+            accepted.increment();
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            log.warn("Mail queue full, dropping message to: {}", recipient);
+            result.completeExceptionally(e);
+        }
+        return result;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(properties.shutdownTimeout().toMillis(), TimeUnit.MILLISECONDS)) {
+                log.warn("Mail delivery did not drain within {}, {} messages dropped",
+                        properties.shutdownTimeout(), executor.shutdownNow().size());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            executor.shutdownNow();
+        } finally {
+            transportPool.close();
+        }
+    }
+
+    private void deliver(MimeMessage message, String recipient, String domain, Delivery result) {
+        if (result.isCancelled()) {
+            return;
+        }
+        Semaphore permit = domainPermits.get(
+                domain,
+                ignored -> new Semaphore(properties.perDomainConcurrency())
+        );
+        try {
+            if (!permit.tryAcquire(properties.domainPermitWait().toNanos(), TimeUnit.NANOSECONDS)) {
+                // Domain is saturated; put the message back so this worker can serve other domains
+                domainDeferred.increment();
+                requeue(message, recipient, domain, result, 0);
+                return;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            failed.increment();
+            result.completeExceptionally(e);
+            return;
+        }
+
+        try {
+            sendTimer.record(() -> send(message, recipient, result));
+        } finally {
+            permit.release();
+        }
+    }
+
+    private void send(MimeMessage message, String recipient, Delivery result) {
+        if (!result.start()) {
+            // Withdrawn by the caller while it waited in the queue
+            return;
+        }
+        try {
+            message.saveChanges();
+            // A pooled connection may have been dropped by the server; retry once on a fresh one
+            if (!trySend(message) && !trySend(message)) {
+                throw new MessagingException("SMTP connection lost while sending");
+            }
+            sent.increment();
+            log.info("Email sent to: {}", recipient);
+            result.complete(null);
+        } catch (MessagingException e) {
+            failed.increment();
+            log.error("Failed to send email to: {}", recipient, e);
+            result.completeExceptionally(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            failed.increment();
+            result.completeExceptionally(e);
+        }
+    }
+
+    private boolean trySend(MimeMessage message) throws MessagingException, InterruptedException {
+        Transport transport = transportPool.borrow(properties.transportBorrowTimeout());
+        boolean reusable = false;
+        try {
+            transport.sendMessage(message, message.getAllRecipients());
+            reusable = true;
+            return true;
+        } catch (MessagingException e) {
+            if (transport.isConnected()) {
+                throw e;
+            }
+            return false;
+        } finally {
+            transportPool.release(transport, reusable);
+        }
+    }
+
+    private void requeue(MimeMessage message, String recipient, String domain, Delivery result, int reoffers) {
+        if (result.isDone()) {
+            return;
+        }
+        if (executor.isShutdown()) {
+            if (reoffers == 0) {
+                // Still on a draining worker; finish the message here
+                sendTimer.record(() -> send(message, recipient, result));
+            } else {
+                result.completeExceptionally(new RejectedExecutionException("Mail delivery shut down"));
+            }
+            return;
+        }
+        try {
+            executor.execute(() -> deliver(message, recipient, domain, result));
+        } catch (RejectedExecutionException e) {
+            if (reoffers < MAX_REOFFERS) {
+                // The message was already accepted; offer it again once the queue has had time to drain
+                Duration delay = properties.domainPermitWait().multipliedBy(reoffers + 1L);
+                CompletableFuture.delayedExecutor(delay.toNanos(), TimeUnit.NANOSECONDS)
+                        .execute(() -> requeue(message, recipient, domain, result, reoffers + 1));
+                return;
+            }
+            rejected.increment();
+            log.warn("Mail queue still full, handing deferred message to {} back to its caller", recipient);
+            result.completeExceptionally(e);
+        }
+    }
+
+    private static String domainOf(String recipient) {
+        int at = recipient.lastIndexOf('@');
+        return at < 0 ? "" : recipient.substring(at + 1).toLowerCase(Locale.ROOT);
+    }
+
+    private static final class Delivery extends CompletableFuture<Void> {
+
+        private final AtomicBoolean started = new AtomicBoolean();
+
+        boolean start() {
+            return started.compareAndSet(false, true);
+        }
+
+        @Override
+        public boolean cancel(boolean mayInterruptIfRunning) {
+            return start() && super.cancel(mayInterruptIfRunning);
+        }
+    }
+}
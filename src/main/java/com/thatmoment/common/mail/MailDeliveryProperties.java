@@ -0,0 +1,19 @@
+package com.thatmoment.common.mail;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "app.mail.delivery")
+public record MailDeliveryProperties(
+        @DefaultValue("1000") int queueCapacity,
+        @DefaultValue("4") int workers,
+        @DefaultValue("4") int transportPoolSize,
+        @DefaultValue("60s") Duration transportMaxIdle,
+        @DefaultValue("5s") Duration transportBorrowTimeout,
+        @DefaultValue("2") int perDomainConcurrency,
+        @DefaultValue("200ms") Duration domainPermitWait,
+        @DefaultValue("10s") Duration shutdownTimeout
+) {
+}
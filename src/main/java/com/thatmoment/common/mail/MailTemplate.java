@@ -0,0 +1,65 @@
+package com.thatmoment.common.mail;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * HTML template split once into static segments around its {@code %s} placeholders, so rendering
+ * is a plain concatenation instead of re-reading and re-formatting the file per message.
+ */
+public final class MailTemplate {
+
+    private static final String PLACEHOLDER = "%s";
+
+    private final String[] segments;
+    private final int staticLength;
+
+    private MailTemplate(String[] segments) {
+        this.segments = segments;
+        int length = 0;
+        for (String segment : segments) {
+            length += segment.length();
+        }
+        this.staticLength = length;
+    }
+
+    public static MailTemplate compile(String source) {
+        List<String> segments = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        for (int i = 0; i < source.length(); i++) {
+            char c = source.charAt(i);
+            if (c == '%' && i + 1 < source.length()) {
+                char next = source.charAt(i + 1);
+                if (next == '%') {
+                    current.append('%');
+                    i++;
+                    continue;
+                }
+                if (next == 's') {
+                    segments.add(current.toString());
+                    current.setLength(0);
+                    i++;
+                    continue;
+                }
+            }
+            current.append(c);
+        }
+        segments.add(current.toString());
+        return new MailTemplate(segments.toArray(String[]::new));
+    }
+
+    public String render(String... values) {
+        int valueLength = 0;
+        for (String value : values) {
+            valueLength += value == null ? 0 : value.length();
+        }
+        StringBuilder out = new StringBuilder(staticLength + valueLength);
+        for (int i = 0; i < segments.length; i++) {
+            out.append(segments[i]);
+            if (i < segments.length - 1 && i < values.length) {
+                out.append(values[i]);
+            }
+        }
+        return out.toString();
+    }
+}
@@ -0,0 +1,95 @@
+package com.thatmoment.common.mail;
+
+import jakarta.mail.MessagingException;
+import jakarta.mail.Transport;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps a bounded set of connected, authenticated SMTP transports so consecutive messages
+ * skip the TCP/TLS handshake and AUTH exchange.
+ */
+@Slf4j
+class SmtpTransportPool implements AutoCloseable {
+
+    private final JavaMailSenderImpl mailSender;
+    private final Semaphore permits;
+    private final BlockingQueue<IdleTransport> idle;
+    private final long maxIdleNanos;
+
+    SmtpTransportPool(JavaMailSenderImpl mailSender, int size, Duration maxIdle) {
+        this.mailSender = mailSender;
+        this.permits = new Semaphore(size);
+        this.idle = new ArrayBlockingQueue<>(size);
+        this.maxIdleNanos = maxIdle.toNanos();
+    }
+
+    Transport borrow(Duration timeout) throws MessagingException, InterruptedException {
+        if (!permits.tryAcquire(timeout.toNanos(), TimeUnit.NANOSECONDS)) {
+            throw new MessagingException("No SMTP transport available within " + timeout);
+        }
+        try {
+            IdleTransport candidate;
+            while ((candidate = idle.poll()) != null) {
+                if (System.nanoTime() - candidate.idleSince() < maxIdleNanos && candidate.transport().isConnected()) {
+                    return candidate.transport();
+                }
+                closeQuietly(candidate.transport());
+            }
+            return connect();
+        } catch (MessagingException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    void release(Transport transport, boolean reusable) {
+        try {
+            if (!reusable || !idle.offer(new IdleTransport(transport, System.nanoTime()))) {
+                closeQuietly(transport);
+            }
+        } finally {
+            permits.release();
+        }
+    }
+
+    int idleCount() {
+        return idle.size();
+    }
+
+    @Override
+    public void close() {
+        IdleTransport candidate;
+        while ((candidate = idle.poll()) != null) {
+            closeQuietly(candidate.transport());
+        }
+    }
+
+    private Transport connect() throws MessagingException {
+        Transport transport = mailSender.getSession().getTransport(mailSender.getProtocol());
+        transport.connect(
+                mailSender.getHost(),
+                mailSender.getPort(),
+                mailSender.getUsername(),
+                mailSender.getPassword()
+        );
+        return transport;
+    }
+
+    private static void closeQuietly(Transport transport) {
+        try {
+            transport.close();
+        } catch (MessagingException e) {
+            log.debug("Failed to close SMTP transport: {}", e.getMessage());
+        }
+    }
+
+    private record IdleTransport(Transport transport, long idleSince) {
+    }
+}
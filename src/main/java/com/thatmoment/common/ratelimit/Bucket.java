@@ -0,0 +1,4 @@
+package com.thatmoment.common.ratelimit;
+
+record Bucket(String key, int capacity, long periodMillis) {
+}
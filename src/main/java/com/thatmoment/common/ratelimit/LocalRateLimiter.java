@@ -0,0 +1,89 @@
+package com.thatmoment.common.ratelimit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+@Component
+class LocalRateLimiter {
+
+    private static final int STRIPES = 64;
+
+    private final ReentrantLock[] locks = new ReentrantLock[STRIPES];
+    private final Cache<String, State> states;
+
+    LocalRateLimiter(RateLimitProperties properties) {
+        for (int i = 0; i < STRIPES; i++) {
+            locks[i] = new ReentrantLock();
+        }
+        this.states = Caffeine.newBuilder()
+                .maximumSize(properties.localMaxBuckets())
+                .expireAfterAccess(Duration.ofHours(1))
+                .build();
+    }
+
+    long tryConsume(List<Bucket> buckets) {
+        int[] stripes = buckets.stream()
+                .mapToInt(bucket -> stripe(bucket.key()))
+                .distinct()
+                .sorted()
+                .toArray();
+
+        // Stripes are always taken in ascending order so concurrent callers cannot deadlock
+        for (int stripe : stripes) {
+            locks[stripe].lock();
+        }
+        try {
+            long now = System.currentTimeMillis();
+            State[] current = new State[buckets.size()];
+            double[] available = new double[buckets.size()];
+            long retryAfter = 0;
+
+            for (int i = 0; i < buckets.size(); i++) {
+                Bucket bucket = buckets.get(i);
+                double rate = (double) bucket.capacity() / bucket.periodMillis();
+                current[i] = states.get(bucket.key(), key -> new State(bucket.capacity(), now));
+                available[i] = Math.min(
+                        bucket.capacity(),
+                        current[i].tokens + Math.max(0, now - current[i].updatedAt) * rate
+                );
+                if (available[i] < 1) {
+                    retryAfter = Math.max(retryAfter, (long) Math.ceil((1 - available[i]) / rate));
+                }
+            }
+
+            if (retryAfter > 0) {
+                return retryAfter;
+            }
+
+            for (int i = 0; i < buckets.size(); i++) {
+                current[i].tokens = available[i] - 1;
+                current[i].updatedAt = now;
+            }
+            return 0;
+        } finally {
+            for (int i = stripes.length - 1; i >= 0; i--) {
+                locks[stripes[i]].unlock();
+            }
+        }
+    }
+
+    private static int stripe(String key) {
+        int hash = key.hashCode();
+        return (hash ^ (hash >>> 16)) & (STRIPES - 1);
+    }
+
+    private static final class State {
+        private double tokens;
+        private long updatedAt;
+
+        private State(double tokens, long updatedAt) {
+            this.tokens = tokens;
+            this.updatedAt = updatedAt;
+        }
+    }
+}
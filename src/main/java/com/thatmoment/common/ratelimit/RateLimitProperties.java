@@ -0,0 +1,26 @@
+package com.thatmoment.common.ratelimit;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.Map;
+
+@ConfigurationProperties(prefix = "app.rate-limit")
+public record RateLimitProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("5s") Duration redisRetryDelay,
+        @DefaultValue("100000") int localMaxBuckets,
+        Map<String, EndpointLimits> endpoints
+) {
+
+    public RateLimitProperties {
+        endpoints = endpoints != null ? Map.copyOf(endpoints) : Map.of();
+    }
+
+    public record EndpointLimits(Limit perEmail, Limit perIp, Limit global) {
+    }
+
+    public record Limit(int capacity, Duration period) {
+    }
+}
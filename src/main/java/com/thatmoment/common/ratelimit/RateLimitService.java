@@ -0,0 +1,86 @@
+package com.thatmoment.common.ratelimit;
+
+import com.thatmoment.common.constants.AuthMessages;
+import com.thatmoment.common.exception.exceptions.TooManyRequestsException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+@Service
+public class RateLimitService {
+
+    private static final Logger log = LoggerFactory.getLogger(RateLimitService.class);
+    private static final String KEY_PREFIX = "rl:";
+
+    private final RateLimitProperties properties;
+    private final RedisRateLimiter redisRateLimiter;
+    private final LocalRateLimiter localRateLimiter;
+
+    private volatile long redisRetryAt;
+
+    public RateLimitService(
+            RateLimitProperties properties,
+            RedisRateLimiter redisRateLimiter,
+            LocalRateLimiter localRateLimiter
+    ) {
+        this.properties = properties;
+        this.redisRateLimiter = redisRateLimiter;
+        this.localRateLimiter = localRateLimiter;
+    }
+
+    public void check(String endpoint, String email, String ipAddress) {
+        if (!properties.enabled()) {
+            return;
+        }
+
+        RateLimitProperties.EndpointLimits limits = properties.endpoints().get(endpoint);
+        if (limits == null) {
+            return;
+        }
+
+        List<Bucket> buckets = new ArrayList<>(3);
+        if (email != null) {
+            addBucket(buckets, limits.perEmail(), endpoint + ":email:" + email.trim().toLowerCase(Locale.ROOT));
+        }
+        if (ipAddress != null) {
+            addBucket(buckets, limits.perIp(), endpoint + ":ip:" + ipAddress);
+        }
+        addBucket(buckets, limits.global(), endpoint + ":global");
+
+        if (buckets.isEmpty()) {
+            return;
+        }
+
+        long retryAfterMillis = tryConsume(buckets);
+        if (retryAfterMillis > 0) {
+            log.debug("Rate limit exceeded on {} for email: {} ip: {}", endpoint, email, ipAddress);
+            int retryAfterSeconds = (int) Math.max(1, (retryAfterMillis + 999) / 1000);
+            throw new TooManyRequestsException(AuthMessages.TOO_MANY_REQUESTS, retryAfterSeconds);
+        }
+    }
+
+    private long tryConsume(List<Bucket> buckets) {
+        if (System.currentTimeMillis() >= redisRetryAt) {
+            try {
+                return redisRateLimiter.tryConsume(buckets);
+            } catch (DataAccessException | IllegalStateException e) {
+                // Skip Redis for a while instead of paying a connection timeout on every request
+                redisRetryAt = System.currentTimeMillis() + properties.redisRetryDelay().toMillis();
+                log.warn("Redis rate limiter unavailable, using local limiter: {}", e.getMessage());
+            }
+        }
+        return localRateLimiter.tryConsume(buckets);
+    }
+
+    private static void addBucket(List<Bucket> buckets, RateLimitProperties.Limit limit, String key) {
+        if (limit == null || limit.capacity() <= 0 || limit.period() == null) {
+            return;
+        }
+        buckets.add(new Bucket(KEY_PREFIX + key, limit.capacity(), Math.max(1, limit.period().toMillis())));
+    }
+}
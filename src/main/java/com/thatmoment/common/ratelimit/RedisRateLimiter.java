@@ -0,0 +1,49 @@
+package com.thatmoment.common.ratelimit;
+
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.scripting.support.ResourceScriptSource;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Component
+class RedisRateLimiter {
+
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> SCRIPT = loadScript();
+
+    private final StringRedisTemplate redisTemplate;
+
+    RedisRateLimiter(StringRedisTemplate redisTemplate) {
+        this.redisTemplate = redisTemplate;
+    }
+
+    long tryConsume(List<Bucket> buckets) {
+        List<String> keys = new ArrayList<>(buckets.size());
+        Object[] args = new Object[buckets.size() * 2];
+        for (int i = 0; i < buckets.size(); i++) {
+            Bucket bucket = buckets.get(i);
+            keys.add(bucket.key());
+            args[i * 2] = String.valueOf(bucket.capacity());
+            args[i * 2 + 1] = String.valueOf(bucket.periodMillis());
+        }
+
+        List<?> result = redisTemplate.execute(SCRIPT, keys, args);
+        if (result == null || result.size() < 2) {
+            throw new IllegalStateException("Unexpected rate limit script result: " + result);
+        }
+        return ((Number) result.get(0)).longValue() == 1 ? 0 : ((Number) result.get(1)).longValue();
+    }
+
+    @SuppressWarnings("rawtypes")
+    private static RedisScript<List> loadScript() {
+        DefaultRedisScript<List> script = new DefaultRedisScript<>();
+        script.setScriptSource(new ResourceScriptSource(new ClassPathResource("scripts/rate-limit.lua")));
+        script.setResultType(List.class);
+        return script;
+    }
+}
@@ -1,6 +1,9 @@
 package com.thatmoment.common.service;
 
 import com.thatmoment.common.constants.MailTemplates;
+import com.thatmoment.common.mail.MailDeliveryEngine;
+import com.thatmoment.common.mail.MailTemplate;
+import jakarta.annotation.PostConstruct;
 import jakarta.mail.MessagingException;
 import jakarta.mail.internet.MimeMessage;
 import lombok.RequiredArgsConstructor;
@@ -10,19 +13,22 @@ import org.springframework.core.io.Resource;
 import org.springframework.core.io.ResourceLoader;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.mail.javamail.MimeMessageHelper;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class EmailService {
 
+    private static final MailTemplate FALLBACK_TEMPLATE = MailTemplate.compile("<p>%s</p>");
+
     private final JavaMailSender mailSender;
+    private final MailDeliveryEngine deliveryEngine;
     private final ResourceLoader resourceLoader;
 
     @Value("${app.mail.from}")
@@ -31,30 +37,40 @@ public class EmailService {
     @Value("${app.mail.from-name}")
     private String fromName;
 
-    @Async
-    public void sendVerificationCode(String to, String code, String purpose) {
+    private MailTemplate emailVerifyTemplate;
+    private MailTemplate loginOtpTemplate;
+    private MailTemplate genericTemplate;
+
+    @PostConstruct
+    void loadTemplates() {
+        emailVerifyTemplate = loadTemplate(MailTemplates.TEMPLATE_EMAIL_VERIFY);
+        loginOtpTemplate = loadTemplate(MailTemplates.TEMPLATE_LOGIN_OTP);
+        genericTemplate = loadTemplate(MailTemplates.TEMPLATE_GENERIC);
+    }
+
+    public CompletableFuture<Void> sendVerificationCode(String to, String code, String purpose) {
         String subject;
         String content;
 
         switch (purpose) {
             case "EMAIL_VERIFY" -> {
                 subject = MailTemplates.SUBJECT_EMAIL_VERIFY;
-                content = loadTemplate(MailTemplates.TEMPLATE_EMAIL_VERIFY, code);
+                content = emailVerifyTemplate.render(code);
             }
             case "LOGIN_OTP" -> {
                 subject = MailTemplates.SUBJECT_LOGIN_OTP;
-                content = loadTemplate(MailTemplates.TEMPLATE_LOGIN_OTP, code);
+                content = loginOtpTemplate.render(code);
             }
             default -> {
                 subject = MailTemplates.SUBJECT_GENERIC;
-                content = loadTemplate(MailTemplates.TEMPLATE_GENERIC, code);
+                content = genericTemplate.render(code);
             }
         }
 
-        sendEmail(to, subject, content);
+        return sendEmail(to, subject, content);
     }
 
-    private void sendEmail(String to, String subject, String htmlContent) {
+    private CompletableFuture<Void> sendEmail(String to, String subject, String htmlContent) {
         try {
             MimeMessage message = mailSender.createMimeMessage();
             MimeMessageHelper helper = new MimeMessageHelper(message, true, "UTF-8");
@@ -64,21 +80,20 @@ public class EmailService {
             helper.setSubject(subject);
             helper.setText(htmlContent, true);
 
-            mailSender.send(message);
-            log.info("Email sent to: {}", to);
+            return deliveryEngine.submit(message, to);
         } catch (MessagingException | java.io.UnsupportedEncodingException e) {
-            log.error("Failed to send email to: {}", to, e);
+            log.error("Failed to build email to: {}", to, e);
+            return CompletableFuture.failedFuture(e);
         }
     }
 
-    private String loadTemplate(String templatePath, String code) {
+    private MailTemplate loadTemplate(String templatePath) {
         Resource resource = resourceLoader.getResource("classpath:" + templatePath);
         try (InputStream inputStream = resource.getInputStream()) {
-            String template = new String(inputStream.readAllBytes(), StandardCharsets.UTF_8);
-            return template.formatted(code);
+            return MailTemplate.compile(new String(inputStream.readAllBytes(), StandardCharsets.UTF_8));
         } catch (IOException e) {
             log.error("Failed to load email template: {}", templatePath, e);
-            return "<p>" + code + "</p>";
+            return FALLBACK_TEMPLATE;
         }
     }
 }
@@ -0,0 +1,15 @@
+package com.thatmoment.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * HTTP Basic credentials for the operational actuator endpoints. With no password hash configured
+ * only health is reachable.
+ */
+@ConfigurationProperties(prefix = "app.actuator")
+public record ActuatorSecurityProperties(
+        @DefaultValue("ops") String username,
+        @DefaultValue("") String passwordHash
+) {
+}
@@ -4,29 +4,75 @@ import com.thatmoment.auth.security.JwtAuthenticationEntryPoint;
 import com.thatmoment.auth.security.JwtAuthenticationFilter;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.provisioning.InMemoryUserDetailsManager;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+import org.springframework.util.StringUtils;
 
 @Configuration
 @EnableWebSecurity
 public class SecurityConfig {
 
+    private static final String OPERATOR_ROLE = "OPERATOR";
+
     private final JwtAuthenticationFilter jwtAuthenticationFilter;
     private final JwtAuthenticationEntryPoint jwtAuthenticationEntryPoint;
+    private final ActuatorSecurityProperties actuatorSecurityProperties;
 
     public SecurityConfig(
             JwtAuthenticationFilter jwtAuthenticationFilter,
-            JwtAuthenticationEntryPoint jwtAuthenticationEntryPoint
+            JwtAuthenticationEntryPoint jwtAuthenticationEntryPoint,
+            ActuatorSecurityProperties actuatorSecurityProperties
     ) {
         this.jwtAuthenticationFilter = jwtAuthenticationFilter;
         this.jwtAuthenticationEntryPoint = jwtAuthenticationEntryPoint;
+        this.actuatorSecurityProperties = actuatorSecurityProperties;
+    }
+
+    /**
+     * Actuator endpoints other than health can flush caches, so they take HTTP Basic credentials
+     * of an operator account instead of user JWTs.
+     */
+    @Bean
+    @Order(1)
+    public SecurityFilterChain actuatorSecurityFilterChain(HttpSecurity http) throws Exception {
+        InMemoryUserDetailsManager operators = new InMemoryUserDetailsManager();
+        if (StringUtils.hasText(actuatorSecurityProperties.passwordHash())) {
+            operators.createUser(User.withUsername(actuatorSecurityProperties.username())
+                    .password(actuatorSecurityProperties.passwordHash())
+                    .roles(OPERATOR_ROLE)
+                    .build());
+        }
+        DaoAuthenticationProvider authenticationProvider = new DaoAuthenticationProvider(operators);
+        authenticationProvider.setPasswordEncoder(new BCryptPasswordEncoder());
+
+        http
+                .securityMatcher("/actuator/**")
+                .csrf(AbstractHttpConfigurer::disable)
+                .sessionManagement(session ->
+                        session.sessionCreationPolicy(SessionCreationPolicy.STATELESS)
+                )
+                .authenticationProvider(authenticationProvider)
+                .authorizeHttpRequests(auth -> auth
+                        .requestMatchers("/actuator/health", "/actuator/health/**").permitAll()
+                        .anyRequest().hasRole(OPERATOR_ROLE)
+                )
+                .httpBasic(basic -> {
+                });
+
+        return http.build();
     }
 
     @Bean
+    @Order(2)
     public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
         http
                 // CSRF - REST API icin gerekli degil
@@ -46,19 +92,22 @@ public class SecurityConfig {
                 .authorizeHttpRequests(auth -> auth
                         .requestMatchers(
                                 "/api/v1/auth/register",
+                                "/api/v1/auth/register/password",
                                 "/api/v1/auth/verify-email",
                                 "/api/v1/auth/resend-code",
                                 "/api/v1/auth/login",
                                 "/api/v1/auth/login/verify",
+                                "/api/v1/auth/login/password",
+                                "/api/v1/auth/login/oauth",
                                 "/api/v1/auth/refresh"
                         ).permitAll()
                         .requestMatchers(
                                 "/api/v1/health",
+                                "/.well-known/jwks.json",
                                 "/swagger-ui/**",
                                 "/swagger-ui.html",
                                 "/v3/api-docs/**"
                         ).permitAll()
-                        .requestMatchers("/actuator/**").permitAll()
                         .anyRequest().authenticated()
                 )
 
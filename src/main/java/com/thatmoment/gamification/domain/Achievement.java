@@ -0,0 +1,120 @@
+package com.thatmoment.gamification.domain;
+
+import com.thatmoment.common.cache.hibernate.CatalogEntityListener;
+import com.thatmoment.common.entity.BaseEntity;
+import jakarta.persistence.Cacheable;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
+import jakarta.persistence.Table;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
+@Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "catalog.achievements")
+@EntityListeners(CatalogEntityListener.class)
+@Table(name = "achievements", schema = "gamification")
+public class Achievement extends BaseEntity {
+
+    @Column(name = "code", nullable = false, unique = true, length = 50)
+    private String code;
+
+    @Column(name = "title", nullable = false, length = 100)
+    private String title;
+
+    @Column(name = "description", columnDefinition = "TEXT")
+    private String description;
+
+    @Column(name = "icon", length = 50)
+    private String icon;
+
+    @Column(name = "achievement_type", nullable = false, length = 50)
+    private String achievementType;
+
+    @Column(name = "requirement_type", nullable = false, length = 50)
+    private String requirementType;
+
+    @Column(name = "requirement_value", nullable = false)
+    private Integer requirementValue;
+
+    @Column(name = "requirement_category", length = 50)
+    private String requirementCategory;
+
+    @Column(name = "reward_coins", nullable = false)
+    private Integer rewardCoins = 0;
+
+    @Column(name = "reward_xp", nullable = false)
+    private Integer rewardXp = 0;
+
+    @Column(name = "reward_unlocks")
+    private String[] rewardUnlocks;
+
+    @Column(name = "rarity", nullable = false, length = 20)
+    private String rarity = "common";
+
+    @Column(name = "sort_order")
+    private Integer sortOrder = 0;
+
+    @Column(name = "is_active")
+    private Boolean isActive = true;
+
+    protected Achievement() {
+    }
+
+    public String getCode() {
+        return code;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public String getIcon() {
+        return icon;
+    }
+
+    public String getAchievementType() {
+        return achievementType;
+    }
+
+    public String getRequirementType() {
+        return requirementType;
+    }
+
+    public Integer getRequirementValue() {
+        return requirementValue;
+    }
+
+    public String getRequirementCategory() {
+        return requirementCategory;
+    }
+
+    public Integer getRewardCoins() {
+        return rewardCoins;
+    }
+
+    public Integer getRewardXp() {
+        return rewardXp;
+    }
+
+    public String[] getRewardUnlocks() {
+        return rewardUnlocks;
+    }
+
+    public String getRarity() {
+        return rarity;
+    }
+
+    public Integer getSortOrder() {
+        return sortOrder;
+    }
+
+    public Boolean getIsActive() {
+        return isActive;
+    }
+}
@@ -0,0 +1,106 @@
+package com.thatmoment.gamification.domain;
+
+import com.thatmoment.common.cache.hibernate.CatalogEntityListener;
+import com.thatmoment.common.entity.BaseEntity;
+import jakarta.persistence.Cacheable;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
+import jakarta.persistence.Table;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
+@Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "catalog.store-items")
+@EntityListeners(CatalogEntityListener.class)
+@Table(name = "store_items", schema = "gamification")
+public class StoreItem extends BaseEntity {
+
+    @Column(name = "code", nullable = false, unique = true, length = 50)
+    private String code;
+
+    @Column(name = "item_type", nullable = false, length = 50)
+    private String itemType;
+
+    @Column(name = "name", nullable = false, length = 100)
+    private String name;
+
+    @Column(name = "description", columnDefinition = "TEXT")
+    private String description;
+
+    @Column(name = "preview_urls")
+    private String[] previewUrls;
+
+    @Column(name = "price_coins", nullable = false)
+    private Integer priceCoins;
+
+    @Column(name = "price_type", length = 20)
+    private String priceType = "coins";
+
+    @Column(name = "unlock_requirement_type", length = 50)
+    private String unlockRequirementType;
+
+    @Column(name = "unlock_requirement_value", length = 100)
+    private String unlockRequirementValue;
+
+    @Column(name = "rarity", length = 20)
+    private String rarity = "common";
+
+    @Column(name = "is_active")
+    private Boolean isActive = true;
+
+    @Column(name = "sort_order")
+    private Integer sortOrder = 0;
+
+    protected StoreItem() {
+    }
+
+    public String getCode() {
+        return code;
+    }
+
+    public String getItemType() {
+        return itemType;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public String[] getPreviewUrls() {
+        return previewUrls;
+    }
+
+    public Integer getPriceCoins() {
+        return priceCoins;
+    }
+
+    public String getPriceType() {
+        return priceType;
+    }
+
+    public String getUnlockRequirementType() {
+        return unlockRequirementType;
+    }
+
+    public String getUnlockRequirementValue() {
+        return unlockRequirementValue;
+    }
+
+    public String getRarity() {
+        return rarity;
+    }
+
+    public Boolean getIsActive() {
+        return isActive;
+    }
+
+    public Integer getSortOrder() {
+        return sortOrder;
+    }
+}
@@ -0,0 +1,29 @@
+package com.thatmoment.gamification.repository;
+
+import com.thatmoment.common.cache.hibernate.CatalogCacheInvalidator;
+import com.thatmoment.gamification.domain.Achievement;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface AchievementRepository extends JpaRepository<Achievement, UUID> {
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = CatalogCacheInvalidator.QUERY_REGION)
+    })
+    List<Achievement> findAllByIsActiveTrueOrderBySortOrderAsc();
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = CatalogCacheInvalidator.QUERY_REGION)
+    })
+    Optional<Achievement> findByCode(String code);
+}
@@ -0,0 +1,35 @@
+package com.thatmoment.gamification.repository;
+
+import com.thatmoment.common.cache.hibernate.CatalogCacheInvalidator;
+import com.thatmoment.gamification.domain.StoreItem;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface StoreItemRepository extends JpaRepository<StoreItem, UUID> {
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = CatalogCacheInvalidator.QUERY_REGION)
+    })
+    List<StoreItem> findAllByIsActiveTrueOrderBySortOrderAsc();
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = CatalogCacheInvalidator.QUERY_REGION)
+    })
+    List<StoreItem> findAllByItemTypeAndIsActiveTrueOrderBySortOrderAsc(String itemType);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = CatalogCacheInvalidator.QUERY_REGION)
+    })
+    Optional<StoreItem> findByCode(String code);
+}
@@ -0,0 +1,121 @@
+package com.thatmoment.notification.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public class EmailOutboxRepository {
+
+    // Queued rows for the same recipient and purpose carry a code this one replaces
+    private static final String INSERT_SQL = """
+            WITH superseded AS (
+                DELETE FROM notification.email_outbox
+                WHERE recipient = ? AND purpose = ? AND status = 'PENDING'
+            )
+            INSERT INTO notification.email_outbox (recipient, purpose, code, expires_at)
+            VALUES (?, ?, ?, now() + make_interval(secs => ?))
+            """;
+
+    private static final String NEWER_ROW_EXISTS = """
+            EXISTS (SELECT 1 FROM notification.email_outbox n
+                    WHERE n.recipient = o.recipient AND n.purpose = o.purpose AND n.created_at > o.created_at)""";
+
+    // Pending rows that are due, plus leases abandoned by a node that died mid-send
+    private static final String CLAIM_SQL = """
+            WITH claimed AS (
+                SELECT id FROM notification.email_outbox o
+                WHERE ((status = 'PENDING' AND next_attempt_at <= now())
+                       OR (status = 'SENDING' AND locked_until < now()))
+                  AND expires_at > now()
+                  AND NOT %s
+                ORDER BY next_attempt_at
+                LIMIT ?
+                FOR UPDATE SKIP LOCKED
+            )
+            UPDATE notification.email_outbox o
+            SET status = 'SENDING',
+                attempts = o.attempts + 1,
+                locked_until = now() + make_interval(secs => ?),
+                updated_at = now()
+            FROM claimed
+            WHERE o.id = claimed.id
+            RETURNING o.id, o.recipient, o.purpose, o.code, o.attempts
+            """.formatted(NEWER_ROW_EXISTS);
+
+    private static final String DELETE_SQL = "DELETE FROM notification.email_outbox WHERE id = ?";
+
+    private static final String RETRY_SQL = "UPDATE notification.email_outbox "
+            + "SET status = 'PENDING', next_attempt_at = now() + make_interval(secs => ?), "
+            + "locked_until = NULL, last_error = ?, updated_at = now() "
+            + "WHERE id = ?";
+
+    // A retry that would only go out after the code expired, or whose code was replaced, is dropped
+    private static final String DROP_STALE_SQL = """
+            DELETE FROM notification.email_outbox o
+            WHERE id = ?
+              AND (expires_at <= now() + make_interval(secs => ?) OR %s)
+            """.formatted(NEWER_ROW_EXISTS);
+
+    // Leased rows are left alone while their lease runs: the message may still be on its way
+    private static final String PURGE_STALE_SQL = """
+            DELETE FROM notification.email_outbox o
+            WHERE (status = 'PENDING' OR (status = 'SENDING' AND locked_until < now()))
+              AND (expires_at <= now() OR %s)
+            """.formatted(NEWER_ROW_EXISTS);
+
+    private static final String DEAD_LETTER_SQL = "UPDATE notification.email_outbox "
+            + "SET status = 'DEAD', code = NULL, locked_until = NULL, last_error = ?, updated_at = now() "
+            + "WHERE id = ?";
+
+    private static final RowMapper<OutboxEmail> ROW_MAPPER = (rs, rowNum) -> new OutboxEmail(
+            rs.getObject("id", UUID.class),
+            rs.getString("recipient"),
+            rs.getString("purpose"),
+            rs.getString("code"),
+            rs.getInt("attempts")
+    );
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public EmailOutboxRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public void insert(String recipient, String purpose, String code, Duration ttl) {
+        jdbcTemplate.update(INSERT_SQL, recipient, purpose, recipient, purpose, code, ttl.toSeconds());
+    }
+
+    public List<OutboxEmail> claim(int limit, Duration lease) {
+        return jdbcTemplate.query(CLAIM_SQL, ROW_MAPPER, limit, lease.toSeconds());
+    }
+
+    public void markSent(List<UUID> ids) {
+        jdbcTemplate.batchUpdate(DELETE_SQL, ids.stream().map(id -> new Object[]{id}).toList());
+    }
+
+    /**
+     * Puts a failed row back for another attempt, unless its code would be expired by then or
+     * has been replaced. Returns false when the row was dropped instead.
+     */
+    public boolean scheduleRetry(UUID id, Duration delay, String error) {
+        double delaySeconds = delay.toMillis() / 1000.0;
+        if (jdbcTemplate.update(DROP_STALE_SQL, id, delaySeconds) > 0) {
+            return false;
+        }
+        jdbcTemplate.update(RETRY_SQL, delaySeconds, error, id);
+        return true;
+    }
+
+    public int purgeStale() {
+        return jdbcTemplate.update(PURGE_STALE_SQL);
+    }
+
+    public void deadLetter(UUID id, String error) {
+        jdbcTemplate.update(DEAD_LETTER_SQL, error, id);
+    }
+}
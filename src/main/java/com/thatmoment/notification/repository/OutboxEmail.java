@@ -0,0 +1,6 @@
+package com.thatmoment.notification.repository;
+
+import java.util.UUID;
+
+public record OutboxEmail(UUID id, String recipient, String purpose, String code, int attempts) {
+}
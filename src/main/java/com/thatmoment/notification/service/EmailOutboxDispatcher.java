@@ -0,0 +1,173 @@
+package com.thatmoment.notification.service;
+
+import com.thatmoment.common.service.EmailService;
+import com.thatmoment.notification.repository.EmailOutboxRepository;
+import com.thatmoment.notification.repository.OutboxEmail;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Drains {@code notification.email_outbox}. Each node claims its own batch with
+ * {@code FOR UPDATE SKIP LOCKED}, so any number of nodes can dispatch in parallel without
+ * sending the same row twice.
+ * <p>
+ * A message still queued in the delivery engine when the wait runs out is withdrawn before its
+ * row is rescheduled. One already being sent is left under its lease and settled when the send
+ * finishes, so a slow send is never queued a second time.
+ */
+@Component
+@Slf4j
+public class EmailOutboxDispatcher {
+
+    private static final int MAX_ERROR_LENGTH = 500;
+    private static final String TIMEOUT_ERROR = "Timed out waiting for SMTP delivery";
+
+    private final EmailOutboxRepository emailOutboxRepository;
+    private final EmailService emailService;
+
+    private final Counter sent;
+    private final Counter retried;
+    private final Counter deadLettered;
+    private final Counter dropped;
+
+    @Value("${app.mail.outbox.batch-size:50}")
+    private int batchSize;
+
+    @Value("${app.mail.outbox.lease:60s}")
+    private Duration lease;
+
+    @Value("${app.mail.outbox.max-attempts:8}")
+    private int maxAttempts;
+
+    @Value("${app.mail.outbox.initial-backoff:5s}")
+    private Duration initialBackoff;
+
+    @Value("${app.mail.outbox.max-backoff:30m}")
+    private Duration maxBackoff;
+
+    public EmailOutboxDispatcher(
+            EmailOutboxRepository emailOutboxRepository,
+            EmailService emailService,
+            MeterRegistry meterRegistry
+    ) {
+        this.emailOutboxRepository = emailOutboxRepository;
+        this.emailService = emailService;
+        this.sent = meterRegistry.counter("mail.outbox.sent");
+        this.retried = meterRegistry.counter("mail.outbox.retried");
+        this.deadLettered = meterRegistry.counter("mail.outbox.dead");
+        this.dropped = meterRegistry.counter("mail.outbox.dropped");
+    }
+
+    @Scheduled(fixedDelayString = "${app.mail.outbox.poll-interval-ms:1000}")
+    public void dispatch() {
+        int stale = emailOutboxRepository.purgeStale();
+        if (stale > 0) {
+            dropped.increment(stale);
+            log.debug("Dropped {} outbox emails with expired or replaced codes", stale);
+        }
+
+        List<OutboxEmail> claimed;
+        do {
+            claimed = emailOutboxRepository.claim(batchSize, lease);
+            if (!claimed.isEmpty()) {
+                deliver(claimed);
+            }
+        } while (claimed.size() == batchSize);
+    }
+
+    private void deliver(List<OutboxEmail> batch) {
+        List<CompletableFuture<Void>> results = new ArrayList<>(batch.size());
+        for (OutboxEmail email : batch) {
+            results.add(emailService.sendVerificationCode(email.recipient(), email.code(), email.purpose()));
+        }
+
+        // Half the lease, so a row is settled well before another node could claim it again
+        long deadline = System.nanoTime() + lease.toNanos() / 2;
+        List<UUID> delivered = new ArrayList<>(batch.size());
+        for (int i = 0; i < batch.size(); i++) {
+            OutboxEmail email = batch.get(i);
+            CompletableFuture<Void> result = results.get(i);
+            String error = await(result, deadline);
+            if (error == null) {
+                delivered.add(email.id());
+            } else if (!TIMEOUT_ERROR.equals(error) || result.cancel(false)) {
+                fail(email, error);
+            } else {
+                result.whenComplete((ignored, sendError) -> settleLate(email, sendError));
+            }
+        }
+
+        if (!delivered.isEmpty()) {
+            emailOutboxRepository.markSent(delivered);
+            sent.increment(delivered.size());
+        }
+    }
+
+    private void settleLate(OutboxEmail email, Throwable sendError) {
+        try {
+            if (sendError == null) {
+                emailOutboxRepository.markSent(List.of(email.id()));
+                sent.increment();
+            } else {
+                fail(email, sendError.getClass().getSimpleName() + ": " + sendError.getMessage());
+            }
+        } catch (RuntimeException e) {
+            // The lease runs out and the row is claimed again
+            log.warn("Could not settle outbox email {}: {}", email.id(), e.getMessage());
+        }
+    }
+
+    private void fail(OutboxEmail email, String error) {
+        String truncated = error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error;
+        if (email.attempts() >= maxAttempts) {
+            emailOutboxRepository.deadLetter(email.id(), truncated);
+            deadLettered.increment();
+            log.error("Email {} to {} dead-lettered after {} attempts: {}",
+                    email.id(), email.recipient(), email.attempts(), truncated);
+            return;
+        }
+        if (emailOutboxRepository.scheduleRetry(email.id(), backoff(email.attempts()), truncated)) {
+            retried.increment();
+        } else {
+            dropped.increment();
+            log.info("Email {} to {} dropped after failure: its code expired or was replaced", email.id(), email.recipient());
+        }
+    }
+
+    private Duration backoff(int attempts) {
+        long base = initialBackoff.toMillis() << Math.min(attempts - 1, 20);
+        long capped = Math.min(base, maxBackoff.toMillis());
+        // Jitter keeps nodes from retrying a failing provider in lockstep
+        return Duration.ofMillis(capped / 2 + ThreadLocalRandom.current().nextLong(capped / 2 + 1));
+    }
+
+    private static String await(CompletableFuture<Void> result, long deadline) {
+        try {
+            result.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            return null;
+        } catch (ExecutionException | CompletionException e) {
+            Throwable cause = e.getCause() != null ? e.getCause() : e;
+            return cause.getClass().getSimpleName() + ": " + cause.getMessage();
+        } catch (TimeoutException e) {
+            return TIMEOUT_ERROR;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return "Interrupted";
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.thatmoment.notification.service;
+
+import com.thatmoment.notification.repository.EmailOutboxRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+
+@Service
+@RequiredArgsConstructor
+public class EmailOutboxService {
+
+    private final EmailOutboxRepository emailOutboxRepository;
+
+    /**
+     * Queues a verification code email. Joins the caller's transaction so the message only
+     * exists if the user / code it refers to was committed. The message expires with the code
+     * and replaces any still-queued message for the same recipient and purpose.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void enqueueVerificationCode(String to, String code, String purpose, Duration ttl) {
+        emailOutboxRepository.insert(to, purpose, code, ttl);
+    }
+}
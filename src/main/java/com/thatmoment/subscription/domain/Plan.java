@@ -0,0 +1,111 @@
+package com.thatmoment.subscription.domain;
+
+import com.thatmoment.common.cache.hibernate.CatalogEntityListener;
+import com.thatmoment.common.entity.BaseEntity;
+import jakarta.persistence.Cacheable;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
+import jakarta.persistence.Table;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.math.BigDecimal;
+
+@Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "catalog.plans")
+@EntityListeners(CatalogEntityListener.class)
+@Table(name = "plans", schema = "subscription")
+public class Plan extends BaseEntity {
+
+    @Column(name = "name", nullable = false, unique = true, length = 50)
+    private String name;
+
+    @Column(name = "display_name", nullable = false, length = 100)
+    private String displayName;
+
+    @Column(name = "description", columnDefinition = "TEXT")
+    private String description;
+
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(name = "limits", nullable = false, columnDefinition = "jsonb")
+    private String limits;
+
+    @Column(name = "price_monthly", precision = 10, scale = 2)
+    private BigDecimal priceMonthly;
+
+    @Column(name = "price_yearly", precision = 10, scale = 2)
+    private BigDecimal priceYearly;
+
+    @Column(name = "apple_product_id_monthly", length = 100)
+    private String appleProductIdMonthly;
+
+    @Column(name = "apple_product_id_yearly", length = 100)
+    private String appleProductIdYearly;
+
+    @Column(name = "google_product_id_monthly", length = 100)
+    private String googleProductIdMonthly;
+
+    @Column(name = "google_product_id_yearly", length = 100)
+    private String googleProductIdYearly;
+
+    @Column(name = "is_active")
+    private Boolean isActive = true;
+
+    @Column(name = "sort_order")
+    private Integer sortOrder = 0;
+
+    protected Plan() {
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getDisplayName() {
+        return displayName;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public String getLimits() {
+        return limits;
+    }
+
+    public BigDecimal getPriceMonthly() {
+        return priceMonthly;
+    }
+
+    public BigDecimal getPriceYearly() {
+        return priceYearly;
+    }
+
+    public String getAppleProductIdMonthly() {
+        return appleProductIdMonthly;
+    }
+
+    public String getAppleProductIdYearly() {
+        return appleProductIdYearly;
+    }
+
+    public String getGoogleProductIdMonthly() {
+        return googleProductIdMonthly;
+    }
+
+    public String getGoogleProductIdYearly() {
+        return googleProductIdYearly;
+    }
+
+    public Boolean getIsActive() {
+        return isActive;
+    }
+
+    public Integer getSortOrder() {
+        return sortOrder;
+    }
+}
@@ -0,0 +1,29 @@
+package com.thatmoment.subscription.repository;
+
+import com.thatmoment.common.cache.hibernate.CatalogCacheInvalidator;
+import com.thatmoment.subscription.domain.Plan;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface PlanRepository extends JpaRepository<Plan, UUID> {
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = CatalogCacheInvalidator.QUERY_REGION)
+    })
+    List<Plan> findAllByIsActiveTrueOrderBySortOrderAsc();
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = CatalogCacheInvalidator.QUERY_REGION)
+    })
+    Optional<Plan> findByName(String name);
+}
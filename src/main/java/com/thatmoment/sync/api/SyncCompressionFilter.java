@@ -0,0 +1,369 @@
+package com.thatmoment.sync.api;
+
+import com.thatmoment.common.constants.SyncMessages;
+import com.thatmoment.common.exception.exceptions.PayloadTooLargeException;
+import com.thatmoment.sync.config.SyncProperties;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.charset.Charset;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.Locale;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Gzip for the sync endpoints only. Responses are compressed when the client accepts gzip, with a
+ * sync flush on every flush so bootstrap lines still reach the device as they are written.
+ * Request bodies sent with {@code Content-Encoding: gzip} or {@code deflate} are inflated as a
+ * stream while the controller reads them, capped at a configured decompressed size; going over
+ * the cap fails the request with 413.
+ * <p>
+ * Inflated bodies are read with blocking I/O only. The inflater may need more compressed input
+ * than the container has buffered, so readiness of the underlying stream says nothing about the
+ * inflated one; {@code setReadListener} is therefore rejected rather than delegated. The sync
+ * controllers read their bodies synchronously.
+ * <p>
+ * Kept off the auth endpoints on purpose: their responses carry tokens, and compressing secrets
+ * next to request-controlled data is what BREACH-style attacks exploit.
+ */
+@Component
+public class SyncCompressionFilter extends OncePerRequestFilter {
+
+    private static final String SYNC_PATH_PREFIX = "/api/v1/sync/";
+    private static final String GZIP = "gzip";
+    private static final String DEFLATE = "deflate";
+    private static final String IDENTITY = "identity";
+    private static final int BUFFER_SIZE = 8192;
+
+    private final SyncProperties properties;
+
+    public SyncCompressionFilter(SyncProperties properties) {
+        this.properties = properties;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !properties.compressionEnabled() || !request.getRequestURI().startsWith(SYNC_PATH_PREFIX);
+    }
+
+    @Override
+    protected void doFilterInternal(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            FilterChain filterChain
+    ) throws ServletException, IOException {
+        String contentEncoding = request.getHeader(HttpHeaders.CONTENT_ENCODING);
+        if (StringUtils.hasText(contentEncoding)) {
+            String encoding = contentEncoding.trim().toLowerCase(Locale.ROOT);
+            if (GZIP.equals(encoding) || DEFLATE.equals(encoding)) {
+                request = new InflatingRequest(request, encoding, properties.maxDecompressedRequestSize().toBytes());
+            } else if (!IDENTITY.equals(encoding)) {
+                response.sendError(HttpStatus.UNSUPPORTED_MEDIA_TYPE.value(), SyncMessages.UNSUPPORTED_CONTENT_ENCODING);
+                return;
+            }
+        }
+
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (!acceptsGzip(request)) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        GzipResponse gzipResponse = new GzipResponse(response);
+        try {
+            filterChain.doFilter(request, gzipResponse);
+        } finally {
+            gzipResponse.finish();
+        }
+    }
+
+    private static boolean acceptsGzip(HttpServletRequest request) {
+        Enumeration<String> headers = request.getHeaders(HttpHeaders.ACCEPT_ENCODING);
+        if (headers == null) {
+            return false;
+        }
+        for (String header : Collections.list(headers)) {
+            for (String part : header.split(",")) {
+                String[] tokens = part.trim().split(";");
+                if (!GZIP.equalsIgnoreCase(tokens[0].trim())) {
+                    continue;
+                }
+                // "gzip;q=0" explicitly refuses it
+                for (int i = 1; i < tokens.length; i++) {
+                    String parameter = tokens[i].trim();
+                    if (parameter.startsWith("q=") && parameter.substring(2).matches("0(\\.0*)?")) {
+                        return false;
+                    }
+                }
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static final class InflatingRequest extends HttpServletRequestWrapper {
+
+        private final String encoding;
+        private final long maxBytes;
+        private ServletInputStream inputStream;
+
+        InflatingRequest(HttpServletRequest request, String encoding, long maxBytes) {
+            super(request);
+            this.encoding = encoding;
+            this.maxBytes = maxBytes;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() throws IOException {
+            if (inputStream == null) {
+                InputStream raw = super.getInputStream();
+                InputStream inflated = GZIP.equals(encoding)
+                        ? new GZIPInputStream(raw, BUFFER_SIZE)
+                        : new InflaterInputStream(raw);
+                inputStream = new BoundedInputStream(inflated, maxBytes);
+            }
+            return inputStream;
+        }
+
+        // The inflated length is unknown, and downstream readers must not see the original encoding
+        @Override
+        public int getContentLength() {
+            return -1;
+        }
+
+        @Override
+        public long getContentLengthLong() {
+            return -1;
+        }
+
+        @Override
+        public String getHeader(String name) {
+            if (isHiddenHeader(name)) {
+                return null;
+            }
+            return super.getHeader(name);
+        }
+
+        @Override
+        public Enumeration<String> getHeaders(String name) {
+            if (isHiddenHeader(name)) {
+                return Collections.emptyEnumeration();
+            }
+            return super.getHeaders(name);
+        }
+
+        private static boolean isHiddenHeader(String name) {
+            return HttpHeaders.CONTENT_ENCODING.equalsIgnoreCase(name) || HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name);
+        }
+    }
+
+    private static final class BoundedInputStream extends ServletInputStream {
+
+        private final InputStream delegate;
+        private final long maxBytes;
+        private long count;
+        private boolean finished;
+
+        BoundedInputStream(InputStream delegate, long maxBytes) {
+            this.delegate = delegate;
+            this.maxBytes = maxBytes;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int value = delegate.read();
+            if (value < 0) {
+                finished = true;
+            } else {
+                count(1);
+            }
+            return value;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            int read = delegate.read(buffer, offset, length);
+            if (read < 0) {
+                finished = true;
+            } else {
+                count(read);
+            }
+            return read;
+        }
+
+        // Unchecked so the message converter does not turn it into an unreadable-body 400
+        private void count(int read) {
+            count += read;
+            if (count > maxBytes) {
+                throw new PayloadTooLargeException(SyncMessages.REQUEST_BODY_TOO_LARGE);
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            delegate.close();
+        }
+
+        @Override
+        public boolean isFinished() {
+            return finished;
+        }
+
+        @Override
+        public boolean isReady() {
+            return true;
+        }
+
+        @Override
+        public void setReadListener(ReadListener readListener) {
+            throw new IllegalStateException("Compressed request bodies only support blocking reads");
+        }
+    }
+
+    private static final class GzipResponse extends HttpServletResponseWrapper {
+
+        private GzipOutputStream outputStream;
+        private PrintWriter writer;
+
+        GzipResponse(HttpServletResponse response) {
+            super(response);
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            if (writer != null) {
+                throw new IllegalStateException("getWriter() has already been called");
+            }
+            return open();
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            if (writer == null) {
+                if (outputStream != null) {
+                    throw new IllegalStateException("getOutputStream() has already been called");
+                }
+                writer = new PrintWriter(new OutputStreamWriter(open(), Charset.forName(getCharacterEncoding())));
+            }
+            return writer;
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            if (writer != null) {
+                writer.flush();
+            } else if (outputStream != null) {
+                outputStream.flush();
+            }
+            super.flushBuffer();
+        }
+
+        // The compressed length is only known at the end
+        @Override
+        public void setContentLength(int length) {
+        }
+
+        @Override
+        public void setContentLengthLong(long length) {
+        }
+
+        @Override
+        public void setHeader(String name, String value) {
+            if (!HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name)) {
+                super.setHeader(name, value);
+            }
+        }
+
+        @Override
+        public void addHeader(String name, String value) {
+            if (!HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name)) {
+                super.addHeader(name, value);
+            }
+        }
+
+        private GzipOutputStream open() throws IOException {
+            if (outputStream == null) {
+                // Headers are set lazily so empty responses and sendError() stay uncompressed
+                super.setHeader(HttpHeaders.CONTENT_ENCODING, GZIP);
+                outputStream = new GzipOutputStream(super.getOutputStream());
+            }
+            return outputStream;
+        }
+
+        void finish() throws IOException {
+            if (writer != null) {
+                writer.flush();
+            }
+            if (outputStream != null) {
+                outputStream.finish();
+            }
+        }
+    }
+
+    private static final class GzipOutputStream extends ServletOutputStream {
+
+        private final ServletOutputStream target;
+        private final GZIPOutputStream gzip;
+
+        GzipOutputStream(ServletOutputStream target) throws IOException {
+            this.target = target;
+            this.gzip = new GZIPOutputStream(target, BUFFER_SIZE, true);
+        }
+
+        @Override
+        public void write(int value) throws IOException {
+            gzip.write(value);
+        }
+
+        @Override
+        public void write(byte[] buffer, int offset, int length) throws IOException {
+            gzip.write(buffer, offset, length);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            gzip.flush();
+        }
+
+        // Closing the response stream ends the gzip member instead of cutting it off
+        @Override
+        public void close() throws IOException {
+            finish();
+        }
+
+        void finish() throws IOException {
+            gzip.finish();
+            target.flush();
+        }
+
+        @Override
+        public boolean isReady() {
+            return target.isReady();
+        }
+
+        @Override
+        public void setWriteListener(WriteListener writeListener) {
+            target.setWriteListener(writeListener);
+        }
+    }
+}
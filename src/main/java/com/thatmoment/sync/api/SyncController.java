@@ -0,0 +1,104 @@
+package com.thatmoment.sync.api;
+
+import com.thatmoment.auth.security.UserPrincipal;
+import com.thatmoment.common.constants.ApiDescriptions;
+import com.thatmoment.common.constants.AuthMessages;
+import com.thatmoment.common.exception.exceptions.UnauthorizedException;
+import com.thatmoment.sync.dto.request.SyncPushRequest;
+import com.thatmoment.sync.dto.response.SyncPullResponse;
+import com.thatmoment.sync.dto.response.SyncPushResponse;
+import com.thatmoment.sync.service.SyncBootstrapService;
+import com.thatmoment.sync.service.SyncPushService;
+import com.thatmoment.sync.service.SyncService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+
+@RestController
+@RequestMapping("/api/v1/sync")
+@RequiredArgsConstructor
+@Tag(name = ApiDescriptions.TAG_SYNC, description = ApiDescriptions.TAG_SYNC_DESC)
+public class SyncController {
+
+    private static final String DEVICE_ID_HEADER = "X-Device-Id";
+    private static final String NDJSON = "application/x-ndjson";
+
+    private final SyncService syncService;
+    private final SyncPushService syncPushService;
+    private final SyncBootstrapService syncBootstrapService;
+
+    @GetMapping("/changes")
+    @Operation(
+            summary = ApiDescriptions.SYNC_PULL_SUMMARY,
+            description = ApiDescriptions.SYNC_PULL_DESCRIPTION
+    )
+    public ResponseEntity<SyncPullResponse> pull(
+            @AuthenticationPrincipal UserPrincipal principal,
+            @RequestHeader(value = DEVICE_ID_HEADER, required = false) String deviceId,
+            @RequestParam(required = false) Long since,
+            @RequestParam(required = false) Integer limit
+    ) {
+        if (principal == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+
+        SyncPullResponse response = syncService.pull(principal.getUserId(), deviceId, since, limit);
+        return ResponseEntity.ok(response);
+    }
+
+    @PostMapping("/push")
+    @Operation(
+            summary = ApiDescriptions.SYNC_PUSH_SUMMARY,
+            description = ApiDescriptions.SYNC_PUSH_DESCRIPTION
+    )
+    public ResponseEntity<SyncPushResponse> push(
+            @AuthenticationPrincipal UserPrincipal principal,
+            @Valid @RequestBody SyncPushRequest request
+    ) {
+        if (principal == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+
+        SyncPushResponse response = syncPushService.push(principal.getUserId(), request);
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Written synchronously to the servlet stream rather than as an async StreamingResponseBody,
+     * so a long download is not cut off by the async request timeout.
+     */
+    @GetMapping(value = "/bootstrap", produces = NDJSON)
+    @Operation(
+            summary = ApiDescriptions.SYNC_BOOTSTRAP_SUMMARY,
+            description = ApiDescriptions.SYNC_BOOTSTRAP_DESCRIPTION
+    )
+    public void bootstrap(
+            @AuthenticationPrincipal UserPrincipal principal,
+            @RequestParam(required = false) String checkpoint,
+            HttpServletResponse response
+    ) throws IOException {
+        if (principal == null) {
+            throw new UnauthorizedException(AuthMessages.AUTHENTICATION_REQUIRED);
+        }
+
+        response.setContentType(NDJSON);
+        response.setCharacterEncoding("UTF-8");
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "no-store");
+        syncBootstrapService.stream(principal.getUserId(), checkpoint, response.getOutputStream());
+    }
+}
@@ -0,0 +1,77 @@
+package com.thatmoment.sync.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.ResolvableType;
+import org.springframework.http.MediaType;
+import org.springframework.http.ProblemDetail;
+import org.springframework.http.converter.HttpMessageConverters;
+import org.springframework.http.converter.cbor.JacksonCborHttpMessageConverter;
+import org.springframework.http.converter.smile.JacksonSmileHttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import tools.jackson.dataformat.cbor.CBORMapper;
+import tools.jackson.dataformat.smile.SmileMapper;
+
+/**
+ * Lets sync clients trade JSON for CBOR ({@code application/cbor}) or Smile
+ * ({@code application/x-jackson-smile}) through the usual Accept / Content-Type negotiation.
+ * Both encode the same DTOs as the JSON endpoints, only more compactly and without text parsing.
+ * <p>
+ * The binary converters are limited to the sync DTOs (and error bodies) so the rest of the API
+ * stays JSON-only.
+ */
+@Configuration
+public class SyncCodecConfig implements WebMvcConfigurer {
+
+    private static final String SYNC_PACKAGE = "com.thatmoment.sync.";
+
+    private final CBORMapper cborMapper;
+
+    public SyncCodecConfig(CBORMapper cborMapper) {
+        this.cborMapper = cborMapper;
+    }
+
+    @Override
+    public void configureMessageConverters(HttpMessageConverters.ServerBuilder builder) {
+        builder.withCborConverter(new SyncCborConverter(cborMapper))
+                .withSmileConverter(new SyncSmileConverter(SmileMapper.builder().build()));
+    }
+
+    static boolean isSyncType(ResolvableType type) {
+        Class<?> raw = type.toClass();
+        return raw.getName().startsWith(SYNC_PACKAGE) || ProblemDetail.class.isAssignableFrom(raw);
+    }
+
+    private static final class SyncCborConverter extends JacksonCborHttpMessageConverter {
+
+        SyncCborConverter(CBORMapper mapper) {
+            super(mapper);
+        }
+
+        @Override
+        public boolean canRead(ResolvableType type, MediaType mediaType) {
+            return isSyncType(type) && super.canRead(type, mediaType);
+        }
+
+        @Override
+        public boolean canWrite(ResolvableType type, Class<?> valueClass, MediaType mediaType) {
+            return isSyncType(ResolvableType.forClass(valueClass)) && super.canWrite(type, valueClass, mediaType);
+        }
+    }
+
+    private static final class SyncSmileConverter extends JacksonSmileHttpMessageConverter {
+
+        SyncSmileConverter(SmileMapper mapper) {
+            super(mapper);
+        }
+
+        @Override
+        public boolean canRead(ResolvableType type, MediaType mediaType) {
+            return isSyncType(type) && super.canRead(type, mediaType);
+        }
+
+        @Override
+        public boolean canWrite(ResolvableType type, Class<?> valueClass, MediaType mediaType) {
+            return isSyncType(ResolvableType.forClass(valueClass)) && super.canWrite(type, valueClass, mediaType);
+        }
+    }
+}
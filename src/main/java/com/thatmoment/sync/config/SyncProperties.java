@@ -0,0 +1,17 @@
+package com.thatmoment.sync.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+
+@ConfigurationProperties(prefix = "app.sync")
+public record SyncProperties(
+        @DefaultValue("500") int defaultPageSize,
+        @DefaultValue("2000") int maxPageSize,
+        @DefaultValue("1000") int maxPushMutations,
+        @DefaultValue("1000") int bootstrapChunkSize,
+        @DefaultValue("8") int bootstrapMaxConcurrent,
+        @DefaultValue("true") boolean compressionEnabled,
+        @DefaultValue("16MB") DataSize maxDecompressedRequestSize
+) {
+}
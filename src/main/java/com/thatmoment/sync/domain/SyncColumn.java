@@ -0,0 +1,32 @@
+package com.thatmoment.sync.domain;
+
+/**
+ * A client-visible column of a synced table. {@code references} names the table a foreign key
+ * points at; pushed ids must belong to the same user there.
+ */
+public record SyncColumn(String name, String property, Kind kind, boolean required, String references) {
+
+    public enum Kind {
+        UUID,
+        TEXT,
+        INTEGER,
+        BOOLEAN,
+        DATE,
+        TIME,
+        TIMESTAMP,
+        TEXT_ARRAY,
+        INTEGER_ARRAY
+    }
+
+    static SyncColumn of(String name, String property, Kind kind) {
+        return new SyncColumn(name, property, kind, false, null);
+    }
+
+    static SyncColumn required(String name, String property, Kind kind) {
+        return new SyncColumn(name, property, kind, true, null);
+    }
+
+    static SyncColumn reference(String name, String property, String references, boolean required) {
+        return new SyncColumn(name, property, Kind.UUID, required, references);
+    }
+}
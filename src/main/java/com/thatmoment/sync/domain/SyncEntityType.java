@@ -0,0 +1,83 @@
+package com.thatmoment.sync.domain;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static com.thatmoment.sync.domain.SyncColumn.Kind;
+import static com.thatmoment.sync.domain.SyncColumn.of;
+import static com.thatmoment.sync.domain.SyncColumn.reference;
+import static com.thatmoment.sync.domain.SyncColumn.required;
+
+/**
+ * Tables that take part in offline sync. Each row carries a per-user {@code sync_version}
+ * stamped by trigger (see V4__sync_change_versions.sql); the columns listed here are the
+ * client-visible payload.
+ */
+public enum SyncEntityType {
+
+    JOURNAL_ENTRY("journal_entry", "journal.entries", List.of(
+            required("entry_date", "entryDate", Kind.DATE),
+            of("content", "content", Kind.TEXT),
+            of("mood", "mood", Kind.INTEGER),
+            of("gratitude", "gratitude", Kind.TEXT_ARRAY),
+            of("is_favorite", "isFavorite", Kind.BOOLEAN),
+            of("word_count", "wordCount", Kind.INTEGER)
+    )),
+
+    ROUTINE_ENTRY("routine_entry", "routine.entries", List.of(
+            reference("routine_id", "routineId", "routine.routines", true),
+            required("entry_date", "entryDate", Kind.DATE),
+            required("value", "value", Kind.INTEGER),
+            of("notes", "notes", Kind.TEXT),
+            of("completed_at", "completedAt", Kind.TIMESTAMP)
+    )),
+
+    TIME_BLOCK("time_block", "calendar.time_blocks", List.of(
+            reference("category_id", "categoryId", "calendar.categories", false),
+            required("title", "title", Kind.TEXT),
+            of("description", "description", Kind.TEXT),
+            required("block_date", "blockDate", Kind.DATE),
+            required("start_time", "startTime", Kind.TIME),
+            required("end_time", "endTime", Kind.TIME),
+            of("is_all_day", "isAllDay", Kind.BOOLEAN),
+            of("recurrence", "recurrence", Kind.TEXT),
+            of("recurrence_end_date", "recurrenceEndDate", Kind.DATE),
+            of("location", "location", Kind.TEXT),
+            of("reminder_minutes", "reminderMinutes", Kind.INTEGER_ARRAY),
+            of("is_completed", "isCompleted", Kind.BOOLEAN),
+            of("completed_at", "completedAt", Kind.TIMESTAMP)
+    ));
+
+    private static final Map<String, SyncEntityType> BY_WIRE_NAME = Arrays.stream(values())
+            .collect(Collectors.toUnmodifiableMap(SyncEntityType::wireName, Function.identity()));
+
+    private final String wireName;
+    private final String table;
+    private final List<SyncColumn> columns;
+
+    SyncEntityType(String wireName, String table, List<SyncColumn> columns) {
+        this.wireName = wireName;
+        this.table = table;
+        this.columns = columns;
+    }
+
+    public String wireName() {
+        return wireName;
+    }
+
+    public String table() {
+        return table;
+    }
+
+    public List<SyncColumn> columns() {
+        return columns;
+    }
+
+    public static Optional<SyncEntityType> fromWireName(String wireName) {
+        return Optional.ofNullable(BY_WIRE_NAME.get(wireName));
+    }
+}
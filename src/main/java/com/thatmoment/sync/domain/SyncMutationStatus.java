@@ -0,0 +1,7 @@
+package com.thatmoment.sync.domain;
+
+public enum SyncMutationStatus {
+    APPLIED,
+    CONFLICT,
+    REJECTED
+}
@@ -0,0 +1,36 @@
+package com.thatmoment.sync.dto.request;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.Instant;
+import java.util.Map;
+
+@Getter
+@Setter
+public class SyncMutationRequest {
+
+    @NotBlank(message = "Entity type is required")
+    private String entityType;
+
+    @NotBlank(message = "Local id is required")
+    @Size(max = 100, message = "Local id must not exceed 100 characters")
+    private String localId;
+
+    @NotBlank(message = "Action is required")
+    @Pattern(regexp = "^(create|update|delete)$", message = "Action must be create, update or delete")
+    private String action;
+
+    // Version the client last saw for this row; null applies the change unconditionally
+    private Long baseVersion;
+
+    @NotNull(message = "Client timestamp is required")
+    private Instant clientTimestamp;
+
+    // Full row state for create/update; ignored for delete
+    private Map<String, Object> data;
+}
@@ -0,0 +1,16 @@
+package com.thatmoment.sync.dto.request;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+public class SyncPushRequest {
+
+    @NotEmpty(message = "Mutations are required")
+    private List<@Valid SyncMutationRequest> mutations;
+}
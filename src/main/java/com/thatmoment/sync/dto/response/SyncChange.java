@@ -0,0 +1,22 @@
+package com.thatmoment.sync.dto.response;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.UUID;
+
+@Getter
+@Builder
+public class SyncChange {
+
+    private String entityType;
+    private UUID id;
+    private String localId;
+    private long version;
+    private boolean deleted;
+    private Instant deletedAt;
+    // Null for tombstones
+    private Map<String, Object> data;
+}
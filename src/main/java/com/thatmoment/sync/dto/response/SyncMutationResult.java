@@ -0,0 +1,20 @@
+package com.thatmoment.sync.dto.response;
+
+import com.thatmoment.sync.domain.SyncMutationStatus;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.UUID;
+
+@Getter
+@Builder
+public class SyncMutationResult {
+
+    private String entityType;
+    private String localId;
+    private SyncMutationStatus status;
+    private UUID id;
+    // Row version after the push, or the newer server version on conflict
+    private Long version;
+    private String reason;
+}
@@ -0,0 +1,17 @@
+package com.thatmoment.sync.dto.response;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+@Builder
+public class SyncPullResponse {
+
+    private List<SyncChange> changes;
+    // Pass back as "since" for the next page; once hasMore is false it is the version to store
+    private long nextSince;
+    private boolean hasMore;
+    private long serverVersion;
+}
@@ -0,0 +1,15 @@
+package com.thatmoment.sync.dto.response;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+@Builder
+public class SyncPushResponse {
+
+    // Same order as the pushed mutations
+    private List<SyncMutationResult> results;
+    private long serverVersion;
+}
@@ -0,0 +1,48 @@
+package com.thatmoment.sync.repository;
+
+import com.thatmoment.sync.domain.SyncColumn;
+import com.thatmoment.sync.domain.SyncEntityType;
+import com.thatmoment.sync.dto.response.SyncChange;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Full-state reads for a new device, one keyset chunk at a time. Each chunk is a single statement
+ * that returns its connection before the rows are written to the client, so a slow download never
+ * holds a pooled connection or an open snapshot between chunks.
+ */
+@Repository
+public class SyncBootstrapRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Map<SyncEntityType, String> chunkQueries = new EnumMap<>(SyncEntityType.class);
+
+    public SyncBootstrapRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        for (SyncEntityType type : SyncEntityType.values()) {
+            String columns = type.columns().stream().map(SyncColumn::name).collect(Collectors.joining(", "));
+            chunkQueries.put(type, "SELECT id, local_id, sync_version, deleted_at, " + columns
+                    + " FROM " + type.table()
+                    + " WHERE user_id = ? AND sync_version > ? AND sync_version <= ? AND deleted_at IS NULL"
+                    + " ORDER BY sync_version"
+                    + " LIMIT ?");
+        }
+    }
+
+    /**
+     * Returns up to {@code limit} live rows of one type with versions in
+     * {@code (afterVersion, upToVersion]}, ordered by version. Rows changed after
+     * {@code upToVersion} are left to the delta pull that follows the bootstrap.
+     */
+    public List<SyncChange> findChunk(SyncEntityType type, UUID userId, long afterVersion, long upToVersion, int limit) {
+        return jdbcTemplate.query(chunkQueries.get(type),
+                (rs, rowNum) -> SyncChangeRepository.mapChange(type, rs),
+                userId, afterVersion, upToVersion, limit);
+    }
+}
@@ -0,0 +1,116 @@
+package com.thatmoment.sync.repository;
+
+import com.thatmoment.sync.domain.SyncColumn;
+import com.thatmoment.sync.domain.SyncEntityType;
+import com.thatmoment.sync.dto.response.SyncChange;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Array;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Reads changed rows by the per-user {@code sync_version} sequence. Each table is scanned through
+ * its (user_id, sync_version) index from the cursor onwards, so a page costs the rows it returns
+ * regardless of how much data the user has.
+ */
+@Repository
+public class SyncChangeRepository {
+
+    private static final String SERVER_VERSION_SQL = "SELECT version FROM sync.user_versions WHERE user_id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Map<SyncEntityType, String> changeQueries = new EnumMap<>(SyncEntityType.class);
+    private final Map<SyncEntityType, RowMapper<SyncChange>> rowMappers = new EnumMap<>(SyncEntityType.class);
+
+    public SyncChangeRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        for (SyncEntityType type : SyncEntityType.values()) {
+            String columns = type.columns().stream().map(SyncColumn::name).collect(Collectors.joining(", "));
+            changeQueries.put(type, "SELECT id, local_id, sync_version, deleted_at, " + columns
+                    + " FROM " + type.table()
+                    + " WHERE user_id = ? AND sync_version > ?"
+                    + " ORDER BY sync_version LIMIT ?");
+            rowMappers.put(type, (rs, rowNum) -> mapChange(type, rs));
+        }
+    }
+
+    /**
+     * Returns up to {@code limit} changes after {@code sinceVersion} across all synced tables, in
+     * version order. Versions come from one counter per user, so they are unique across tables
+     * and the last returned version is an exact keyset cursor. Runs in one snapshot so the
+     * server version matches the rows read.
+     */
+    @Transactional(readOnly = true, isolation = Isolation.REPEATABLE_READ)
+    public SyncPage findPage(UUID userId, long sinceVersion, int limit) {
+        List<SyncChange> merged = new ArrayList<>();
+        for (SyncEntityType type : SyncEntityType.values()) {
+            merged.addAll(jdbcTemplate.query(changeQueries.get(type), rowMappers.get(type), userId, sinceVersion, limit + 1));
+        }
+        merged.sort(Comparator.comparingLong(SyncChange::getVersion));
+
+        boolean hasMore = merged.size() > limit;
+        List<SyncChange> page = hasMore ? List.copyOf(merged.subList(0, limit)) : List.copyOf(merged);
+        return new SyncPage(page, hasMore, serverVersion(userId));
+    }
+
+    public long serverVersion(UUID userId) {
+        List<Long> versions = jdbcTemplate.queryForList(SERVER_VERSION_SQL, Long.class, userId);
+        return versions.isEmpty() ? 0L : versions.getFirst();
+    }
+
+    static SyncChange mapChange(SyncEntityType type, ResultSet rs) throws SQLException {
+        Timestamp deletedAt = rs.getTimestamp("deleted_at");
+        SyncChange.SyncChangeBuilder change = SyncChange.builder()
+                .entityType(type.wireName())
+                .id(rs.getObject("id", UUID.class))
+                .localId(rs.getString("local_id"))
+                .version(rs.getLong("sync_version"))
+                .deleted(deletedAt != null);
+        if (deletedAt != null) {
+            return change.deletedAt(deletedAt.toInstant()).build();
+        }
+
+        Map<String, Object> data = new LinkedHashMap<>();
+        for (SyncColumn column : type.columns()) {
+            data.put(column.property(), readValue(rs, column));
+        }
+        return change.data(data).build();
+    }
+
+    static Object readValue(ResultSet rs, SyncColumn column) throws SQLException {
+        String name = column.name();
+        return switch (column.kind()) {
+            case UUID -> rs.getObject(name, UUID.class);
+            case TEXT -> rs.getString(name);
+            case INTEGER -> rs.getObject(name, Integer.class);
+            case BOOLEAN -> rs.getObject(name, Boolean.class);
+            case DATE -> rs.getObject(name, LocalDate.class);
+            case TIME -> rs.getObject(name, LocalTime.class);
+            case TIMESTAMP -> {
+                Timestamp value = rs.getTimestamp(name);
+                yield value != null ? value.toInstant() : null;
+            }
+            case TEXT_ARRAY, INTEGER_ARRAY -> {
+                Array value = rs.getArray(name);
+                yield value != null ? Arrays.asList((Object[]) value.getArray()) : null;
+            }
+        };
+    }
+}
@@ -0,0 +1,44 @@
+package com.thatmoment.sync.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.UUID;
+
+@Repository
+public class SyncMetadataRepository {
+
+    // One cursor covers every synced table, since versions come from a single per-user sequence
+    static final String ALL_ENTITY_TYPES = "all";
+
+    private static final String FIND_SQL = "SELECT last_server_version FROM sync.metadata "
+            + "WHERE user_id = ? AND device_id = ? AND entity_type = ?";
+
+    private static final String UPSERT_SQL = """
+            INSERT INTO sync.metadata (user_id, device_id, entity_type, last_sync_at, last_server_version)
+            VALUES (?, ?, ?, now(), ?)
+            ON CONFLICT (user_id, device_id, entity_type) DO UPDATE
+            SET last_server_version = EXCLUDED.last_server_version,
+                last_sync_at = now(),
+                updated_at = now()
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public SyncMetadataRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public OptionalLong findLastServerVersion(UUID userId, String deviceId) {
+        List<Long> versions = jdbcTemplate.queryForList(FIND_SQL, Long.class, userId, deviceId, ALL_ENTITY_TYPES);
+        return versions.isEmpty() || versions.getFirst() == null
+                ? OptionalLong.empty()
+                : OptionalLong.of(versions.getFirst());
+    }
+
+    public void saveLastServerVersion(UUID userId, String deviceId, long version) {
+        jdbcTemplate.update(UPSERT_SQL, userId, deviceId, ALL_ENTITY_TYPES, version);
+    }
+}
@@ -0,0 +1,8 @@
+package com.thatmoment.sync.repository;
+
+import com.thatmoment.sync.dto.response.SyncChange;
+
+import java.util.List;
+
+public record SyncPage(List<SyncChange> changes, boolean hasMore, long serverVersion) {
+}
@@ -0,0 +1,230 @@
+package com.thatmoment.sync.repository;
+
+import com.thatmoment.sync.domain.SyncColumn;
+import com.thatmoment.sync.domain.SyncEntityType;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Savepoint;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Write side of sync. Mutations are applied per entity type as JDBC batches of
+ * {@code INSERT ... ON CONFLICT (user_id, local_id)} upserts and soft-delete updates, so a push
+ * of N edits costs a handful of round trips instead of N entity loads and saves.
+ */
+@Repository
+public class SyncPushRepository {
+
+    private static final String QUEUE_INSERT_SQL = """
+            INSERT INTO sync.queue (user_id, entity_type, entity_id, local_id, action, payload,
+                                    client_timestamp, status, conflict_data, resolved_at)
+            VALUES (?, ?, ?, ?, ?, CAST(? AS jsonb), ?, ?, CAST(? AS jsonb), ?)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Map<SyncEntityType, String> lockQueries = new EnumMap<>(SyncEntityType.class);
+    private final Map<SyncEntityType, String> upsertStatements = new EnumMap<>(SyncEntityType.class);
+    private final Map<SyncEntityType, String> deleteStatements = new EnumMap<>(SyncEntityType.class);
+
+    public SyncPushRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        for (SyncEntityType type : SyncEntityType.values()) {
+            List<SyncColumn> columns = type.columns();
+            String names = columns.stream().map(SyncColumn::name).collect(Collectors.joining(", "));
+            String placeholders = columns.stream().map(column -> "?").collect(Collectors.joining(", "));
+            String assignments = columns.stream()
+                    .map(column -> column.name() + " = EXCLUDED." + column.name())
+                    .collect(Collectors.joining(", "));
+
+            lockQueries.put(type, "SELECT local_id, id, sync_version, deleted_at FROM " + type.table()
+                    + " WHERE user_id = ? AND local_id = ANY(?) FOR UPDATE");
+            // Updating a tombstone through an upsert brings the row back
+            upsertStatements.put(type, "INSERT INTO " + type.table()
+                    + " (user_id, local_id, created_by, updated_by, " + names + ")"
+                    + " VALUES (?, ?, ?, ?, " + placeholders + ")"
+                    + " ON CONFLICT (user_id, local_id) DO UPDATE SET " + assignments
+                    + ", updated_at = now(), updated_by = EXCLUDED.updated_by"
+                    + ", deleted_at = NULL, deleted_by = NULL, delete_reason = NULL");
+            deleteStatements.put(type, "UPDATE " + type.table()
+                    + " SET deleted_at = now(), deleted_by = ?, delete_reason = 'sync', updated_at = now(), updated_by = ?"
+                    + " WHERE user_id = ? AND local_id = ? AND deleted_at IS NULL");
+        }
+    }
+
+    /**
+     * Loads and row-locks the user's existing rows for these local ids, so conflict decisions made
+     * on the returned versions hold until the push commits.
+     */
+    public Map<String, ExistingRow> lockExisting(SyncEntityType type, UUID userId, Collection<String> localIds) {
+        Map<String, ExistingRow> rows = new HashMap<>();
+        jdbcTemplate.query(lockQueries.get(type), ps -> {
+            ps.setObject(1, userId);
+            ps.setArray(2, ps.getConnection().createArrayOf("text", localIds.toArray()));
+        }, rs -> {
+            Timestamp deletedAt = rs.getTimestamp("deleted_at");
+            rows.put(rs.getString("local_id"), new ExistingRow(
+                    rs.getObject("id", UUID.class),
+                    rs.getLong("sync_version"),
+                    deletedAt != null
+            ));
+        });
+        return rows;
+    }
+
+    /**
+     * Returns the subset of {@code ids} that exist in {@code table}, belong to the user and are not deleted.
+     */
+    public Set<UUID> findOwned(String table, UUID userId, Collection<UUID> ids) {
+        Set<UUID> owned = new HashSet<>();
+        jdbcTemplate.query("SELECT id FROM " + table + " WHERE user_id = ? AND id = ANY(?) AND deleted_at IS NULL", ps -> {
+            ps.setObject(1, userId);
+            ps.setArray(2, ps.getConnection().createArrayOf("uuid", ids.toArray()));
+        }, rs -> {
+            owned.add(rs.getObject("id", UUID.class));
+        });
+        return owned;
+    }
+
+    public void upsert(SyncEntityType type, UUID userId, List<UpsertRow> rows) {
+        List<SyncColumn> columns = type.columns();
+        jdbcTemplate.batchUpdate(upsertStatements.get(type), new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                UpsertRow row = rows.get(i);
+                ps.setObject(1, userId);
+                ps.setString(2, row.localId());
+                ps.setObject(3, userId);
+                ps.setObject(4, userId);
+                for (int c = 0; c < columns.size(); c++) {
+                    bind(ps, 5 + c, columns.get(c), row.values()[c]);
+                }
+            }
+
+            @Override
+            public int getBatchSize() {
+                return rows.size();
+            }
+        });
+    }
+
+    public void softDelete(SyncEntityType type, UUID userId, List<String> localIds) {
+        jdbcTemplate.batchUpdate(deleteStatements.get(type), new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                ps.setObject(1, userId);
+                ps.setObject(2, userId);
+                ps.setObject(3, userId);
+                ps.setString(4, localIds.get(i));
+            }
+
+            @Override
+            public int getBatchSize() {
+                return localIds.size();
+            }
+        });
+    }
+
+    public void recordQueue(UUID userId, List<QueueRecord> records) {
+        if (records.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(QUEUE_INSERT_SQL, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                QueueRecord record = records.get(i);
+                ps.setObject(1, userId);
+                ps.setString(2, record.entityType().wireName());
+                ps.setObject(3, record.entityId());
+                ps.setString(4, record.localId());
+                ps.setString(5, record.action());
+                ps.setString(6, record.payload());
+                ps.setTimestamp(7, Timestamp.from(record.clientTimestamp()));
+                ps.setString(8, record.status());
+                ps.setString(9, record.conflictData());
+                ps.setTimestamp(10, record.resolved() ? Timestamp.from(Instant.now()) : null);
+            }
+
+            @Override
+            public int getBatchSize() {
+                return records.size();
+            }
+        });
+    }
+
+    // Plain JDBC savepoints on the transaction's connection; JpaTransactionManager does not allow nested transactions
+    public Savepoint savepoint() {
+        return jdbcTemplate.execute((ConnectionCallback<Savepoint>) Connection::setSavepoint);
+    }
+
+    public void rollbackTo(Savepoint savepoint) {
+        jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+            connection.rollback(savepoint);
+            return null;
+        });
+    }
+
+    public void release(Savepoint savepoint) {
+        jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+            connection.releaseSavepoint(savepoint);
+            return null;
+        });
+    }
+
+    private static void bind(PreparedStatement ps, int index, SyncColumn column, Object value) throws SQLException {
+        if (value == null) {
+            ps.setNull(index, switch (column.kind()) {
+                case UUID -> Types.OTHER;
+                case TEXT -> Types.VARCHAR;
+                case INTEGER -> Types.INTEGER;
+                case BOOLEAN -> Types.BOOLEAN;
+                case DATE -> Types.DATE;
+                case TIME -> Types.TIME;
+                case TIMESTAMP -> Types.TIMESTAMP;
+                case TEXT_ARRAY, INTEGER_ARRAY -> Types.ARRAY;
+            });
+            return;
+        }
+        switch (column.kind()) {
+            case TEXT_ARRAY -> ps.setArray(index, ps.getConnection().createArrayOf("text", ((List<?>) value).toArray()));
+            case INTEGER_ARRAY -> ps.setArray(index, ps.getConnection().createArrayOf("integer", ((List<?>) value).toArray()));
+            case TIMESTAMP -> ps.setTimestamp(index, Timestamp.from((Instant) value));
+            default -> ps.setObject(index, value);
+        }
+    }
+
+    public record ExistingRow(UUID id, long version, boolean deleted) {
+    }
+
+    public record UpsertRow(String localId, Object[] values) {
+    }
+
+    public record QueueRecord(
+            SyncEntityType entityType,
+            UUID entityId,
+            String localId,
+            String action,
+            String payload,
+            Instant clientTimestamp,
+            String status,
+            String conflictData,
+            boolean resolved
+    ) {
+    }
+}
@@ -0,0 +1,145 @@
+package com.thatmoment.sync.service;
+
+import com.thatmoment.common.constants.SyncMessages;
+import com.thatmoment.common.exception.exceptions.BadRequestException;
+import com.thatmoment.common.exception.exceptions.TooManyRequestsException;
+import com.thatmoment.sync.config.SyncProperties;
+import com.thatmoment.sync.domain.SyncEntityType;
+import com.thatmoment.sync.dto.response.SyncChange;
+import com.thatmoment.sync.repository.SyncBootstrapRepository;
+import com.thatmoment.sync.repository.SyncChangeRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Writes a user's full state as NDJSON, one line per row. Lines are:
+ * <pre>
+ * {"type":"change","change":{...}}
+ * {"type":"checkpoint","checkpoint":"..."}   after every chunk and per table
+ * {"type":"complete","since":N}              N is the version to start delta pulls from
+ * </pre>
+ * A download that ends without the complete line is resumed by passing the last checkpoint back.
+ * <p>
+ * Rows are read in keyset chunks up to the server version seen when the download started; no
+ * connection is held while a chunk is written to the client. Concurrent downloads are capped so
+ * slow clients cannot crowd out the rest of the API.
+ */
+@Service
+@Slf4j
+public class SyncBootstrapService {
+
+    private static final int BUFFER_SIZE = 16 * 1024;
+    private static final int BUSY_RETRY_AFTER_SECONDS = 5;
+    private static final byte NEWLINE = '\n';
+
+    private final SyncProperties properties;
+    private final SyncBootstrapRepository bootstrapRepository;
+    private final SyncChangeRepository changeRepository;
+    private final JsonMapper jsonMapper;
+    private final Semaphore downloads;
+
+    public SyncBootstrapService(
+            SyncProperties properties,
+            SyncBootstrapRepository bootstrapRepository,
+            SyncChangeRepository changeRepository,
+            JsonMapper jsonMapper
+    ) {
+        this.properties = properties;
+        this.bootstrapRepository = bootstrapRepository;
+        this.changeRepository = changeRepository;
+        this.jsonMapper = jsonMapper;
+        this.downloads = new Semaphore(properties.bootstrapMaxConcurrent());
+    }
+
+    public void stream(UUID userId, String checkpoint, OutputStream responseStream) throws IOException {
+        // Validated before the first byte so a bad checkpoint still gets a 400
+        SyncCheckpoint resumeFrom = resolveCheckpoint(checkpoint);
+        if (!downloads.tryAcquire()) {
+            throw new TooManyRequestsException(SyncMessages.BOOTSTRAP_BUSY, BUSY_RETRY_AFTER_SECONDS);
+        }
+        try {
+            write(userId, resumeFrom, new BufferedOutputStream(responseStream, BUFFER_SIZE));
+        } finally {
+            downloads.release();
+        }
+    }
+
+    private void write(UUID userId, SyncCheckpoint resumeFrom, OutputStream out) throws IOException {
+        // Delta pulls must start from the first snapshot, or edits made to already
+        // delivered tables while the download was interrupted would be missed
+        long snapshotVersion = resumeFrom != null ? resumeFrom.snapshotVersion() : changeRepository.serverVersion(userId);
+        SyncEntityType fromType = resumeFrom != null ? resumeFrom.type() : SyncEntityType.values()[0];
+        int chunkSize = properties.bootstrapChunkSize();
+        long rows = 0;
+
+        try {
+            SyncEntityType[] types = SyncEntityType.values();
+            for (int t = fromType.ordinal(); t < types.length; t++) {
+                SyncEntityType type = types[t];
+                long after = type == fromType && resumeFrom != null ? resumeFrom.afterVersion() : 0L;
+                List<SyncChange> chunk;
+                do {
+                    chunk = bootstrapRepository.findChunk(type, userId, after, snapshotVersion, chunkSize);
+                    for (SyncChange change : chunk) {
+                        writeLine(out, new ChangeLine("change", change));
+                    }
+                    if (!chunk.isEmpty()) {
+                        after = chunk.getLast().getVersion();
+                        rows += chunk.size();
+                        checkpoint(out, new SyncCheckpoint(snapshotVersion, type, after));
+                    }
+                } while (chunk.size() == chunkSize);
+
+                if (t + 1 < types.length) {
+                    checkpoint(out, new SyncCheckpoint(snapshotVersion, types[t + 1], 0L));
+                }
+            }
+        } catch (IOException e) {
+            // Client went away; it resumes from the last checkpoint it received
+            log.debug("Bootstrap stream for user {} aborted after {} rows: {}", userId, rows, e.getMessage());
+            throw e;
+        }
+
+        writeLine(out, new CompleteLine("complete", snapshotVersion));
+        out.flush();
+        log.info("Bootstrap streamed {} rows for user {}", rows, userId);
+    }
+
+    private SyncCheckpoint resolveCheckpoint(String checkpoint) {
+        if (checkpoint == null || checkpoint.isBlank()) {
+            return null;
+        }
+        try {
+            return SyncCheckpoint.parse(checkpoint.trim());
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException(SyncMessages.INVALID_CHECKPOINT);
+        }
+    }
+
+    private void checkpoint(OutputStream out, SyncCheckpoint checkpoint) throws IOException {
+        writeLine(out, new CheckpointLine("checkpoint", checkpoint.format()));
+        out.flush();
+    }
+
+    private void writeLine(OutputStream out, Object line) throws IOException {
+        out.write(jsonMapper.writeValueAsBytes(line));
+        out.write(NEWLINE);
+    }
+
+    private record ChangeLine(String type, SyncChange change) {
+    }
+
+    private record CheckpointLine(String type, String checkpoint) {
+    }
+
+    private record CompleteLine(String type, long since) {
+    }
+}
@@ -0,0 +1,30 @@
+package com.thatmoment.sync.service;
+
+import com.thatmoment.sync.domain.SyncEntityType;
+
+/**
+ * Resume point of a bootstrap stream: the snapshot the download started from, and the last
+ * version delivered for the entity type being streamed. Encoded as
+ * {@code <snapshotVersion>:<entityType>:<afterVersion>}.
+ */
+record SyncCheckpoint(long snapshotVersion, SyncEntityType type, long afterVersion) {
+
+    static SyncCheckpoint parse(String token) {
+        String[] parts = token.split(":", -1);
+        if (parts.length != 3) {
+            throw new IllegalArgumentException("Malformed checkpoint");
+        }
+        long snapshotVersion = Long.parseLong(parts[0]);
+        long afterVersion = Long.parseLong(parts[2]);
+        SyncEntityType type = SyncEntityType.fromWireName(parts[1])
+                .orElseThrow(() -> new IllegalArgumentException("Unknown entity type in checkpoint"));
+        if (snapshotVersion < 0 || afterVersion < 0) {
+            throw new IllegalArgumentException("Negative version in checkpoint");
+        }
+        return new SyncCheckpoint(snapshotVersion, type, afterVersion);
+    }
+
+    String format() {
+        return snapshotVersion + ":" + type.wireName() + ":" + afterVersion;
+    }
+}
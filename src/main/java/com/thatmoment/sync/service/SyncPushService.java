@@ -0,0 +1,299 @@
+package com.thatmoment.sync.service;
+
+import com.thatmoment.common.constants.SyncMessages;
+import com.thatmoment.common.exception.exceptions.BadRequestException;
+import com.thatmoment.sync.config.SyncProperties;
+import com.thatmoment.sync.domain.SyncColumn;
+import com.thatmoment.sync.domain.SyncEntityType;
+import com.thatmoment.sync.domain.SyncMutationStatus;
+import com.thatmoment.sync.dto.request.SyncMutationRequest;
+import com.thatmoment.sync.dto.request.SyncPushRequest;
+import com.thatmoment.sync.dto.response.SyncMutationResult;
+import com.thatmoment.sync.dto.response.SyncPushResponse;
+import com.thatmoment.sync.repository.SyncChangeRepository;
+import com.thatmoment.sync.repository.SyncPushRepository;
+import com.thatmoment.sync.repository.SyncPushRepository.ExistingRow;
+import com.thatmoment.sync.repository.SyncPushRepository.QueueRecord;
+import com.thatmoment.sync.repository.SyncPushRepository.UpsertRow;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.sql.Savepoint;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Applies a batch of offline edits in one transaction. Each entity type goes to the database as
+ * one batched upsert and one batched soft delete; a constraint violation inside a batch falls
+ * back to row-by-row savepoints so only the offending mutations are rejected.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class SyncPushService {
+
+    private static final String ACTION_DELETE = "delete";
+    private static final String QUEUE_STATUS_SYNCED = "synced";
+    private static final String QUEUE_STATUS_CONFLICT = "conflict";
+
+    private final SyncProperties properties;
+    private final SyncPushRepository pushRepository;
+    private final SyncChangeRepository changeRepository;
+    private final JsonMapper jsonMapper;
+
+    @Transactional
+    public SyncPushResponse push(UUID userId, SyncPushRequest request) {
+        List<SyncMutationRequest> mutations = request.getMutations();
+        if (mutations.size() > properties.maxPushMutations()) {
+            throw new BadRequestException(String.format(SyncMessages.TOO_MANY_MUTATIONS_FORMAT, properties.maxPushMutations()));
+        }
+
+        SyncMutationResult[] results = new SyncMutationResult[mutations.size()];
+        Map<SyncEntityType, Map<String, Pending>> byType = new EnumMap<>(SyncEntityType.class);
+        Map<Integer, Integer> supersededBy = new HashMap<>();
+
+        for (int i = 0; i < mutations.size(); i++) {
+            SyncMutationRequest mutation = mutations.get(i);
+            SyncEntityType type = SyncEntityType.fromWireName(mutation.getEntityType()).orElse(null);
+            if (type == null) {
+                results[i] = rejected(mutation, SyncMessages.UNKNOWN_ENTITY_TYPE);
+                continue;
+            }
+
+            Object[] values = null;
+            if (!isDelete(mutation)) {
+                try {
+                    values = SyncValueConverter.toColumnValues(type, mutation.getData());
+                } catch (IllegalArgumentException e) {
+                    results[i] = rejected(mutation, e.getMessage());
+                    continue;
+                }
+            }
+
+            // The last edit of a row wins; earlier ones in the same push report its outcome
+            Map<String, Pending> pending = byType.computeIfAbsent(type, key -> new LinkedHashMap<>());
+            Pending previous = pending.remove(mutation.getLocalId());
+            if (previous != null) {
+                supersededBy.put(previous.index(), i);
+            }
+            pending.put(mutation.getLocalId(), new Pending(i, type, mutation, values));
+        }
+
+        List<QueueRecord> queue = new ArrayList<>();
+        byType.forEach((type, pending) -> apply(userId, type, new ArrayList<>(pending.values()), results, queue));
+        pushRepository.recordQueue(userId, queue);
+
+        supersededBy.keySet().forEach(index -> {
+            int last = index;
+            while (supersededBy.containsKey(last)) {
+                last = supersededBy.get(last);
+            }
+            SyncMutationResult outcome = results[last];
+            results[index] = SyncMutationResult.builder()
+                    .entityType(outcome.getEntityType())
+                    .localId(outcome.getLocalId())
+                    .status(outcome.getStatus())
+                    .id(outcome.getId())
+                    .version(outcome.getVersion())
+                    .reason(SyncMessages.SUPERSEDED)
+                    .build();
+        });
+
+        log.debug("Sync push for user {}: {} mutations, {} queued", userId, mutations.size(), queue.size());
+        return SyncPushResponse.builder()
+                .results(Arrays.asList(results))
+                .serverVersion(changeRepository.serverVersion(userId))
+                .build();
+    }
+
+    private void apply(
+            UUID userId,
+            SyncEntityType type,
+            List<Pending> pending,
+            SyncMutationResult[] results,
+            List<QueueRecord> queue
+    ) {
+        rejectForeignReferences(userId, type, pending, results);
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        Map<String, ExistingRow> existing = pushRepository.lockExisting(type, userId, localIds(pending));
+        List<Pending> upserts = new ArrayList<>();
+        List<Pending> deletes = new ArrayList<>();
+
+        for (Pending item : pending) {
+            SyncMutationRequest mutation = item.mutation();
+            ExistingRow row = existing.get(mutation.getLocalId());
+            Long baseVersion = mutation.getBaseVersion();
+
+            if (row != null && baseVersion != null && row.version() > baseVersion) {
+                results[item.index()] = result(mutation, SyncMutationStatus.CONFLICT, row.id(), row.version(), null);
+                queue.add(queueRecord(item, row.id(), QUEUE_STATUS_CONFLICT,
+                        jsonMapper.writeValueAsString(Map.of("baseVersion", baseVersion, "serverVersion", row.version()))));
+            } else if (isDelete(mutation) && (row == null || row.deleted())) {
+                // Already gone: deletes are idempotent
+                results[item.index()] = result(mutation, SyncMutationStatus.APPLIED,
+                        row != null ? row.id() : null, row != null ? row.version() : null, null);
+            } else if (isDelete(mutation)) {
+                deletes.add(item);
+            } else {
+                upserts.add(item);
+            }
+        }
+
+        List<Pending> applied = write(userId, type, upserts, deletes, results);
+        if (applied.isEmpty()) {
+            return;
+        }
+
+        Map<String, ExistingRow> written = pushRepository.lockExisting(type, userId, localIds(applied));
+        for (Pending item : applied) {
+            ExistingRow row = written.get(item.mutation().getLocalId());
+            results[item.index()] = result(item.mutation(), SyncMutationStatus.APPLIED, row.id(), row.version(), null);
+            queue.add(queueRecord(item, row.id(), QUEUE_STATUS_SYNCED, null));
+        }
+    }
+
+    private List<Pending> write(
+            UUID userId,
+            SyncEntityType type,
+            List<Pending> upserts,
+            List<Pending> deletes,
+            SyncMutationResult[] results
+    ) {
+        List<Pending> all = new ArrayList<>(upserts);
+        all.addAll(deletes);
+        if (all.isEmpty()) {
+            return all;
+        }
+
+        Savepoint savepoint = pushRepository.savepoint();
+        try {
+            writeBatch(userId, type, upserts, deletes);
+            pushRepository.release(savepoint);
+            return all;
+        } catch (DataAccessException e) {
+            pushRepository.rollbackTo(savepoint);
+            log.debug("Batched {} push failed, retrying row by row: {}", type.wireName(), e.getMessage());
+        }
+
+        List<Pending> applied = new ArrayList<>();
+        for (Pending item : all) {
+            Savepoint rowSavepoint = pushRepository.savepoint();
+            try {
+                boolean delete = isDelete(item.mutation());
+                writeBatch(userId, type, delete ? List.of() : List.of(item), delete ? List.of(item) : List.of());
+                pushRepository.release(rowSavepoint);
+                applied.add(item);
+            } catch (DataAccessException e) {
+                pushRepository.rollbackTo(rowSavepoint);
+                results[item.index()] = rejected(item.mutation(), SyncMessages.CONSTRAINT_VIOLATION);
+            }
+        }
+        return applied;
+    }
+
+    private void writeBatch(UUID userId, SyncEntityType type, List<Pending> upserts, List<Pending> deletes) {
+        if (!upserts.isEmpty()) {
+            pushRepository.upsert(type, userId, upserts.stream()
+                    .map(item -> new UpsertRow(item.mutation().getLocalId(), item.values()))
+                    .toList());
+        }
+        if (!deletes.isEmpty()) {
+            pushRepository.softDelete(type, userId, localIds(deletes));
+        }
+    }
+
+    // Foreign keys alone would accept another user's routine or category id
+    private void rejectForeignReferences(UUID userId, SyncEntityType type, List<Pending> pending, SyncMutationResult[] results) {
+        List<SyncColumn> columns = type.columns();
+        for (int c = 0; c < columns.size(); c++) {
+            SyncColumn column = columns.get(c);
+            if (column.references() == null) {
+                continue;
+            }
+            int index = c;
+            Set<UUID> referenced = new HashSet<>();
+            for (Pending item : pending) {
+                if (item.values() != null && item.values()[index] != null) {
+                    referenced.add((UUID) item.values()[index]);
+                }
+            }
+            if (referenced.isEmpty()) {
+                continue;
+            }
+
+            Set<UUID> owned = pushRepository.findOwned(column.references(), userId, referenced);
+            pending.removeIf(item -> {
+                Object value = item.values() != null ? item.values()[index] : null;
+                if (value == null || owned.contains(value)) {
+                    return false;
+                }
+                results[item.index()] = rejected(item.mutation(),
+                        String.format(SyncMessages.REFERENCE_NOT_FOUND_FORMAT, column.property()));
+                return true;
+            });
+        }
+    }
+
+    private QueueRecord queueRecord(Pending item, UUID entityId, String status, String conflictData) {
+        SyncMutationRequest mutation = item.mutation();
+        Map<String, Object> data = mutation.getData() != null && !isDelete(mutation) ? mutation.getData() : Map.of();
+        return new QueueRecord(
+                item.type(),
+                entityId,
+                mutation.getLocalId(),
+                mutation.getAction(),
+                jsonMapper.writeValueAsString(data),
+                mutation.getClientTimestamp(),
+                status,
+                conflictData,
+                conflictData != null
+        );
+    }
+
+    private static List<String> localIds(List<Pending> pending) {
+        return pending.stream().map(item -> item.mutation().getLocalId()).toList();
+    }
+
+    private static boolean isDelete(SyncMutationRequest mutation) {
+        return ACTION_DELETE.equals(mutation.getAction());
+    }
+
+    private static SyncMutationResult rejected(SyncMutationRequest mutation, String reason) {
+        return result(mutation, SyncMutationStatus.REJECTED, null, null, reason);
+    }
+
+    private static SyncMutationResult result(
+            SyncMutationRequest mutation,
+            SyncMutationStatus status,
+            UUID id,
+            Long version,
+            String reason
+    ) {
+        return SyncMutationResult.builder()
+                .entityType(mutation.getEntityType())
+                .localId(mutation.getLocalId())
+                .status(status)
+                .id(id)
+                .version(version)
+                .reason(reason)
+                .build();
+    }
+
+    private record Pending(int index, SyncEntityType type, SyncMutationRequest mutation, Object[] values) {
+    }
+}
@@ -0,0 +1,83 @@
+package com.thatmoment.sync.service;
+
+import com.thatmoment.common.constants.SyncMessages;
+import com.thatmoment.common.exception.exceptions.BadRequestException;
+import com.thatmoment.sync.config.SyncProperties;
+import com.thatmoment.sync.dto.response.SyncPullResponse;
+import com.thatmoment.sync.repository.SyncChangeRepository;
+import com.thatmoment.sync.repository.SyncMetadataRepository;
+import com.thatmoment.sync.repository.SyncPage;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.UUID;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class SyncService {
+
+    private static final int MAX_DEVICE_ID_LENGTH = 255;
+
+    private final SyncProperties properties;
+    private final SyncChangeRepository changeRepository;
+    private final SyncMetadataRepository metadataRepository;
+
+    /**
+     * Returns one page of changes after {@code since}. An explicit {@code since} is also the
+     * device's acknowledgement that it holds everything up to that version, and is stored as its
+     * last_server_version; without one the stored value is used.
+     */
+    public SyncPullResponse pull(UUID userId, String deviceId, Long since, Integer limit) {
+        long sinceVersion = resolveSince(userId, deviceId, since);
+        int pageSize = resolvePageSize(limit);
+
+        SyncPage page = changeRepository.findPage(userId, sinceVersion, pageSize);
+
+        long nextSince;
+        if (page.hasMore()) {
+            nextSince = page.changes().getLast().getVersion();
+        } else {
+            // Nothing newer is committed, so the client can jump straight to the current version
+            nextSince = Math.max(sinceVersion, page.serverVersion());
+        }
+
+        log.debug("Sync pull for user {} device {}: {} changes after {}", userId, deviceId, page.changes().size(), sinceVersion);
+        return SyncPullResponse.builder()
+                .changes(page.changes())
+                .nextSince(nextSince)
+                .hasMore(page.hasMore())
+                .serverVersion(page.serverVersion())
+                .build();
+    }
+
+    private long resolveSince(UUID userId, String deviceId, Long since) {
+        if (deviceId != null && (deviceId.isBlank() || deviceId.length() > MAX_DEVICE_ID_LENGTH)) {
+            throw new BadRequestException(SyncMessages.INVALID_DEVICE_ID);
+        }
+        if (since != null) {
+            if (since < 0) {
+                throw new BadRequestException(SyncMessages.INVALID_SINCE);
+            }
+            if (deviceId != null) {
+                metadataRepository.saveLastServerVersion(userId, deviceId, since);
+            }
+            return since;
+        }
+        if (deviceId == null) {
+            return 0L;
+        }
+        return metadataRepository.findLastServerVersion(userId, deviceId).orElse(0L);
+    }
+
+    private int resolvePageSize(Integer limit) {
+        if (limit == null) {
+            return properties.defaultPageSize();
+        }
+        if (limit < 1) {
+            throw new BadRequestException(SyncMessages.INVALID_PAGE_SIZE);
+        }
+        return Math.min(limit, properties.maxPageSize());
+    }
+}
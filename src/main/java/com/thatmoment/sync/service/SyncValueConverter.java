@@ -0,0 +1,66 @@
+package com.thatmoment.sync.service;
+
+import com.thatmoment.sync.domain.SyncColumn;
+import com.thatmoment.sync.domain.SyncEntityType;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Converts a pushed JSON row into JDBC bind values in {@link SyncEntityType#columns()} order,
+ * rejecting values that do not fit the column before they reach the database.
+ */
+final class SyncValueConverter {
+
+    private SyncValueConverter() {
+    }
+
+    static Object[] toColumnValues(SyncEntityType type, Map<String, Object> data) {
+        List<SyncColumn> columns = type.columns();
+        Object[] values = new Object[columns.size()];
+        for (int i = 0; i < columns.size(); i++) {
+            SyncColumn column = columns.get(i);
+            Object raw = data != null ? data.get(column.property()) : null;
+            if (raw == null) {
+                if (column.required()) {
+                    throw new IllegalArgumentException(column.property() + " is required");
+                }
+                continue;
+            }
+            try {
+                values[i] = convert(column.kind(), raw);
+            } catch (ClassCastException | DateTimeParseException | IllegalArgumentException e) {
+                throw new IllegalArgumentException(column.property() + " has an invalid value");
+            }
+        }
+        return values;
+    }
+
+    private static Object convert(SyncColumn.Kind kind, Object raw) {
+        return switch (kind) {
+            case UUID -> UUID.fromString((String) raw);
+            case TEXT -> (String) raw;
+            case INTEGER -> toInteger(raw);
+            case BOOLEAN -> (Boolean) raw;
+            case DATE -> LocalDate.parse((String) raw);
+            case TIME -> LocalTime.parse((String) raw);
+            case TIMESTAMP -> Instant.parse((String) raw);
+            case TEXT_ARRAY -> ((List<?>) raw).stream().map(String.class::cast).toList();
+            case INTEGER_ARRAY -> ((List<?>) raw).stream().map(SyncValueConverter::toInteger).toList();
+        };
+    }
+
+    private static Integer toInteger(Object raw) {
+        Number number = (Number) raw;
+        if (number.doubleValue() != Math.rint(number.doubleValue())
+                || number.longValue() > Integer.MAX_VALUE || number.longValue() < Integer.MIN_VALUE) {
+            throw new IllegalArgumentException("not an integer");
+        }
+        return number.intValue();
+    }
+}
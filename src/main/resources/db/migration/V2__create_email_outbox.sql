@@ -0,0 +1,32 @@
+-- =====================================================
+-- NOTIFICATION SCHEMA - Transactional email outbox
+-- =====================================================
+-- Rows are written in the same transaction as the user / verification code
+-- and drained by dispatcher workers with FOR UPDATE SKIP LOCKED.
+-- A verification email is only useful while its code is valid: expires_at comes
+-- from the code's TTL, and a row past it, or one a newer row for the same
+-- recipient and purpose has replaced, is dropped instead of sent or retried.
+
+CREATE TABLE notification.email_outbox (
+    id UUID PRIMARY KEY DEFAULT gen_random_uuid(),
+    recipient VARCHAR(255) NOT NULL,
+    purpose VARCHAR(50) NOT NULL, -- 'EMAIL_VERIFY', 'LOGIN_OTP', ...
+    code VARCHAR(16), -- Cleared once the message is dead-lettered
+    status VARCHAR(20) NOT NULL DEFAULT 'PENDING', -- 'PENDING', 'SENDING', 'DEAD'
+    attempts INTEGER NOT NULL DEFAULT 0,
+    next_attempt_at TIMESTAMP NOT NULL DEFAULT now(),
+    locked_until TIMESTAMP,
+    last_error VARCHAR(500),
+    expires_at TIMESTAMP NOT NULL,
+
+    created_at TIMESTAMP(6) NOT NULL DEFAULT now(),
+    updated_at TIMESTAMP(6) NOT NULL DEFAULT now()
+);
+
+CREATE INDEX idx_email_outbox_pending ON notification.email_outbox(next_attempt_at)
+    WHERE status = 'PENDING';
+CREATE INDEX idx_email_outbox_leased ON notification.email_outbox(locked_until)
+    WHERE status = 'SENDING';
+CREATE INDEX idx_email_outbox_recipient ON notification.email_outbox(recipient, purpose, created_at);
+CREATE INDEX idx_email_outbox_expires ON notification.email_outbox(expires_at)
+    WHERE status <> 'DEAD';
@@ -0,0 +1,152 @@
+-- =====================================================
+-- AUTH SCHEMA - Time partitioned audit / token tables
+-- =====================================================
+-- refresh_tokens, email_verifications and login_history become range partitions
+-- on created_at. PartitionMaintainer creates partitions ahead of time and drops
+-- the ones past their retention window instead of DELETE-ing rows.
+--
+-- Partition granularity (must match PartitionMaintainer):
+--   refresh_tokens      weekly   (auth.refresh_tokens_pYYYYMMDD, Monday start)
+--   email_verifications daily    (auth.email_verifications_pYYYYMMDD)
+--   login_history       monthly  (auth.login_history_pYYYYMMDD, first of month)
+--
+-- The partition key has to be part of every unique constraint, so primary keys
+-- become (id, created_at) and refresh_tokens.token_hash is no longer UNIQUE
+-- (it is a SHA-256 digest; the lookup index is kept).
+-- auth.sessions is not partitioned: refresh_tokens references it by id.
+
+-- -----------------------------------------------------
+-- Move the existing tables out of the way
+-- -----------------------------------------------------
+ALTER TABLE auth.refresh_tokens RENAME TO refresh_tokens_legacy;
+ALTER INDEX auth.refresh_tokens_pkey RENAME TO refresh_tokens_legacy_pkey;
+ALTER INDEX auth.refresh_tokens_token_hash_key RENAME TO refresh_tokens_legacy_token_hash_key;
+DROP INDEX auth.idx_refresh_tokens_user;
+
+ALTER TABLE auth.email_verifications RENAME TO email_verifications_legacy;
+ALTER INDEX auth.email_verifications_pkey RENAME TO email_verifications_legacy_pkey;
+DROP INDEX auth.idx_email_verifications_user;
+
+ALTER TABLE auth.login_history RENAME TO login_history_legacy;
+ALTER INDEX auth.login_history_pkey RENAME TO login_history_legacy_pkey;
+DROP INDEX auth.idx_login_history_user;
+
+-- -----------------------------------------------------
+-- Partitioned tables
+-- -----------------------------------------------------
+CREATE TABLE auth.refresh_tokens (
+    id UUID NOT NULL DEFAULT gen_random_uuid(),
+    user_id UUID NOT NULL REFERENCES auth.users(id) ON DELETE CASCADE,
+    session_id UUID REFERENCES auth.sessions(id) ON DELETE CASCADE,
+    token_hash VARCHAR(255) NOT NULL,
+    device_id VARCHAR(255),
+    expires_at TIMESTAMP NOT NULL,
+    used_at TIMESTAMP,
+    created_ip INET,
+    is_active BOOLEAN DEFAULT TRUE,
+
+    -- BaseEntity fields
+    created_at TIMESTAMP(6) NOT NULL DEFAULT now(),
+    updated_at TIMESTAMP(6) NOT NULL DEFAULT now(),
+    created_by UUID,
+    updated_by UUID,
+
+    PRIMARY KEY (id, created_at)
+) PARTITION BY RANGE (created_at);
+
+CREATE TABLE auth.email_verifications (
+    id UUID NOT NULL DEFAULT gen_random_uuid(),
+    user_id UUID NOT NULL REFERENCES auth.users(id) ON DELETE CASCADE,
+    code VARCHAR(6) NOT NULL,
+    purpose VARCHAR(20) NOT NULL, -- 'EMAIL_VERIFY', 'LOGIN_OTP', 'PASSWORD_RESET'
+    attempt_count INTEGER NOT NULL DEFAULT 0,
+    max_attempts INTEGER NOT NULL DEFAULT 3,
+    expires_at TIMESTAMP NOT NULL,
+    verified_at TIMESTAMP,
+
+    -- BaseEntity fields
+    created_at TIMESTAMP(6) NOT NULL DEFAULT now(),
+    updated_at TIMESTAMP(6) NOT NULL DEFAULT now(),
+    created_by UUID,
+    updated_by UUID,
+
+    PRIMARY KEY (id, created_at)
+) PARTITION BY RANGE (created_at);
+
+CREATE TABLE auth.login_history (
+    id UUID NOT NULL DEFAULT gen_random_uuid(),
+    user_id UUID NOT NULL REFERENCES auth.users(id) ON DELETE CASCADE,
+    login_at TIMESTAMP DEFAULT NOW(),
+    auth_method VARCHAR(50),
+    device_id VARCHAR(255),
+    ip_address INET,
+    user_agent TEXT,
+    status VARCHAR(20) NOT NULL, -- 'success', 'failed', 'blocked'
+    failure_reason VARCHAR(100),
+
+    -- Immutable - only created_at
+    created_at TIMESTAMP(6) NOT NULL DEFAULT now(),
+
+    PRIMARY KEY (id, created_at)
+) PARTITION BY RANGE (created_at);
+
+CREATE INDEX idx_refresh_tokens_hash ON auth.refresh_tokens(token_hash);
+CREATE INDEX idx_refresh_tokens_user ON auth.refresh_tokens(user_id) WHERE is_active = TRUE;
+CREATE INDEX idx_refresh_tokens_session ON auth.refresh_tokens(session_id);
+CREATE INDEX idx_email_verifications_user ON auth.email_verifications(user_id, purpose) WHERE verified_at IS NULL;
+CREATE INDEX idx_login_history_user ON auth.login_history(user_id, created_at DESC);
+
+COMMENT ON TABLE auth.refresh_tokens IS 'Entity: BaseEntity - JWT refresh tokens (weekly partitions)';
+COMMENT ON TABLE auth.email_verifications IS 'Entity: BaseEntity - Email verification codes (daily partitions)';
+COMMENT ON TABLE auth.login_history IS 'Entity: Immutable - Login audit log (monthly partitions)';
+
+-- -----------------------------------------------------
+-- Default partitions catch rows outside the created ranges (e.g. migrated history)
+-- -----------------------------------------------------
+CREATE TABLE auth.refresh_tokens_default PARTITION OF auth.refresh_tokens DEFAULT;
+CREATE TABLE auth.email_verifications_default PARTITION OF auth.email_verifications DEFAULT;
+CREATE TABLE auth.login_history_default PARTITION OF auth.login_history DEFAULT;
+
+-- -----------------------------------------------------
+-- Current period partitions; PartitionMaintainer keeps creating the following ones
+-- -----------------------------------------------------
+DO $$
+DECLARE
+    period_start DATE;
+BEGIN
+    FOR i IN 0..1 LOOP
+        period_start := date_trunc('week', now())::date + (i * 7);
+        EXECUTE format(
+            'CREATE TABLE auth.%I PARTITION OF auth.refresh_tokens FOR VALUES FROM (%L) TO (%L)',
+            'refresh_tokens_p' || to_char(period_start, 'YYYYMMDD'), period_start, period_start + 7
+        );
+    END LOOP;
+
+    FOR i IN 0..2 LOOP
+        period_start := current_date + i;
+        EXECUTE format(
+            'CREATE TABLE auth.%I PARTITION OF auth.email_verifications FOR VALUES FROM (%L) TO (%L)',
+            'email_verifications_p' || to_char(period_start, 'YYYYMMDD'), period_start, period_start + 1
+        );
+    END LOOP;
+
+    FOR i IN 0..1 LOOP
+        period_start := (date_trunc('month', now()) + make_interval(months => i))::date;
+        EXECUTE format(
+            'CREATE TABLE auth.%I PARTITION OF auth.login_history FOR VALUES FROM (%L) TO (%L)',
+            'login_history_p' || to_char(period_start, 'YYYYMMDD'),
+            period_start, (period_start + INTERVAL '1 month')::date
+        );
+    END LOOP;
+END $$;
+
+-- -----------------------------------------------------
+-- Carry over existing rows and drop the old tables
+-- -----------------------------------------------------
+INSERT INTO auth.refresh_tokens SELECT * FROM auth.refresh_tokens_legacy;
+INSERT INTO auth.email_verifications SELECT * FROM auth.email_verifications_legacy;
+INSERT INTO auth.login_history SELECT * FROM auth.login_history_legacy;
+
+DROP TABLE auth.refresh_tokens_legacy;
+DROP TABLE auth.email_verifications_legacy;
+DROP TABLE auth.login_history_legacy;
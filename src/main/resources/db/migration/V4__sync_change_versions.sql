@@ -0,0 +1,77 @@
+-- =====================================================
+-- SYNC SCHEMA - Per-user change sequence for delta sync
+-- =====================================================
+-- Every insert or update of a synced row takes the next value of the owner's
+-- counter in sync.user_versions and stores it in sync_version. Soft deletes are
+-- updates, so tombstones get a version as well. Clients pull
+-- "sync_version > last_server_version" per table through the
+-- (user_id, sync_version) indexes, so a pull reads only the changed rows.
+--
+-- The counter row stays locked until the writing transaction commits. A user's
+-- versions therefore become visible in increasing order, and a reader never
+-- sees version N+1 while version N is still in flight.
+
+CREATE TABLE sync.user_versions (
+    user_id UUID PRIMARY KEY REFERENCES auth.users(id) ON DELETE CASCADE,
+    version BIGINT NOT NULL DEFAULT 0
+);
+
+ALTER TABLE journal.entries ADD COLUMN sync_version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE routine.entries ADD COLUMN sync_version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE calendar.time_blocks ADD COLUMN sync_version BIGINT NOT NULL DEFAULT 0;
+
+-- -----------------------------------------------------
+-- Backfill existing rows in updated_at order
+-- -----------------------------------------------------
+CREATE TEMPORARY TABLE sync_backfill ON COMMIT DROP AS
+SELECT source, id, user_id,
+       row_number() OVER (PARTITION BY user_id ORDER BY updated_at, id) AS version
+FROM (
+    SELECT 'journal_entry' AS source, id, user_id, updated_at FROM journal.entries
+    UNION ALL
+    SELECT 'routine_entry', id, user_id, updated_at FROM routine.entries
+    UNION ALL
+    SELECT 'time_block', id, user_id, updated_at FROM calendar.time_blocks
+) synced;
+
+UPDATE journal.entries t SET sync_version = b.version
+FROM sync_backfill b WHERE b.source = 'journal_entry' AND b.id = t.id;
+
+UPDATE routine.entries t SET sync_version = b.version
+FROM sync_backfill b WHERE b.source = 'routine_entry' AND b.id = t.id;
+
+UPDATE calendar.time_blocks t SET sync_version = b.version
+FROM sync_backfill b WHERE b.source = 'time_block' AND b.id = t.id;
+
+INSERT INTO sync.user_versions (user_id, version)
+SELECT user_id, max(version) FROM sync_backfill GROUP BY user_id;
+
+-- -----------------------------------------------------
+-- Version stamping
+-- -----------------------------------------------------
+CREATE FUNCTION sync.next_version() RETURNS trigger AS $$
+BEGIN
+    INSERT INTO sync.user_versions AS uv (user_id, version)
+    VALUES (NEW.user_id, 1)
+    ON CONFLICT (user_id) DO UPDATE SET version = uv.version + 1
+    RETURNING uv.version INTO NEW.sync_version;
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER trg_journal_entries_sync_version
+    BEFORE INSERT OR UPDATE ON journal.entries
+    FOR EACH ROW EXECUTE FUNCTION sync.next_version();
+
+CREATE TRIGGER trg_routine_entries_sync_version
+    BEFORE INSERT OR UPDATE ON routine.entries
+    FOR EACH ROW EXECUTE FUNCTION sync.next_version();
+
+CREATE TRIGGER trg_time_blocks_sync_version
+    BEFORE INSERT OR UPDATE ON calendar.time_blocks
+    FOR EACH ROW EXECUTE FUNCTION sync.next_version();
+
+-- Tombstones are included on purpose: no deleted_at filter
+CREATE INDEX idx_journal_entries_sync ON journal.entries(user_id, sync_version);
+CREATE INDEX idx_routine_entries_sync ON routine.entries(user_id, sync_version);
+CREATE INDEX idx_time_blocks_sync ON calendar.time_blocks(user_id, sync_version);
@@ -0,0 +1,6 @@
+-- KEYS[1] cached value, KEYS[2] generation counter
+-- ARGV[1] generation ttl millis, longer than any load
+redis.call('DEL', KEYS[1])
+redis.call('INCR', KEYS[2])
+redis.call('PEXPIRE', KEYS[2], ARGV[1])
+return 1
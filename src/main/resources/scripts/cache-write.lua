@@ -0,0 +1,9 @@
+-- KEYS[1] cached value, KEYS[2] generation counter
+-- ARGV[1] generation seen before loading ('' when absent), ARGV[2] encoded value, ARGV[3] ttl millis
+-- Skips the write when an eviction bumped the generation while the value was being loaded
+local current = redis.call('GET', KEYS[2]) or ''
+if current ~= ARGV[1] then
+    return 0
+end
+redis.call('SET', KEYS[1], ARGV[2], 'PX', ARGV[3])
+return 1
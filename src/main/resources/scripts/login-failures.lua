@@ -0,0 +1,27 @@
+-- KEYS[1] failure window (zset), KEYS[2] lock marker
+-- ARGV[1] window millis, ARGV[2] max attempts, ARGV[3] lock millis, ARGV[4] unique member
+-- Returns {attempts, lockedUntilMillis, triggered}; triggered is 1 only for the failure that set the lock
+local time = redis.call('TIME')
+local now = tonumber(time[1]) * 1000 + math.floor(tonumber(time[2]) / 1000)
+local window = tonumber(ARGV[1])
+local maxAttempts = tonumber(ARGV[2])
+local lockMillis = tonumber(ARGV[3])
+
+local lockedUntil = tonumber(redis.call('GET', KEYS[2]) or '0')
+if lockedUntil > now then
+    return {maxAttempts, lockedUntil, 0}
+end
+
+redis.call('ZREMRANGEBYSCORE', KEYS[1], '-inf', now - window)
+redis.call('ZADD', KEYS[1], now, ARGV[4])
+local attempts = redis.call('ZCARD', KEYS[1])
+
+if attempts >= maxAttempts then
+    lockedUntil = now + lockMillis
+    redis.call('SET', KEYS[2], lockedUntil, 'PX', lockMillis)
+    redis.call('DEL', KEYS[1])
+    return {attempts, lockedUntil, 1}
+end
+
+redis.call('PEXPIRE', KEYS[1], window)
+return {attempts, 0, 0}
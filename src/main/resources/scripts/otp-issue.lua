@@ -0,0 +1,5 @@
+-- KEYS[1] otp key; ARGV: code, maxAttempts, ttlMillis
+redis.call('DEL', KEYS[1])
+redis.call('HSET', KEYS[1], 'code', ARGV[1], 'attempts', 0, 'max', ARGV[2])
+redis.call('PEXPIRE', KEYS[1], ARGV[3])
+return 1
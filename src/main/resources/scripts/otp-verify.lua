@@ -0,0 +1,20 @@
+-- KEYS[1] otp key; ARGV[1] submitted code
+-- Returns {1, 0} verified (code consumed), {0, remaining} mismatch, {-1, 0} no active code
+local state = redis.call('HMGET', KEYS[1], 'code', 'attempts', 'max')
+if not state[1] then
+    return {-1, 0}
+end
+
+local attempts = tonumber(state[2])
+local maxAttempts = tonumber(state[3])
+if attempts >= maxAttempts then
+    return {-1, 0}
+end
+
+if state[1] == ARGV[1] then
+    redis.call('DEL', KEYS[1])
+    return {1, 0}
+end
+
+attempts = redis.call('HINCRBY', KEYS[1], 'attempts', 1)
+return {0, maxAttempts - attempts}
@@ -0,0 +1,40 @@
+-- Token buckets checked and consumed atomically across all KEYS.
+-- ARGV holds (capacity, periodMillis) pairs, one pair per key.
+-- Returns {1, 0} when allowed, {0, retryAfterMillis} when any bucket is empty.
+local time = redis.call('TIME')
+local now = tonumber(time[1]) * 1000 + math.floor(tonumber(time[2]) / 1000)
+
+local tokens = {}
+local retryAfter = 0
+
+for i, key in ipairs(KEYS) do
+    local capacity = tonumber(ARGV[i * 2 - 1])
+    local period = tonumber(ARGV[i * 2])
+    local rate = capacity / period
+
+    local state = redis.call('HMGET', key, 'tokens', 'ts')
+    local available = tonumber(state[1])
+    local updatedAt = tonumber(state[2])
+    if available == nil or updatedAt == nil then
+        available = capacity
+        updatedAt = now
+    end
+
+    available = math.min(capacity, available + math.max(0, now - updatedAt) * rate)
+    tokens[i] = available
+
+    if available < 1 then
+        retryAfter = math.max(retryAfter, math.ceil((1 - available) / rate))
+    end
+end
+
+if retryAfter > 0 then
+    return {0, retryAfter}
+end
+
+for i, key in ipairs(KEYS) do
+    redis.call('HSET', key, 'tokens', tostring(tokens[i] - 1), 'ts', tostring(now))
+    redis.call('PEXPIRE', key, tonumber(ARGV[i * 2]))
+end
+
+return {1, 0}
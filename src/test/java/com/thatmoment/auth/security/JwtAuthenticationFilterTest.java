@@ -0,0 +1,98 @@
+package com.thatmoment.auth.security;
+
+import com.thatmoment.auth.service.SessionActivityTracker;
+import com.thatmoment.auth.service.VerifiedToken;
+import io.jsonwebtoken.ExpiredJwtException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.Instant;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class JwtAuthenticationFilterTest {
+
+    private static final String TOKEN = "header.payload.signature";
+
+    @Mock
+    private AccessTokenCache accessTokenCache;
+    @Mock
+    private RevokedSessionRegistry revokedSessionRegistry;
+    @Mock
+    private SessionActivityTracker sessionActivityTracker;
+
+    @InjectMocks
+    private JwtAuthenticationFilter filter;
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void principalIsBuiltFromASingleVerification() throws Exception {
+        UUID userId = UUID.randomUUID();
+        UUID sessionId = UUID.randomUUID();
+        when(accessTokenCache.verify(TOKEN)).thenReturn(new VerifiedToken(
+                userId, sessionId, "user@example.com", VerifiedToken.TYPE_ACCESS, Instant.now().plusSeconds(900)));
+
+        MockFilterChain chain = new MockFilterChain();
+        filter.doFilter(request(), new MockHttpServletResponse(), chain);
+
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        assertThat(authentication.getPrincipal()).isInstanceOfSatisfying(UserPrincipal.class, principal -> {
+            assertThat(principal.getUserId()).isEqualTo(userId);
+            assertThat(principal.getSessionId()).isEqualTo(sessionId);
+            assertThat(principal.getEmail()).isEqualTo("user@example.com");
+        });
+        verify(accessTokenCache, times(1)).verify(TOKEN);
+        verifyNoInteractions(sessionActivityTracker);
+        assertThat(chain.getRequest()).isNotNull();
+    }
+
+    @Test
+    void refreshTokenIsNotAcceptedAsBearer() throws Exception {
+        when(accessTokenCache.verify(TOKEN)).thenReturn(new VerifiedToken(
+                UUID.randomUUID(), UUID.randomUUID(), null, VerifiedToken.TYPE_REFRESH, Instant.now().plusSeconds(900)));
+
+        MockHttpServletRequest request = request();
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+
+        assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
+        assertThat(request.getAttribute("jwt_error")).isEqualTo("INVALID_TOKEN_TYPE");
+        verifyNoInteractions(revokedSessionRegistry);
+    }
+
+    @Test
+    void expiredTokenIsFlaggedAndTheChainContinues() throws Exception {
+        when(accessTokenCache.verify(TOKEN)).thenThrow(new ExpiredJwtException(null, null, "expired"));
+
+        MockHttpServletRequest request = request();
+        MockFilterChain chain = new MockFilterChain();
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+
+        assertThat(request.getAttribute("jwt_error")).isEqualTo("TOKEN_EXPIRED");
+        assertThat(chain.getRequest()).isSameAs(request);
+    }
+
+    private static MockHttpServletRequest request() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/moments");
+        request.addHeader("Authorization", "Bearer " + TOKEN);
+        return request;
+    }
+}
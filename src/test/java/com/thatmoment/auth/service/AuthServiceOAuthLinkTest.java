@@ -0,0 +1,156 @@
+package com.thatmoment.auth.service;
+
+import com.thatmoment.auth.domain.OAuthProvider;
+import com.thatmoment.auth.domain.Session;
+import com.thatmoment.auth.domain.User;
+import com.thatmoment.auth.domain.enums.AuthMethod;
+import com.thatmoment.auth.domain.enums.VerificationPurpose;
+import com.thatmoment.auth.repository.OAuthProviderRepository;
+import com.thatmoment.auth.repository.UserRepository;
+import com.thatmoment.auth.service.audit.LoginAuditService;
+import com.thatmoment.auth.service.lockout.LoginLockoutService;
+import com.thatmoment.auth.service.oauth.OAuthIdentity;
+import com.thatmoment.auth.service.otp.OtpStore;
+import com.thatmoment.common.constants.AuthMessages;
+import com.thatmoment.common.exception.exceptions.ConflictException;
+import com.thatmoment.notification.service.EmailOutboxService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class AuthServiceOAuthLinkTest {
+
+    private static final String EMAIL = "victim@example.com";
+
+    @Mock
+    private UserRepository userRepository;
+    @Mock
+    private OAuthProviderRepository oAuthProviderRepository;
+    @Mock
+    private UserLookupService userLookupService;
+    @Mock
+    private OtpStore otpStore;
+    @Mock
+    private EmailOutboxService emailOutboxService;
+    @Mock
+    private JwtService jwtService;
+    @Mock
+    private SessionService sessionService;
+    @Mock
+    private RefreshCoalescer refreshCoalescer;
+    @Mock
+    private RefreshTokenIssuer refreshTokenIssuer;
+    @Mock
+    private LoginAuditService loginAuditService;
+    @Mock
+    private LoginLockoutService loginLockoutService;
+
+    @InjectMocks
+    private AuthService authService;
+
+    @BeforeEach
+    void setUp() {
+        Session session = Session.builder().userId(UUID.randomUUID()).build();
+        ReflectionTestUtils.setField(session, "id", UUID.randomUUID());
+        lenient().when(sessionService.createSession(any(), any(), any(), any(), any())).thenReturn(session);
+        lenient().when(sessionService.createRefreshToken(any(), any())).thenReturn("refresh");
+        lenient().when(jwtService.generateAccessToken(any(), any(), anyString())).thenReturn("access");
+        lenient().when(userRepository.save(any(User.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        lenient().when(oAuthProviderRepository.save(any(OAuthProvider.class))).thenAnswer(invocation -> invocation.getArgument(0));
+    }
+
+    @Test
+    void linkingUnverifiedAccountDropsCredentialsSetByWhoeverRegisteredIt() {
+        // An attacker registered the victim's email with their own password and never verified it
+        User preRegistered = User.builder()
+                .email(EMAIL)
+                .authMethod(AuthMethod.PASSWORD)
+                .passwordHash("$2a$12$attackerChosenPasswordHash")
+                .build();
+        UUID userId = UUID.randomUUID();
+        ReflectionTestUtils.setField(preRegistered, "id", userId);
+
+        when(oAuthProviderRepository.findByProviderNameAndProviderUserId("google", "google-subject"))
+                .thenReturn(Optional.empty());
+        when(userRepository.findByEmailAndDeletedAtIsNull(EMAIL)).thenReturn(Optional.of(preRegistered));
+
+        authService.completeOAuthLogin(
+                new OAuthIdentity("google", AuthMethod.GOOGLE, "google-subject", EMAIL, true),
+                "203.0.113.7",
+                "test"
+        );
+
+        assertThat(preRegistered.getIsVerified()).isTrue();
+        // Password login rejects accounts without a hash, so the attacker's password no longer works
+        assertThat(preRegistered.getPasswordHash()).isNull();
+        verify(otpStore).invalidate(userId, VerificationPurpose.EMAIL_VERIFY);
+        verify(otpStore).invalidate(userId, VerificationPurpose.LOGIN_OTP);
+    }
+
+    @Test
+    void linkingVerifiedAccountKeepsItsPassword() {
+        User owner = User.builder()
+                .email(EMAIL)
+                .authMethod(AuthMethod.PASSWORD)
+                .passwordHash("$2a$12$ownerPasswordHash")
+                .isVerified(true)
+                .build();
+        ReflectionTestUtils.setField(owner, "id", UUID.randomUUID());
+
+        when(oAuthProviderRepository.findByProviderNameAndProviderUserId("google", "google-subject"))
+                .thenReturn(Optional.empty());
+        when(userRepository.findByEmailAndDeletedAtIsNull(EMAIL)).thenReturn(Optional.of(owner));
+
+        authService.completeOAuthLogin(
+                new OAuthIdentity("google", AuthMethod.GOOGLE, "google-subject", EMAIL, true),
+                "203.0.113.7",
+                "test"
+        );
+
+        assertThat(owner.getPasswordHash()).isEqualTo("$2a$12$ownerPasswordHash");
+    }
+
+    @Test
+    void secondSubjectFromTheSameProviderIsRejected() {
+        User owner = User.builder()
+                .email(EMAIL)
+                .authMethod(AuthMethod.GOOGLE)
+                .isVerified(true)
+                .build();
+        UUID userId = UUID.randomUUID();
+        ReflectionTestUtils.setField(owner, "id", userId);
+
+        when(oAuthProviderRepository.findByProviderNameAndProviderUserId("google", "other-subject"))
+                .thenReturn(Optional.empty());
+        when(userRepository.findByEmailAndDeletedAtIsNull(EMAIL)).thenReturn(Optional.of(owner));
+        when(oAuthProviderRepository.existsByProviderNameAndUserId("google", userId)).thenReturn(true);
+
+        assertThatThrownBy(() -> authService.completeOAuthLogin(
+                new OAuthIdentity("google", AuthMethod.GOOGLE, "other-subject", EMAIL, true),
+                "203.0.113.7",
+                "test"
+        ))
+                .isInstanceOf(ConflictException.class)
+                .hasMessage(AuthMessages.OAUTH_PROVIDER_ALREADY_LINKED);
+
+        verify(oAuthProviderRepository, never()).save(any(OAuthProvider.class));
+        verify(sessionService, never()).createSession(any(), any(), any(), any(), any());
+    }
+}
@@ -0,0 +1,113 @@
+package com.thatmoment.auth.service;
+
+import com.thatmoment.auth.config.JwtSigningProperties;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.UnsupportedJwtException;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class JwtServiceTest {
+
+    private static final String SECRET = "test-256-bit-secret-key-for-jwt-signing-min-32-chars";
+
+    private final UUID userId = UUID.randomUUID();
+    private final UUID sessionId = UUID.randomUUID();
+
+    @Test
+    void verifyReadsEveryClaimFromOneParse() {
+        JwtService jwtService = jwtService("HS256", null);
+        String token = jwtService.generateAccessToken(userId, sessionId, "user@example.com");
+
+        VerifiedToken verified = jwtService.verify(token);
+
+        assertThat(verified.userId()).isEqualTo(userId);
+        assertThat(verified.sessionId()).isEqualTo(sessionId);
+        assertThat(verified.email()).isEqualTo("user@example.com");
+        assertThat(verified.isAccessToken()).isTrue();
+        assertThat(verified.expiresAt())
+                .isBetween(Instant.now().plus(14, ChronoUnit.MINUTES), Instant.now().plus(15, ChronoUnit.MINUTES));
+    }
+
+    @Test
+    void sharedParserVerifiesConcurrentlyAndRejectsTamperedTokens() throws Exception {
+        JwtService jwtService = jwtService("ES256", null);
+        String token = jwtService.generateAccessToken(userId, sessionId, "user@example.com");
+        String refresh = jwtService.generateRefreshToken(userId, sessionId);
+
+        // The one parser built in init() is shared by every request thread
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<VerifiedToken>> results = new ArrayList<>();
+            for (int i = 0; i < 100; i++) {
+                String next = i % 2 == 0 ? token : refresh;
+                results.add(executor.submit(() -> jwtService.verify(next)));
+            }
+            for (int i = 0; i < results.size(); i++) {
+                VerifiedToken verified = results.get(i).get();
+                assertThat(verified.sessionId()).isEqualTo(sessionId);
+                assertThat(verified.isRefreshToken()).isEqualTo(i % 2 != 0);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        String[] parts = token.split("\\.");
+        String tampered = parts[0] + "." + parts[1] + "." + new StringBuilder(parts[2]).reverse();
+        assertThatThrownBy(() -> jwtService.verify(tampered)).isInstanceOf(JwtException.class);
+    }
+
+    @Test
+    void expiredTokensAreReportedAsExpired() {
+        JwtService jwtService = jwtService("HS256", null);
+        ReflectionTestUtils.setField(jwtService, "accessTokenExpirationMinutes", -1);
+        String token = jwtService.generateAccessToken(userId, sessionId, "user@example.com");
+
+        assertThatThrownBy(() -> jwtService.verify(token)).isInstanceOf(ExpiredJwtException.class);
+    }
+
+    @Test
+    void legacyHmacTokensAreRejectedOnceAKeyPairIsActive() {
+        String legacy = jwtService("HS256", null).generateAccessToken(userId, sessionId, "user@example.com");
+
+        JwtService switched = jwtService("ES256", null);
+
+        assertThatThrownBy(() -> switched.verify(legacy)).isInstanceOf(UnsupportedJwtException.class);
+    }
+
+    @Test
+    void legacyHmacTokensVerifyUntilTheConfiguredInstant() {
+        String legacy = jwtService("HS256", null).generateAccessToken(userId, sessionId, "user@example.com");
+
+        JwtService withinWindow = jwtService("ES256", Instant.now().plus(15, ChronoUnit.MINUTES));
+        JwtService pastWindow = jwtService("ES256", Instant.now().minusSeconds(1));
+
+        assertThat(withinWindow.verify(legacy).userId()).isEqualTo(userId);
+        assertThatThrownBy(() -> pastWindow.verify(legacy)).isInstanceOf(UnsupportedJwtException.class);
+    }
+
+    static JwtService jwtService(String algorithm, Instant legacyHmacUntil) {
+        JwtSigningProperties properties = new JwtSigningProperties(algorithm, legacyHmacUntil, null, null);
+        JwtKeyRing keyRing = new JwtKeyRing(properties);
+        keyRing.init();
+
+        JwtService jwtService = new JwtService(keyRing, properties);
+        ReflectionTestUtils.setField(jwtService, "jwtSecret", SECRET);
+        ReflectionTestUtils.setField(jwtService, "accessTokenExpirationMinutes", 15);
+        ReflectionTestUtils.setField(jwtService, "refreshTokenExpirationDays", 7);
+        jwtService.init();
+        return jwtService;
+    }
+}
@@ -0,0 +1,74 @@
+package com.thatmoment.auth.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Base64;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RefreshTokenIssuerTest {
+
+    @Test
+    void opaqueTokensArePrefixedRandom256BitValues() {
+        RefreshTokenIssuer issuer = issuer("opaque", true);
+
+        Set<String> issued = new HashSet<>();
+        for (int i = 0; i < 1_000; i++) {
+            String token = issuer.issue(UUID.randomUUID(), UUID.randomUUID());
+
+            assertThat(token).startsWith(RefreshTokenIssuer.OPAQUE_PREFIX).matches("tmrt_[A-Za-z0-9_-]{43}");
+            assertThat(Base64.getUrlDecoder().decode(token.substring(RefreshTokenIssuer.OPAQUE_PREFIX.length())))
+                    .hasSize(32);
+            assertThat(issuer.isOpaque(token)).isTrue();
+            issued.add(token);
+        }
+        assertThat(issued).hasSize(1_000);
+    }
+
+    @Test
+    void isOpaqueRejectsJwtsAndLookalikes() {
+        RefreshTokenIssuer issuer = issuer("opaque", true);
+        String jwt = JwtServiceTest.jwtService("HS256", null).generateRefreshToken(UUID.randomUUID(), UUID.randomUUID());
+
+        assertThat(issuer.isOpaque(jwt)).isFalse();
+        assertThat(issuer.isOpaque("tmrt_short")).isFalse();
+        assertThat(issuer.isOpaque("xxxx_" + "a".repeat(43))).isFalse();
+        assertThat(issuer.isOpaque(RefreshTokenIssuer.OPAQUE_PREFIX + "a".repeat(44))).isFalse();
+    }
+
+    @Test
+    void jwtModeSignsAndAlwaysAcceptsJwts() {
+        JwtService jwtService = JwtServiceTest.jwtService("HS256", null);
+        RefreshTokenIssuer issuer = issuer(jwtService, "jwt", false);
+        UUID sessionId = UUID.randomUUID();
+
+        String token = issuer.issue(UUID.randomUUID(), sessionId);
+
+        assertThat(issuer.isOpaque(token)).isFalse();
+        assertThat(jwtService.verify(token).sessionId()).isEqualTo(sessionId);
+        assertThat(issuer.acceptsLegacyJwt()).isTrue();
+        // Rotating an opaque token has no claims to sign, so it stays opaque
+        assertThat(issuer.isOpaque(issuer.issue(null, null))).isTrue();
+    }
+
+    @Test
+    void legacyJwtAcceptanceFollowsTheMigrationFlag() {
+        assertThat(issuer("opaque", true).acceptsLegacyJwt()).isTrue();
+        assertThat(issuer("opaque", false).acceptsLegacyJwt()).isFalse();
+    }
+
+    private static RefreshTokenIssuer issuer(String format, boolean acceptLegacyJwt) {
+        return issuer(null, format, acceptLegacyJwt);
+    }
+
+    private static RefreshTokenIssuer issuer(JwtService jwtService, String format, boolean acceptLegacyJwt) {
+        RefreshTokenIssuer issuer = new RefreshTokenIssuer(jwtService);
+        ReflectionTestUtils.setField(issuer, "format", format);
+        ReflectionTestUtils.setField(issuer, "acceptLegacyJwt", acceptLegacyJwt);
+        return issuer;
+    }
+}
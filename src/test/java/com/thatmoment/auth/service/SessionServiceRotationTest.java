@@ -0,0 +1,159 @@
+package com.thatmoment.auth.service;
+
+import com.thatmoment.auth.domain.RefreshToken;
+import com.thatmoment.auth.domain.Session;
+import com.thatmoment.auth.event.SessionsRevokedEvent;
+import com.thatmoment.auth.repository.RefreshTokenRepository;
+import com.thatmoment.auth.repository.RefreshTokenRotation;
+import com.thatmoment.auth.repository.SessionRepository;
+import com.thatmoment.auth.repository.UserRepository;
+import com.thatmoment.common.constants.AuthMessages;
+import com.thatmoment.common.exception.exceptions.UnauthorizedException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class SessionServiceRotationTest {
+
+    private static final String PRESENTED = "tmrt_presented";
+    private static final String SUCCESSOR = "tmrt_successor";
+
+    @Mock
+    private SessionRepository sessionRepository;
+    @Mock
+    private RefreshTokenRepository refreshTokenRepository;
+    @Mock
+    private UserRepository userRepository;
+    @Mock
+    private JwtService jwtService;
+    @Mock
+    private RefreshTokenIssuer refreshTokenIssuer;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private SessionService sessionService;
+
+    private final UUID userId = UUID.randomUUID();
+    private final UUID sessionId = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        sessionService = new SessionService(
+                sessionRepository, refreshTokenRepository, userRepository, jwtService, refreshTokenIssuer, eventPublisher);
+        ReflectionTestUtils.setField(sessionService, "refreshGraceWindow", Duration.ofSeconds(10));
+        lenient().when(refreshTokenIssuer.issue(null, null)).thenReturn(SUCCESSOR);
+        lenient().when(jwtService.getRefreshTokenExpirationSeconds()).thenReturn(Duration.ofDays(7).toSeconds());
+    }
+
+    @Test
+    void successfulRotationIsOneStatement() {
+        when(refreshTokenRepository.rotate(
+                eq(TokenHashUtil.hash(PRESENTED)), eq(null), any(), eq(TokenHashUtil.hash(SUCCESSOR)), any(), any()
+        )).thenReturn(Optional.of(rotation()));
+
+        RotatedRefreshToken rotated = sessionService.rotateRefreshToken(PRESENTED, null, null);
+
+        assertThat(rotated.refreshToken()).isEqualTo(SUCCESSOR);
+        assertThat(rotated.userId()).isEqualTo(userId);
+        assertThat(rotated.sessionId()).isEqualTo(sessionId);
+        assertThat(rotated.email()).isEqualTo("user@example.com");
+        // Validation, marking as used, the successor insert and the session touch all happen in rotate()
+        verify(refreshTokenRepository, never()).findByTokenHash(any());
+        verifyNoInteractions(sessionRepository, userRepository);
+    }
+
+    @Test
+    void tokenUsedWithinTheGraceWindowIsAConcurrentRefresh() {
+        failRotationWith(token(Instant.now().minusSeconds(2), false, Instant.now().plusSeconds(3_600)));
+
+        assertThatThrownBy(() -> sessionService.rotateRefreshToken(PRESENTED, null, null))
+                .isInstanceOf(RefreshTokenRecentlyRotatedException.class);
+        verify(sessionRepository, never()).revokeAllByUserId(any(), any(), any());
+    }
+
+    @Test
+    void tokenUsedBeforeTheGraceWindowRevokesEverySession() {
+        failRotationWith(token(Instant.now().minusSeconds(60), false, Instant.now().plusSeconds(3_600)));
+        Session session = Session.builder().userId(userId).build();
+        when(sessionRepository.findById(sessionId)).thenReturn(Optional.of(session));
+        when(sessionRepository.findActiveSessionIdsByUserId(userId)).thenReturn(List.of(sessionId));
+
+        assertThatThrownBy(() -> sessionService.rotateRefreshToken(PRESENTED, null, null))
+                .isInstanceOf(UnauthorizedException.class)
+                .hasMessage(AuthMessages.TOKEN_REUSE_DETECTED);
+        verify(sessionRepository).revokeAllByUserId(eq(userId), eq(AuthMessages.TOKEN_REUSE_DETECTED), any());
+        verify(refreshTokenRepository).revokeAllByUserId(userId);
+        verify(eventPublisher).publishEvent(new SessionsRevokedEvent(List.of(sessionId)));
+    }
+
+    @Test
+    void expiredAndUnknownTokensAreRejectedWithoutRevoking() {
+        failRotationWith(token(null, true, Instant.now().minusSeconds(1)));
+
+        assertThatThrownBy(() -> sessionService.rotateRefreshToken(PRESENTED, null, null))
+                .isInstanceOf(UnauthorizedException.class)
+                .hasMessage(AuthMessages.REFRESH_TOKEN_EXPIRED);
+
+        when(refreshTokenRepository.findByTokenHash(TokenHashUtil.hash(PRESENTED))).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> sessionService.rotateRefreshToken(PRESENTED, null, null))
+                .isInstanceOf(UnauthorizedException.class)
+                .hasMessage(AuthMessages.INVALID_REFRESH_TOKEN);
+        verify(sessionRepository, never()).revokeAllByUserId(any(), any(), any());
+    }
+
+    private void failRotationWith(RefreshToken token) {
+        when(refreshTokenRepository.rotate(any(), any(), any(), any(), any(), any())).thenReturn(Optional.empty());
+        when(refreshTokenRepository.findByTokenHash(TokenHashUtil.hash(PRESENTED))).thenReturn(Optional.of(token));
+    }
+
+    private RefreshToken token(Instant usedAt, boolean active, Instant expiresAt) {
+        return RefreshToken.builder()
+                .sessionId(sessionId)
+                .tokenHash(TokenHashUtil.hash(PRESENTED))
+                .isActive(active)
+                .usedAt(usedAt)
+                .expiresAt(expiresAt)
+                .build();
+    }
+
+    private RefreshTokenRotation rotation() {
+        return new RefreshTokenRotation() {
+            @Override
+            public UUID getSessionId() {
+                return sessionId;
+            }
+
+            @Override
+            public UUID getUserId() {
+                return userId;
+            }
+
+            @Override
+            public String getEmail() {
+                return "user@example.com";
+            }
+        };
+    }
+}
@@ -0,0 +1,127 @@
+package com.thatmoment.auth.service.audit;
+
+import com.thatmoment.auth.domain.enums.AuthMethod;
+import com.thatmoment.auth.domain.enums.LoginStatus;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LoginAuditRingBufferTest {
+
+    @Test
+    void capacityIsRoundedUpToAPowerOfTwo() {
+        assertThat(new LoginAuditRingBuffer(1000).capacity()).isEqualTo(1024);
+        assertThat(new LoginAuditRingBuffer(1024).capacity()).isEqualTo(1024);
+    }
+
+    @Test
+    void offerReturnsFalseWhenFullAndAcceptsAgainAfterDrain() {
+        LoginAuditRingBuffer buffer = new LoginAuditRingBuffer(4);
+        for (int i = 0; i < 4; i++) {
+            assertThat(buffer.offer(event(i))).isTrue();
+        }
+        assertThat(buffer.offer(event(4))).isFalse();
+        assertThat(buffer.size()).isEqualTo(4);
+
+        List<LoginAuditEvent> drained = new ArrayList<>();
+        assertThat(buffer.drainTo(drained, 2)).isEqualTo(2);
+        assertThat(buffer.offer(event(5))).isTrue();
+        assertThat(buffer.offer(event(6))).isTrue();
+        assertThat(buffer.offer(event(7))).isFalse();
+
+        // Wrapped around: the slots freed by the drain now hold the newest events, still in order
+        assertThat(buffer.drainTo(drained, 10)).isEqualTo(4);
+        assertThat(drained).extracting(LoginAuditEvent::failureReason)
+                .containsExactly("0", "1", "2", "3", "5", "6");
+        assertThat(buffer.size()).isZero();
+    }
+
+    @Test
+    void concurrentProducersLoseNothingAcrossManyWraparounds() throws Exception {
+        LoginAuditRingBuffer buffer = new LoginAuditRingBuffer(64);
+        int producers = 4;
+        int perProducer = 10_000;
+        List<UUID> producerIds = new ArrayList<>();
+        for (int p = 0; p < producers; p++) {
+            producerIds.add(UUID.randomUUID());
+        }
+        CountDownLatch start = new CountDownLatch(1);
+
+        ExecutorService executor = Executors.newFixedThreadPool(producers);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (UUID producer : producerIds) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < perProducer; i++) {
+                        LoginAuditEvent event = event(producer, i);
+                        while (!buffer.offer(event)) {
+                            Thread.yield();
+                        }
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+
+            // Single consumer: each producer's events must arrive once, in the order offered
+            Map<UUID, Integer> next = new HashMap<>();
+            List<LoginAuditEvent> batch = new ArrayList<>();
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+            int received = 0;
+            int outOfOrder = 0;
+            while (received < producers * perProducer && System.nanoTime() < deadline) {
+                batch.clear();
+                if (buffer.drainTo(batch, 16) == 0) {
+                    Thread.yield();
+                }
+                for (LoginAuditEvent event : batch) {
+                    int expected = next.getOrDefault(event.userId(), 0);
+                    if (Integer.parseInt(event.failureReason()) != expected) {
+                        outOfOrder++;
+                    }
+                    next.put(event.userId(), expected + 1);
+                }
+                received += batch.size();
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+
+            assertThat(received).isEqualTo(producers * perProducer);
+            assertThat(outOfOrder).isZero();
+            assertThat(next).containsOnlyKeys(producerIds).allSatisfy((id, count) -> assertThat(count).isEqualTo(perProducer));
+            assertThat(buffer.size()).isZero();
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static LoginAuditEvent event(int sequence) {
+        return event(UUID.randomUUID(), sequence);
+    }
+
+    static LoginAuditEvent event(UUID userId, int sequence) {
+        return new LoginAuditEvent(
+                userId,
+                Instant.now(),
+                AuthMethod.PASSWORD,
+                "203.0.113.7",
+                "test",
+                LoginStatus.FAILED,
+                String.valueOf(sequence)
+        );
+    }
+}
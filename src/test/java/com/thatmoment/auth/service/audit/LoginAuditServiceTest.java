@@ -0,0 +1,82 @@
+package com.thatmoment.auth.service.audit;
+
+import com.thatmoment.auth.domain.enums.AuthMethod;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+class LoginAuditServiceTest {
+
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private LoginAuditService service;
+
+    @BeforeEach
+    void setUp() throws InterruptedException {
+        service = new LoginAuditService(jdbcTemplate, meterRegistry);
+        ReflectionTestUtils.setField(service, "enabled", true);
+        ReflectionTestUtils.setField(service, "bufferSize", 4);
+        ReflectionTestUtils.setField(service, "batchSize", 500);
+        // Long enough that only shutdown wakes the writer
+        ReflectionTestUtils.setField(service, "flushIntervalMs", 60_000L);
+        service.start();
+        awaitWriterParked();
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.stop();
+    }
+
+    @Test
+    void eventsBeyondCapacityAreDroppedAndCounted() {
+        UUID userId = UUID.randomUUID();
+        for (int i = 0; i < 6; i++) {
+            service.recordFailure(userId, AuthMethod.PASSWORD, "203.0.113.7", "test", "bad password");
+        }
+
+        assertThat(meterRegistry.counter("login.audit.recorded").count()).isEqualTo(4);
+        assertThat(meterRegistry.counter("login.audit.dropped").count()).isEqualTo(2);
+        verify(jdbcTemplate, never()).batchUpdate(anyString(), org.mockito.ArgumentMatchers.<List<Object[]>>any());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shutdownDrainsBufferedEvents() {
+        UUID userId = UUID.randomUUID();
+        service.recordSuccess(userId, AuthMethod.PASSWORD, "203.0.113.7", "test");
+        service.recordFailure(userId, AuthMethod.PASSWORD, "not an ip", "test", "bad password");
+        service.recordBlocked(userId, AuthMethod.PASSWORD, "2001:db8::1", "test", "locked");
+
+        service.stop();
+
+        ArgumentCaptor<List<Object[]>> rows = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(anyString(), rows.capture());
+        assertThat(rows.getValue()).hasSize(3);
+        assertThat(rows.getValue()).extracting(row -> row[6]).containsExactly("success", "failed", "blocked");
+        // An address that would fail the inet cast is stored as null instead of failing the batch
+        assertThat(rows.getValue()).extracting(row -> row[4]).containsExactly("203.0.113.7", null, "2001:db8::1");
+    }
+
+    private void awaitWriterParked() throws InterruptedException {
+        Thread writer = (Thread) ReflectionTestUtils.getField(service, "writer");
+        long deadline = System.nanoTime() + 5_000_000_000L;
+        while (writer.getState() != Thread.State.TIMED_WAITING && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertThat(writer.getState()).isEqualTo(Thread.State.TIMED_WAITING);
+    }
+}
@@ -0,0 +1,175 @@
+package com.thatmoment.auth.service.oauth;
+
+import com.sun.net.httpserver.HttpServer;
+import com.thatmoment.auth.config.OAuthProperties;
+import com.thatmoment.common.exception.exceptions.UnauthorizedException;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Jwks;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.security.KeyPair;
+import java.security.interfaces.ECPublicKey;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Runs the verifier against a local stand-in for the provider's JWKS endpoint.
+ */
+class OAuthIdTokenVerifierTest {
+
+    private static final String ISSUER = "https://accounts.google.com";
+    private static final String AUDIENCE = "thatmoment-client";
+    private static final Duration MIN_FORCED_REFRESH_INTERVAL = Duration.ofMillis(300);
+
+    private final AtomicInteger fetches = new AtomicInteger();
+    private volatile int status = 200;
+    private volatile String body;
+    private volatile String cacheControl = "public, max-age=3600";
+
+    private HttpServer server;
+    private JwksCache jwksCache;
+    private OAuthIdTokenVerifier verifier;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/jwks", exchange -> {
+            fetches.incrementAndGet();
+            byte[] response = (status == 200 ? body : "unavailable").getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.getResponseHeaders().add("Cache-Control", cacheControl);
+            exchange.sendResponseHeaders(status, response.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(response);
+            }
+        });
+        server.start();
+
+        OAuthProperties properties = new OAuthProperties(
+                Duration.ofHours(1),
+                Duration.ofMinutes(10),
+                MIN_FORCED_REFRESH_INTERVAL,
+                Duration.ofSeconds(2),
+                Duration.ofSeconds(60),
+                Map.of("google", new OAuthProperties.Provider(
+                        true,
+                        URI.create("http://127.0.0.1:" + server.getAddress().getPort() + "/jwks"),
+                        List.of(ISSUER),
+                        List.of(AUDIENCE)
+                ))
+        );
+        jwksCache = new JwksCache(properties, new SimpleMeterRegistry());
+        verifier = new OAuthIdTokenVerifier(properties, jwksCache);
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    void oneFetchServesManyVerifications() {
+        KeyPair keys = Jwts.SIG.ES256.keyPair().build();
+        publish(Map.of("key-1", keys));
+        jwksCache.refreshExpiring();
+
+        for (int i = 0; i < 100; i++) {
+            OAuthIdentity identity = verifier.verify("google", token("key-1", keys, ISSUER, AUDIENCE));
+            assertThat(identity.subject()).isEqualTo("subject-1");
+        }
+
+        assertThat(fetches).hasValue(1);
+    }
+
+    @Test
+    void unknownKeyIdTriggersOneRateLimitedForcedRefresh() throws InterruptedException {
+        KeyPair oldKeys = Jwts.SIG.ES256.keyPair().build();
+        KeyPair rotatedKeys = Jwts.SIG.ES256.keyPair().build();
+        publish(Map.of("key-1", oldKeys));
+        jwksCache.refreshExpiring();
+        assertThat(fetches).hasValue(1);
+
+        // The provider rotates in a new key before our scheduled refresh is due
+        publish(Map.of("key-1", oldKeys, "key-2", rotatedKeys));
+        Thread.sleep(MIN_FORCED_REFRESH_INTERVAL.toMillis() + 50);
+
+        verifier.verify("google", token("key-2", rotatedKeys, ISSUER, AUDIENCE));
+        verifier.verify("google", token("key-2", rotatedKeys, ISSUER, AUDIENCE));
+        assertThat(fetches).hasValue(2);
+
+        // Tokens naming keys nobody publishes cannot force a fetch each
+        KeyPair unknownKeys = Jwts.SIG.ES256.keyPair().build();
+        for (int i = 0; i < 10; i++) {
+            assertThatThrownBy(() -> verifier.verify("google", token("key-unknown", unknownKeys, ISSUER, AUDIENCE)))
+                    .isInstanceOf(UnauthorizedException.class);
+        }
+        assertThat(fetches).hasValue(2);
+    }
+
+    @Test
+    void failedFetchKeepsPreviousKeys() {
+        KeyPair keys = Jwts.SIG.ES256.keyPair().build();
+        publish(Map.of("key-1", keys));
+        cacheControl = "public, max-age=0";
+        jwksCache.refreshExpiring();
+
+        status = 503;
+        jwksCache.refreshExpiring();
+        assertThat(fetches).hasValue(2);
+
+        OAuthIdentity identity = verifier.verify("google", token("key-1", keys, ISSUER, AUDIENCE));
+        assertThat(identity.subject()).isEqualTo("subject-1");
+    }
+
+    @Test
+    void wrongAudienceOrIssuerIsRejected() {
+        KeyPair keys = Jwts.SIG.ES256.keyPair().build();
+        publish(Map.of("key-1", keys));
+        jwksCache.refreshExpiring();
+
+        assertThatThrownBy(() -> verifier.verify("google", token("key-1", keys, ISSUER, "someone-elses-client")))
+                .isInstanceOf(UnauthorizedException.class);
+        assertThatThrownBy(() -> verifier.verify("google", token("key-1", keys, "https://evil.example", AUDIENCE)))
+                .isInstanceOf(UnauthorizedException.class);
+    }
+
+    private void publish(Map<String, KeyPair> keysById) {
+        List<String> jwks = keysById.entrySet().stream()
+                .map(entry -> Jwks.json(Jwks.builder()
+                        .key((ECPublicKey) entry.getValue().getPublic())
+                        .id(entry.getKey())
+                        .build()))
+                .toList();
+        body = "{\"keys\":[" + String.join(",", jwks) + "]}";
+    }
+
+    private static String token(String keyId, KeyPair keys, String issuer, String audience) {
+        Instant now = Instant.now();
+        return Jwts.builder()
+                .header().keyId(keyId).and()
+                .issuer(issuer)
+                .audience().add(audience).and()
+                .subject("subject-1")
+                .claim("email", "user@example.com")
+                .claim("email_verified", true)
+                .issuedAt(Date.from(now))
+                .expiration(Date.from(now.plusSeconds(300)))
+                .signWith(keys.getPrivate(), Jwts.SIG.ES256)
+                .compact();
+    }
+}
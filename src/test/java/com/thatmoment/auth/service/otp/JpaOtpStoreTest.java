@@ -0,0 +1,102 @@
+package com.thatmoment.auth.service.otp;
+
+import com.thatmoment.auth.domain.EmailVerification;
+import com.thatmoment.auth.domain.enums.VerificationPurpose;
+import com.thatmoment.auth.repository.EmailVerificationRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class JpaOtpStoreTest {
+
+    private static final int MAX_ATTEMPTS = 3;
+    private static final String CODE = "123456";
+
+    @Mock
+    private EmailVerificationRepository emailVerificationRepository;
+
+    private final UUID userId = UUID.randomUUID();
+    private final UUID verificationId = UUID.randomUUID();
+    // Stands in for the committed attempt_count; changes to loaded entities are rolled back with the caller
+    private final AtomicInteger committedAttempts = new AtomicInteger();
+
+    private JpaOtpStore store;
+
+    @BeforeEach
+    void setUp() {
+        store = new JpaOtpStore(emailVerificationRepository);
+        when(emailVerificationRepository.findActiveVerification(eq(userId), eq(VerificationPurpose.LOGIN_OTP), any(), any()))
+                .thenAnswer(invocation -> committedAttempts.get() < MAX_ATTEMPTS ? List.of(load()) : List.of());
+    }
+
+    @Test
+    void threeWrongCodesExhaustTheCode() {
+        when(emailVerificationRepository.recordFailedAttempt(verificationId))
+                .thenAnswer(invocation -> {
+                    if (committedAttempts.get() >= MAX_ATTEMPTS) {
+                        return 0;
+                    }
+                    committedAttempts.incrementAndGet();
+                    return 1;
+                });
+
+        assertThat(store.verify(userId, VerificationPurpose.LOGIN_OTP, "000000").remainingAttempts()).isEqualTo(2);
+        assertThat(store.verify(userId, VerificationPurpose.LOGIN_OTP, "000001").remainingAttempts()).isEqualTo(1);
+        OtpVerificationResult last = store.verify(userId, VerificationPurpose.LOGIN_OTP, "000002");
+        assertThat(last.isMismatch()).isTrue();
+        assertThat(last.remainingAttempts()).isZero();
+
+        // Not even the right code is accepted once the attempts are used up
+        assertThat(store.verify(userId, VerificationPurpose.LOGIN_OTP, CODE).status())
+                .isEqualTo(OtpVerificationResult.Status.NOT_FOUND);
+        verify(emailVerificationRepository, never()).save(any());
+    }
+
+    @Test
+    void attemptLostToAConcurrentGuessReportsNoneRemaining() {
+        when(emailVerificationRepository.recordFailedAttempt(verificationId)).thenReturn(0);
+
+        OtpVerificationResult result = store.verify(userId, VerificationPurpose.LOGIN_OTP, "000000");
+
+        assertThat(result.isMismatch()).isTrue();
+        assertThat(result.remainingAttempts()).isZero();
+    }
+
+    @Test
+    void rightCodeIsConsumed() {
+        when(emailVerificationRepository.save(any(EmailVerification.class)))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+
+        assertThat(store.verify(userId, VerificationPurpose.LOGIN_OTP, CODE).isVerified()).isTrue();
+        verify(emailVerificationRepository, never()).recordFailedAttempt(any());
+    }
+
+    private EmailVerification load() {
+        EmailVerification verification = EmailVerification.builder()
+                .userId(userId)
+                .code(CODE)
+                .purpose(VerificationPurpose.LOGIN_OTP)
+                .attemptCount(committedAttempts.get())
+                .maxAttempts(MAX_ATTEMPTS)
+                .expiresAt(Instant.now().plusSeconds(300))
+                .build();
+        ReflectionTestUtils.setField(verification, "id", verificationId);
+        return verification;
+    }
+}
@@ -0,0 +1,41 @@
+package com.thatmoment.common.entity.id;
+
+import com.thatmoment.auth.domain.Session;
+import com.thatmoment.auth.domain.User;
+import org.hibernate.generator.EventType;
+import org.hibernate.generator.GeneratorCreationContext;
+import org.hibernate.mapping.RootClass;
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class EntityIdGeneratorTest {
+
+    @Test
+    void timeOrderedEntitiesGetVersionSevenIds() {
+        assertThat(Session.class.isAnnotationPresent(TimeOrderedId.class)).isTrue();
+
+        assertThat(generate(Session.class).version()).isEqualTo(7);
+    }
+
+    @Test
+    void otherEntitiesKeepRandomIds() {
+        assertThat(User.class.isAnnotationPresent(TimeOrderedId.class)).isFalse();
+
+        assertThat(generate(User.class).version()).isEqualTo(4);
+    }
+
+    private static UUID generate(Class<?> entityClass) {
+        RootClass persistentClass = mock(RootClass.class);
+        when(persistentClass.getMappedClass()).thenAnswer(invocation -> entityClass);
+        GeneratorCreationContext context = mock(GeneratorCreationContext.class);
+        when(context.getPersistentClass()).thenReturn(persistentClass);
+
+        EntityIdGenerator generator = new EntityIdGenerator(null, null, context);
+        return (UUID) generator.generate(null, null, null, EventType.INSERT);
+    }
+}
@@ -0,0 +1,87 @@
+package com.thatmoment.common.entity.id;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UuidV7Test {
+
+    @Test
+    void hasVersionSevenVariantTwoAndTheCurrentTime() {
+        long before = System.currentTimeMillis();
+        UUID id = UuidV7.generate();
+        long after = System.currentTimeMillis();
+
+        assertThat(id.version()).isEqualTo(7);
+        assertThat(id.variant()).isEqualTo(2);
+        // Earlier tests may have pushed the clock state slightly ahead of the wall clock
+        assertThat(id.getMostSignificantBits() >>> 16).isBetween(before, after + 1_000);
+    }
+
+    @Test
+    void idsFromConcurrentThreadsAreUniqueAndEachThreadSeesThemIncrease() throws Exception {
+        int threads = 8;
+        int perThread = 20_000;
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        List<long[]> results = new ArrayList<>();
+        try {
+            List<Future<long[]>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    long[] msbs = new long[perThread];
+                    for (int i = 0; i < perThread; i++) {
+                        msbs[i] = UuidV7.generate().getMostSignificantBits();
+                    }
+                    return msbs;
+                }));
+            }
+            start.countDown();
+            for (Future<long[]> future : futures) {
+                results.add(future.get());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // The timestamp and counter live in the high bits, so they alone order the ids
+        List<Long> all = new ArrayList<>(threads * perThread);
+        for (long[] msbs : results) {
+            for (int i = 1; i < msbs.length; i++) {
+                assertThat(msbs[i]).isGreaterThan(msbs[i - 1]);
+            }
+            for (long msb : msbs) {
+                all.add(msb);
+            }
+        }
+        assertThat(all).doesNotHaveDuplicates();
+    }
+
+    @Test
+    void counterOverflowCarriesIntoTheTimestamp() {
+        AtomicLong last = (AtomicLong) ReflectionTestUtils.getField(UuidV7.class, "LAST");
+        // A millisecond slightly ahead of the clock whose 4096 counter values are all used up
+        long millis = System.currentTimeMillis() + 200;
+        last.set((millis << 12) | 0xFFF);
+
+        UUID carried = UuidV7.generate();
+        UUID next = UuidV7.generate();
+
+        assertThat(carried.getMostSignificantBits() >>> 16).isEqualTo(millis + 1);
+        assertThat(carried.getMostSignificantBits() & 0xFFF).isZero();
+        assertThat(next.getMostSignificantBits() >>> 16).isEqualTo(millis + 1);
+        assertThat(next.getMostSignificantBits() & 0xFFF).isEqualTo(1);
+        assertThat(carried.version()).isEqualTo(7);
+    }
+}
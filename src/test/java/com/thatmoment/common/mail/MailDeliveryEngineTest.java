@@ -0,0 +1,299 @@
+package com.thatmoment.common.mail;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.mail.Message;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.InternetAddress;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Runs the engine against a minimal SMTP stand-in on a local socket.
+ */
+class MailDeliveryEngineTest {
+
+    private static final Duration WAIT = Duration.ofSeconds(10);
+
+    private SmtpStub smtp;
+    private SimpleMeterRegistry meterRegistry;
+    private JavaMailSenderImpl mailSender;
+    private MailDeliveryEngine engine;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        smtp = new SmtpStub();
+        meterRegistry = new SimpleMeterRegistry();
+        mailSender = new JavaMailSenderImpl();
+        mailSender.setHost("127.0.0.1");
+        mailSender.setPort(smtp.port());
+        mailSender.setProtocol("smtp");
+        Properties javaMail = new Properties();
+        javaMail.put("mail.smtp.auth", "false");
+        javaMail.put("mail.smtp.connectiontimeout", "5000");
+        javaMail.put("mail.smtp.timeout", "5000");
+        mailSender.setJavaMailProperties(javaMail);
+    }
+
+    @AfterEach
+    void tearDown() {
+        smtp.release();
+        if (engine != null) {
+            engine.shutdown();
+        }
+        smtp.close();
+    }
+
+    @Test
+    void consecutiveMessagesReuseOneConnection() throws Exception {
+        engine = engine(1, 10, 2);
+
+        for (int i = 0; i < 5; i++) {
+            engine.submit(message("user" + i + "@example.com"), "user" + i + "@example.com")
+                    .get(WAIT.toSeconds(), TimeUnit.SECONDS);
+        }
+
+        assertThat(smtp.delivered).hasSize(5);
+        assertThat(smtp.connections).hasValue(1);
+    }
+
+    @Test
+    void droppedConnectionIsRetriedOnAFreshOne() throws Exception {
+        engine = engine(1, 10, 2);
+        engine.submit(message("first@example.com"), "first@example.com").get(WAIT.toSeconds(), TimeUnit.SECONDS);
+
+        // The server cuts the pooled connection in the middle of the next transaction
+        smtp.dropNextTransaction.set(true);
+        engine.submit(message("second@example.com"), "second@example.com").get(WAIT.toSeconds(), TimeUnit.SECONDS);
+
+        assertThat(smtp.delivered).containsExactly("first@example.com", "second@example.com");
+        assertThat(smtp.connections).hasValue(2);
+    }
+
+    @Test
+    void fullQueueRejectsNewMessages() throws Exception {
+        engine = engine(1, 1, 2);
+        smtp.stall();
+
+        CompletableFuture<Void> sending = engine.submit(message("a@example.com"), "a@example.com");
+        assertThat(smtp.awaitInData(1)).isTrue();
+        CompletableFuture<Void> queued = engine.submit(message("b@example.com"), "b@example.com");
+        CompletableFuture<Void> rejected = engine.submit(message("c@example.com"), "c@example.com");
+
+        assertThatThrownBy(() -> rejected.get(WAIT.toSeconds(), TimeUnit.SECONDS))
+                .hasCauseInstanceOf(RejectedExecutionException.class);
+        assertThat(meterRegistry.counter("mail.delivery.rejected").count()).isEqualTo(1);
+
+        smtp.release();
+        sending.get(WAIT.toSeconds(), TimeUnit.SECONDS);
+        queued.get(WAIT.toSeconds(), TimeUnit.SECONDS);
+        assertThat(smtp.delivered).containsExactly("a@example.com", "b@example.com");
+    }
+
+    @Test
+    void perDomainCapLeavesWorkersForOtherDomains() throws Exception {
+        engine = engine(3, 10, 1);
+        smtp.stall();
+
+        CompletableFuture<Void> first = engine.submit(message("a@busy.example"), "a@busy.example");
+        CompletableFuture<Void> second = engine.submit(message("b@busy.example"), "b@busy.example");
+        CompletableFuture<Void> other = engine.submit(message("c@quiet.example"), "c@quiet.example");
+
+        assertThat(smtp.awaitInData(2)).isTrue();
+        // Give the deferred message a few chances to take a second slot for busy.example
+        Thread.sleep(200);
+        assertThat(smtp.inData.get("busy.example")).hasValue(1);
+        assertThat(smtp.inData.get("quiet.example")).hasValue(1);
+        assertThat(meterRegistry.counter("mail.delivery.domain.deferred").count()).isPositive();
+
+        smtp.release();
+        CompletableFuture.allOf(first, second, other).get(WAIT.toSeconds(), TimeUnit.SECONDS);
+        assertThat(smtp.delivered).containsExactlyInAnyOrder("a@busy.example", "b@busy.example", "c@quiet.example");
+        assertThat(smtp.maxInData.get("busy.example")).hasValue(1);
+    }
+
+    private MailDeliveryEngine engine(int workers, int queueCapacity, int perDomainConcurrency) {
+        MailDeliveryProperties properties = new MailDeliveryProperties(
+                queueCapacity,
+                workers,
+                workers,
+                Duration.ofSeconds(60),
+                Duration.ofSeconds(5),
+                perDomainConcurrency,
+                Duration.ofMillis(20),
+                Duration.ofSeconds(5)
+        );
+        return new MailDeliveryEngine(mailSender, properties, meterRegistry, new MockEnvironment());
+    }
+
+    private MimeMessage message(String to) throws MessagingException {
+        MimeMessage message = mailSender.createMimeMessage();
+        message.setFrom(new InternetAddress("noreply@example.com"));
+        message.setRecipient(Message.RecipientType.TO, new InternetAddress(to));
+        message.setSubject("Code");
+        message.setText("123456");
+        return message;
+    }
+
+    /**
+     * Just enough SMTP for JavaMail: one thread per connection, no AUTH or extensions.
+     */
+    private static final class SmtpStub implements AutoCloseable {
+
+        private final ServerSocket serverSocket;
+        private final List<Socket> sockets = new CopyOnWriteArrayList<>();
+        final AtomicInteger connections = new AtomicInteger();
+        final List<String> delivered = new CopyOnWriteArrayList<>();
+        final AtomicBoolean dropNextTransaction = new AtomicBoolean();
+        final Map<String, AtomicInteger> inData = new ConcurrentHashMap<>();
+        final Map<String, AtomicInteger> maxInData = new ConcurrentHashMap<>();
+        private final AtomicInteger sessionsInData = new AtomicInteger();
+        private volatile CountDownLatch gate = new CountDownLatch(0);
+
+        SmtpStub() throws IOException {
+            serverSocket = new ServerSocket(0, 50, InetAddress.getLoopbackAddress());
+            Thread.ofPlatform().daemon(true).name("smtp-stub-accept").start(this::accept);
+        }
+
+        int port() {
+            return serverSocket.getLocalPort();
+        }
+
+        void stall() {
+            gate = new CountDownLatch(1);
+        }
+
+        void release() {
+            gate.countDown();
+        }
+
+        boolean awaitInData(int sessions) throws InterruptedException {
+            long deadline = System.nanoTime() + WAIT.toNanos();
+            while (sessionsInData.get() < sessions) {
+                if (System.nanoTime() > deadline) {
+                    return false;
+                }
+                Thread.sleep(10);
+            }
+            return true;
+        }
+
+        private void accept() {
+            while (!serverSocket.isClosed()) {
+                try {
+                    Socket socket = serverSocket.accept();
+                    sockets.add(socket);
+                    connections.incrementAndGet();
+                    Thread.ofPlatform().daemon(true).name("smtp-stub-session").start(() -> session(socket));
+                } catch (IOException e) {
+                    return;
+                }
+            }
+        }
+
+        private void session(Socket socket) {
+            try (socket;
+                 BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.US_ASCII));
+                 OutputStream out = socket.getOutputStream()) {
+                reply(out, "220 stub ready");
+                String recipient = null;
+                String line;
+                while ((line = in.readLine()) != null) {
+                    String command = line.length() >= 4 ? line.substring(0, 4).toUpperCase() : line.toUpperCase();
+                    switch (command) {
+                        case "EHLO", "HELO" -> reply(out, "250 stub");
+                        case "MAIL" -> {
+                            if (dropNextTransaction.compareAndSet(true, false)) {
+                                return;
+                            }
+                            reply(out, "250 OK");
+                        }
+                        case "RCPT" -> {
+                            recipient = line.substring(line.indexOf('<') + 1, line.indexOf('>'));
+                            reply(out, "250 OK");
+                        }
+                        case "DATA" -> {
+                            reply(out, "354 go ahead");
+                            while (!".".equals(in.readLine())) {
+                                // message body is not inspected
+                            }
+                            String domain = recipient.substring(recipient.indexOf('@') + 1);
+                            enterData(domain);
+                            try {
+                                gate.await(WAIT.toMillis(), TimeUnit.MILLISECONDS);
+                            } finally {
+                                inData.get(domain).decrementAndGet();
+                                sessionsInData.decrementAndGet();
+                            }
+                            delivered.add(recipient);
+                            reply(out, "250 queued");
+                        }
+                        case "QUIT" -> {
+                            reply(out, "221 bye");
+                            return;
+                        }
+                        default -> reply(out, "250 OK");
+                    }
+                }
+            } catch (IOException e) {
+                // client went away
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        private void enterData(String domain) {
+            int current = inData.computeIfAbsent(domain, ignored -> new AtomicInteger()).incrementAndGet();
+            maxInData.computeIfAbsent(domain, ignored -> new AtomicInteger()).accumulateAndGet(current, Math::max);
+            sessionsInData.incrementAndGet();
+        }
+
+        private static void reply(OutputStream out, String line) throws IOException {
+            out.write((line + "\r\n").getBytes(StandardCharsets.US_ASCII));
+            out.flush();
+        }
+
+        @Override
+        public void close() {
+            try {
+                serverSocket.close();
+            } catch (IOException ignored) {
+                // shutting down
+            }
+            for (Socket socket : sockets) {
+                try {
+                    socket.close();
+                } catch (IOException ignored) {
+                    // shutting down
+                }
+            }
+        }
+    }
+}
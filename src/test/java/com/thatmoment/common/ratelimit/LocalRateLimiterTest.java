@@ -0,0 +1,134 @@
+package com.thatmoment.common.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LocalRateLimiterTest {
+
+    private static final long HOUR = Duration.ofHours(1).toMillis();
+
+    private final LocalRateLimiter limiter = new LocalRateLimiter(
+            new RateLimitProperties(true, Duration.ofSeconds(5), 10_000, Map.of())
+    );
+
+    @Test
+    void burstUpToCapacityThenRejects() {
+        Bucket bucket = new Bucket("rl:login:ip:203.0.113.7", 5, HOUR);
+
+        for (int i = 0; i < 5; i++) {
+            assertThat(limiter.tryConsume(List.of(bucket))).isZero();
+        }
+
+        // One token refills every 12 minutes
+        assertThat(limiter.tryConsume(List.of(bucket)))
+                .isPositive()
+                .isLessThanOrEqualTo(HOUR / 5);
+    }
+
+    @Test
+    void tokensRefillOverTime() throws InterruptedException {
+        // One token every 100 ms
+        Bucket bucket = new Bucket("rl:login:ip:198.51.100.1", 2, 200);
+        assertThat(limiter.tryConsume(List.of(bucket))).isZero();
+        assertThat(limiter.tryConsume(List.of(bucket))).isZero();
+        assertThat(limiter.tryConsume(List.of(bucket))).isBetween(1L, 100L);
+
+        Thread.sleep(150);
+
+        assertThat(limiter.tryConsume(List.of(bucket))).isZero();
+    }
+
+    @Test
+    void rejectedCallConsumesFromNoBucket() {
+        Bucket email = new Bucket("rl:login:email:user@example.com", 10, HOUR);
+        Bucket ip = new Bucket("rl:login:ip:192.0.2.1", 1, HOUR);
+
+        assertThat(limiter.tryConsume(List.of(email, ip))).isZero();
+        for (int i = 0; i < 5; i++) {
+            assertThat(limiter.tryConsume(List.of(email, ip))).isPositive();
+        }
+
+        // Only the first call took a token from the email bucket
+        for (int i = 0; i < 9; i++) {
+            assertThat(limiter.tryConsume(List.of(email))).isZero();
+        }
+        assertThat(limiter.tryConsume(List.of(email))).isPositive();
+    }
+
+    @Test
+    void keysSharingAStripeKeepSeparateBuckets() {
+        List<String> sameStripe = keysInOneStripe(2);
+        Bucket first = new Bucket(sameStripe.get(0), 1, HOUR);
+        Bucket second = new Bucket(sameStripe.get(1), 1, HOUR);
+
+        assertThat(limiter.tryConsume(List.of(first))).isZero();
+        assertThat(limiter.tryConsume(List.of(first))).isPositive();
+
+        assertThat(limiter.tryConsume(List.of(second))).isZero();
+    }
+
+    @Test
+    void concurrentCallersNeverOverspend() throws Exception {
+        Bucket shared = new Bucket("rl:register:global", 100, HOUR);
+        int threads = 8;
+        int callsPerThread = 50;
+        AtomicInteger allowed = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                int thread = t;
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    // Each caller also touches a bucket of its own, so stripes are locked in varying combinations
+                    Bucket own = new Bucket("rl:register:ip:10.0.0." + thread, 1_000, HOUR);
+                    for (int i = 0; i < callsPerThread; i++) {
+                        if (limiter.tryConsume(List.of(own, shared)) == 0) {
+                            allowed.incrementAndGet();
+                        }
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(allowed).hasValue(100);
+    }
+
+    // Mirrors LocalRateLimiter's stripe function
+    private static List<String> keysInOneStripe(int count) {
+        List<String> keys = new ArrayList<>();
+        int target = -1;
+        for (int i = 0; keys.size() < count; i++) {
+            String key = "rl:login:ip:10.1." + i;
+            int hash = key.hashCode();
+            int stripe = (hash ^ (hash >>> 16)) & 63;
+            if (target < 0) {
+                target = stripe;
+            }
+            if (stripe == target) {
+                keys.add(key);
+            }
+        }
+        return keys;
+    }
+}
@@ -0,0 +1,77 @@
+package com.thatmoment.common.ratelimit;
+
+import com.thatmoment.common.exception.exceptions.TooManyRequestsException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.RedisConnectionFailureException;
+
+import java.time.Duration;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class RateLimitServiceTest {
+
+    private static final String ENDPOINT = "login";
+
+    private final RedisRateLimiter redisRateLimiter = mock(RedisRateLimiter.class);
+    private RateLimitService service;
+
+    @BeforeEach
+    void setUp() {
+        RateLimitProperties properties = new RateLimitProperties(
+                true,
+                Duration.ofHours(1),
+                10_000,
+                Map.of(ENDPOINT, new RateLimitProperties.EndpointLimits(
+                        new RateLimitProperties.Limit(3, Duration.ofHours(1)),
+                        new RateLimitProperties.Limit(10, Duration.ofHours(1)),
+                        null
+                ))
+        );
+        service = new RateLimitService(properties, redisRateLimiter, new LocalRateLimiter(properties));
+    }
+
+    @Test
+    void redisDecisionIsUsedWhileRedisIsUp() {
+        when(redisRateLimiter.tryConsume(anyList())).thenReturn(0L, 4_200L);
+
+        service.check(ENDPOINT, "user@example.com", "203.0.113.7");
+
+        assertThatThrownBy(() -> service.check(ENDPOINT, "user@example.com", "203.0.113.7"))
+                .isInstanceOfSatisfying(TooManyRequestsException.class,
+                        e -> assertThat(e.getRetryAfterSeconds()).isEqualTo(5));
+    }
+
+    @Test
+    void redisOutageFallsBackToTheLocalLimiter() {
+        when(redisRateLimiter.tryConsume(anyList()))
+                .thenThrow(new RedisConnectionFailureException("connection refused"));
+
+        for (int i = 0; i < 3; i++) {
+            service.check(ENDPOINT, "User@Example.com ", "203.0.113.7");
+        }
+
+        // Limits still hold locally, and the email key is normalised the same way
+        assertThatThrownBy(() -> service.check(ENDPOINT, "user@example.com", "203.0.113.7"))
+                .isInstanceOf(TooManyRequestsException.class);
+        // Redis is skipped until the retry delay passes instead of being tried on every request
+        verify(redisRateLimiter, times(1)).tryConsume(anyList());
+    }
+
+    @Test
+    void unknownEndpointsAreNotLimited() {
+        for (int i = 0; i < 20; i++) {
+            service.check("unlisted", "user@example.com", "203.0.113.7");
+        }
+
+        verify(redisRateLimiter, never()).tryConsume(anyList());
+    }
+}
@@ -0,0 +1,148 @@
+package com.thatmoment.sync.config;
+
+import com.thatmoment.auth.dto.response.AuthTokenResponse;
+import com.thatmoment.sync.dto.request.SyncPushRequest;
+import com.thatmoment.sync.dto.response.SyncChange;
+import com.thatmoment.sync.dto.response.SyncPullResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.ResolvableType;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.HttpMessageConverters;
+import org.springframework.http.converter.SmartHttpMessageConverter;
+import org.springframework.mock.http.MockHttpInputMessage;
+import org.springframework.mock.http.MockHttpOutputMessage;
+import tools.jackson.databind.json.JsonMapper;
+import tools.jackson.dataformat.cbor.CBORMapper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.zip.GZIPOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SyncCodecConfigTest {
+
+    private static final MediaType SMILE = MediaType.parseMediaType("application/x-jackson-smile");
+
+    private SmartHttpMessageConverter<Object> cbor;
+    private SmartHttpMessageConverter<Object> smile;
+
+    @BeforeEach
+    void setUp() {
+        // Boot registers the defaults on the same builder
+        HttpMessageConverters.ServerBuilder builder = HttpMessageConverters.forServer().registerDefaults();
+        new SyncCodecConfig(CBORMapper.builder().build()).configureMessageConverters(builder);
+        for (HttpMessageConverter<?> converter : builder.build()) {
+            if (converter.getSupportedMediaTypes().contains(MediaType.APPLICATION_CBOR)) {
+                cbor = smart(converter);
+            } else if (converter.getSupportedMediaTypes().contains(SMILE)) {
+                smile = smart(converter);
+            }
+        }
+        assertThat(cbor).isNotNull();
+        assertThat(smile).isNotNull();
+    }
+
+    @Test
+    void pullPageIsSmallerInBinaryEncodings() throws IOException {
+        SyncPullResponse page = pullPage(500);
+
+        byte[] json = JsonMapper.builder().build().writeValueAsBytes(page);
+        byte[] cborBytes = write(cbor, page, MediaType.APPLICATION_CBOR);
+        byte[] smileBytes = write(smile, page, SMILE);
+
+        assertThat(cborBytes.length).isLessThan(json.length);
+        assertThat(smileBytes.length).isLessThan(json.length);
+        // Still worth gzipping on top: repeated keys and ids compress either way
+        assertThat(gzip(cborBytes).length).isLessThan(cborBytes.length);
+    }
+
+    @Test
+    void pushRequestReadsFromEitherBinaryEncoding() throws IOException {
+        Map<String, Object> mutation = new LinkedHashMap<>();
+        mutation.put("entityType", "moment");
+        mutation.put("localId", "local-1");
+        mutation.put("action", "create");
+        mutation.put("clientTimestamp", "2026-01-01T00:00:00Z");
+        mutation.put("data", Map.of("title", "Sunrise", "rating", 5));
+        Map<String, Object> body = Map.of("mutations", List.of(mutation));
+
+        for (MediaType mediaType : List.of(MediaType.APPLICATION_CBOR, SMILE)) {
+            SmartHttpMessageConverter<Object> converter = mediaType.equals(SMILE) ? smile : cbor;
+            MockHttpInputMessage input = new MockHttpInputMessage(write(converter, body, mediaType));
+            input.getHeaders().setContentType(mediaType);
+
+            SyncPushRequest request = (SyncPushRequest) converter.read(ResolvableType.forClass(SyncPushRequest.class), input, null);
+
+            assertThat(request.getMutations()).singleElement().satisfies(read -> {
+                assertThat(read.getLocalId()).isEqualTo("local-1");
+                assertThat(read.getClientTimestamp()).isEqualTo(Instant.parse("2026-01-01T00:00:00Z"));
+                assertThat(read.getData()).containsEntry("rating", 5);
+            });
+        }
+    }
+
+    @Test
+    void binaryEncodingsStayOffTheRestOfTheApi() {
+        ResolvableType tokens = ResolvableType.forClass(AuthTokenResponse.class);
+
+        assertThat(cbor.canWrite(tokens, AuthTokenResponse.class, MediaType.APPLICATION_CBOR)).isFalse();
+        assertThat(smile.canWrite(tokens, AuthTokenResponse.class, SMILE)).isFalse();
+        assertThat(cbor.canRead(tokens, MediaType.APPLICATION_CBOR)).isFalse();
+        assertThat(cbor.canWrite(ResolvableType.forClass(SyncPullResponse.class), SyncPullResponse.class, MediaType.APPLICATION_CBOR))
+                .isTrue();
+    }
+
+    private static SyncPullResponse pullPage(int size) {
+        List<SyncChange> changes = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            Map<String, Object> data = new LinkedHashMap<>();
+            data.put("title", "Moment " + i);
+            data.put("note", "Walked along the river before work");
+            data.put("rating", i % 5);
+            data.put("latitude", 41.0082 + i * 0.0001);
+            data.put("longitude", 28.9784 - i * 0.0001);
+            data.put("tags", List.of("morning", "walk"));
+            changes.add(SyncChange.builder()
+                    .entityType("moment")
+                    .id(UUID.randomUUID())
+                    .localId("local-" + i)
+                    .version(1_000L + i)
+                    .data(data)
+                    .build());
+        }
+        return SyncPullResponse.builder()
+                .changes(changes)
+                .nextSince(1_000L + size)
+                .hasMore(true)
+                .serverVersion(5_000L)
+                .build();
+    }
+
+    private static byte[] write(SmartHttpMessageConverter<Object> converter, Object value, MediaType mediaType) throws IOException {
+        MockHttpOutputMessage output = new MockHttpOutputMessage();
+        converter.write(value, ResolvableType.forInstance(value), mediaType, output, null);
+        return output.getBodyAsBytes();
+    }
+
+    private static byte[] gzip(byte[] bytes) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(bytes);
+        }
+        return out.toByteArray();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static SmartHttpMessageConverter<Object> smart(HttpMessageConverter<?> converter) {
+        return (SmartHttpMessageConverter<Object>) converter;
+    }
+}
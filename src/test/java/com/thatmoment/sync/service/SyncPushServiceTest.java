@@ -0,0 +1,209 @@
+package com.thatmoment.sync.service;
+
+import com.thatmoment.common.constants.SyncMessages;
+import com.thatmoment.common.exception.exceptions.BadRequestException;
+import com.thatmoment.sync.config.SyncProperties;
+import com.thatmoment.sync.domain.SyncEntityType;
+import com.thatmoment.sync.domain.SyncMutationStatus;
+import com.thatmoment.sync.dto.request.SyncMutationRequest;
+import com.thatmoment.sync.dto.request.SyncPushRequest;
+import com.thatmoment.sync.dto.response.SyncMutationResult;
+import com.thatmoment.sync.dto.response.SyncPushResponse;
+import com.thatmoment.sync.repository.SyncChangeRepository;
+import com.thatmoment.sync.repository.SyncPushRepository;
+import com.thatmoment.sync.repository.SyncPushRepository.ExistingRow;
+import com.thatmoment.sync.repository.SyncPushRepository.QueueRecord;
+import com.thatmoment.sync.repository.SyncPushRepository.UpsertRow;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.util.unit.DataSize;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class SyncPushServiceTest {
+
+    private static final UUID USER_ID = UUID.randomUUID();
+
+    @Mock
+    private SyncPushRepository pushRepository;
+    @Mock
+    private SyncChangeRepository changeRepository;
+
+    private SyncPushService pushService;
+
+    @BeforeEach
+    void setUp() {
+        SyncProperties properties = new SyncProperties(500, 2000, 3, 1000, 8, true, DataSize.ofMegabytes(16));
+        pushService = new SyncPushService(properties, pushRepository, changeRepository, JsonMapper.builder().build());
+    }
+
+    @Test
+    void eachMutationGetsItsOwnResultInRequestOrder() {
+        UUID existingId = UUID.randomUUID();
+        UUID createdId = UUID.randomUUID();
+        when(pushRepository.lockExisting(eq(SyncEntityType.JOURNAL_ENTRY), eq(USER_ID), anyList()))
+                .thenReturn(Map.of("stale", new ExistingRow(existingId, 7, false)))
+                .thenReturn(Map.of("fresh", new ExistingRow(createdId, 8, false)));
+        when(changeRepository.serverVersion(USER_ID)).thenReturn(8L);
+
+        SyncPushResponse response = pushService.push(USER_ID, request(
+                mutation("moment", "unknown", "create", null, Map.of()),
+                mutation("journal_entry", "fresh", "create", null, Map.of("entryDate", "2026-10-01")),
+                mutation("journal_entry", "stale", "update", 5L, Map.of("entryDate", "2026-10-02"))
+        ));
+
+        List<SyncMutationResult> results = response.getResults();
+        assertThat(results).extracting(SyncMutationResult::getStatus)
+                .containsExactly(SyncMutationStatus.REJECTED, SyncMutationStatus.APPLIED, SyncMutationStatus.CONFLICT);
+        assertThat(results.get(0).getReason()).isEqualTo(SyncMessages.UNKNOWN_ENTITY_TYPE);
+        assertThat(results.get(1).getId()).isEqualTo(createdId);
+        assertThat(results.get(1).getVersion()).isEqualTo(8L);
+        assertThat(results.get(2).getId()).isEqualTo(existingId);
+        assertThat(results.get(2).getVersion()).isEqualTo(7L);
+        assertThat(response.getServerVersion()).isEqualTo(8L);
+
+        // The conflicting row is neither written nor lost: it is queued for the client to resolve
+        List<QueueRecord> queue = capturedQueue();
+        assertThat(queue).extracting(QueueRecord::localId, QueueRecord::status)
+                .containsExactlyInAnyOrder(tuple("stale", "conflict"), tuple("fresh", "synced"));
+        verify(pushRepository).upsert(eq(SyncEntityType.JOURNAL_ENTRY), eq(USER_ID), upsertRows(1));
+    }
+
+    @Test
+    void invalidDataAndIdempotentDeletesAreSettledWithoutWriting() {
+        when(pushRepository.lockExisting(eq(SyncEntityType.JOURNAL_ENTRY), eq(USER_ID), anyList())).thenReturn(Map.of());
+
+        SyncPushResponse response = pushService.push(USER_ID, request(
+                mutation("journal_entry", "no-date", "create", null, Map.of("content", "Dear diary")),
+                mutation("journal_entry", "already-gone", "delete", null, null)
+        ));
+
+        assertThat(response.getResults()).extracting(SyncMutationResult::getStatus, SyncMutationResult::getReason)
+                .containsExactly(
+                        tuple(SyncMutationStatus.REJECTED, "entryDate is required"),
+                        tuple(SyncMutationStatus.APPLIED, null));
+        verify(pushRepository, never()).upsert(any(), any(), anyList());
+        verify(pushRepository, never()).softDelete(any(), any(), anyList());
+        verify(pushRepository, never()).savepoint();
+    }
+
+    @Test
+    void laterEditOfTheSameRowSupersedesEarlierOnes() {
+        UUID id = UUID.randomUUID();
+        when(pushRepository.lockExisting(eq(SyncEntityType.JOURNAL_ENTRY), eq(USER_ID), anyList()))
+                .thenReturn(Map.of())
+                .thenReturn(Map.of("row", new ExistingRow(id, 3, false)));
+
+        SyncPushResponse response = pushService.push(USER_ID, request(
+                mutation("journal_entry", "row", "create", null, Map.of("entryDate", "2026-10-01")),
+                mutation("journal_entry", "row", "update", null, Map.of("entryDate", "2026-10-02")),
+                mutation("journal_entry", "row", "update", null, Map.of("entryDate", "2026-10-03"))
+        ));
+
+        assertThat(response.getResults()).extracting(SyncMutationResult::getStatus).containsOnly(SyncMutationStatus.APPLIED);
+        assertThat(response.getResults()).extracting(SyncMutationResult::getReason)
+                .containsExactly(SyncMessages.SUPERSEDED, SyncMessages.SUPERSEDED, null);
+        assertThat(response.getResults()).extracting(SyncMutationResult::getId).containsOnly(id);
+        // Only the last edit reaches the database
+        verify(pushRepository).upsert(eq(SyncEntityType.JOURNAL_ENTRY), eq(USER_ID), upsertRows(1));
+    }
+
+    @Test
+    void failedBatchFallsBackToRowByRowSoOnlyTheOffendingRowIsRejected() {
+        UUID goodId = UUID.randomUUID();
+        when(pushRepository.lockExisting(eq(SyncEntityType.JOURNAL_ENTRY), eq(USER_ID), anyList()))
+                .thenReturn(Map.of())
+                .thenReturn(Map.of("good", new ExistingRow(goodId, 1, false)));
+        doAnswer(invocation -> {
+            List<UpsertRow> rows = invocation.getArgument(2);
+            if (rows.stream().anyMatch(row -> row.localId().equals("bad"))) {
+                throw new DataIntegrityViolationException("check constraint");
+            }
+            return null;
+        }).when(pushRepository).upsert(eq(SyncEntityType.JOURNAL_ENTRY), eq(USER_ID), anyList());
+
+        SyncPushResponse response = pushService.push(USER_ID, request(
+                mutation("journal_entry", "good", "create", null, Map.of("entryDate", "2026-10-01")),
+                mutation("journal_entry", "bad", "create", null, Map.of("entryDate", "2026-10-01", "mood", 99))
+        ));
+
+        assertThat(response.getResults()).extracting(SyncMutationResult::getStatus)
+                .containsExactly(SyncMutationStatus.APPLIED, SyncMutationStatus.REJECTED);
+        assertThat(response.getResults().get(1).getReason()).isEqualTo(SyncMessages.CONSTRAINT_VIOLATION);
+        // One batch attempt, then one attempt per row
+        verify(pushRepository, times(3)).upsert(eq(SyncEntityType.JOURNAL_ENTRY), eq(USER_ID), anyList());
+        verify(pushRepository, times(2)).rollbackTo(any());
+        assertThat(capturedQueue()).extracting(QueueRecord::localId).containsExactly("good");
+    }
+
+    @Test
+    void oversizedPushIsRejectedBeforeTouchingTheDatabase() {
+        SyncMutationRequest[] mutations = new SyncMutationRequest[4];
+        Arrays.setAll(mutations, i -> mutation("journal_entry", "row-" + i, "delete", null, null));
+
+        assertThatThrownBy(() -> pushService.push(USER_ID, request(mutations)))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessage(String.format(SyncMessages.TOO_MANY_MUTATIONS_FORMAT, 3));
+        verifyNoInteractions(pushRepository, changeRepository);
+    }
+
+    private List<QueueRecord> capturedQueue() {
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<QueueRecord>> captor = ArgumentCaptor.forClass(List.class);
+        verify(pushRepository).recordQueue(eq(USER_ID), captor.capture());
+        return captor.getValue();
+    }
+
+    private static List<UpsertRow> upsertRows(int size) {
+        return argThat(rows -> rows != null && rows.size() == size);
+    }
+
+    private static SyncPushRequest request(SyncMutationRequest... mutations) {
+        SyncPushRequest request = new SyncPushRequest();
+        request.setMutations(new ArrayList<>(List.of(mutations)));
+        return request;
+    }
+
+    private static SyncMutationRequest mutation(
+            String entityType,
+            String localId,
+            String action,
+            Long baseVersion,
+            Map<String, Object> data
+    ) {
+        SyncMutationRequest mutation = new SyncMutationRequest();
+        mutation.setEntityType(entityType);
+        mutation.setLocalId(localId);
+        mutation.setAction(action);
+        mutation.setBaseVersion(baseVersion);
+        mutation.setClientTimestamp(Instant.parse("2026-10-01T08:00:00Z"));
+        mutation.setData(data);
+        return mutation;
+    }
+}